@@ -0,0 +1,41 @@
+package org.lmx.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 功能描述：基准测试入口
+ * <pre>
+ *     接受所有JMH命令行参数（例如 {@code Sha256Benchmark -p size=32}），
+ *  未指定时默认以JSON格式输出到 target/jmh-result.json，便于在不同版本之间比对、发现性能回退。
+ *
+ *     运行方式：
+ *     mvn -pl benchmarks -am package
+ *     java -jar benchmarks/target/benchmarks-1.0-SNAPSHOT.jar [JMH参数]
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 17:00
+ **/
+public class BenchmarkRunner {
+    /**
+     * 默认结果文件
+     */
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT);
+        }
+        new Runner(options.build()).run();
+    }
+}
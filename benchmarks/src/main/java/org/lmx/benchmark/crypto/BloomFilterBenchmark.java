@@ -0,0 +1,74 @@
+package org.lmx.benchmark.crypto;
+
+import org.lmx.common.crypto.BloomFilter;
+import org.lmx.common.crypto.RollingBloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：Bloom 过滤器插入与查询，32字节元素（交易哈希），多线程并发插入同一个过滤器
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:40
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class BloomFilterBenchmark {
+    private static final int KEYS = 1 << 16;
+
+    private final BloomFilter filter = BloomFilter.create(1_000_000, 1e-6);
+    private final RollingBloomFilter rolling = new RollingBloomFilter(100_000, 1e-6);
+    private byte[][] keys;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        keys = new byte[KEYS][32];
+        for (byte[] key : keys) {
+            random.nextBytes(key);
+            filter.add(key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        byte[] key(byte[][] keys) {
+            return keys[next++ & (KEYS - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean add(Cursor cursor) {
+        return filter.add(cursor.key(keys));
+    }
+
+    @Benchmark
+    public boolean mightContain(Cursor cursor) {
+        return filter.mightContain(cursor.key(keys));
+    }
+
+    @Benchmark
+    public boolean rollingAdd(Cursor cursor) {
+        return rolling.add(cursor.key(keys));
+    }
+}
@@ -0,0 +1,136 @@
+package org.lmx.benchmark.crypto;
+
+import cn.hutool.crypto.asymmetric.RSA;
+import org.lmx.common.crypto.AesGcmEngine;
+import org.lmx.common.crypto.DesUtils;
+import org.lmx.common.crypto.RsaUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：DesUtils、AesGcmEngine 与 RsaUtils 加解密吞吐量
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 17:00
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CipherBenchmark {
+    private static final String DES_KEY = "benchmark-des-key";
+
+    /**
+     * 明文长度（字符数）；RSA 2048 一次最多加密245字节，超出部分由Hutool分段处理
+     */
+    @Param({"16", "1024"})
+    private int length;
+
+    private String plainText;
+    private String desCipherText;
+    private byte[] desKeyBytes;
+    private byte[] desBuffer;
+    private AesGcmEngine aesGcmEngine;
+    private byte[] plainBytes;
+
+    private PublicKey publicKey;
+    private PrivateKey privateKey;
+    private String publicKeyBase64;
+    private String privateKeyBase64;
+    private String rsaCipherText;
+    private byte[] rsaSignature;
+
+    @Setup
+    public void setup() throws Exception {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        plainText = sb.toString();
+        desCipherText = DesUtils.encrypt(plainText, DES_KEY);
+        desKeyBytes = DES_KEY.getBytes(StandardCharsets.UTF_8);
+        desBuffer = new byte[DesUtils.encryptedLength(length)];
+        aesGcmEngine = new AesGcmEngine(AesGcmEngine.generateKey());
+        plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+
+        RSA rsa = new RSA();
+        publicKey = rsa.getPublicKey();
+        privateKey = rsa.getPrivateKey();
+        publicKeyBase64 = rsa.getPublicKeyBase64();
+        privateKeyBase64 = rsa.getPrivateKeyBase64();
+        rsaCipherText = RsaUtils.rsaEnCrypt(plainText, publicKey);
+        rsaSignature = RsaUtils.sign(plainBytes, privateKey);
+    }
+
+    @Benchmark
+    public String desEncrypt() {
+        return DesUtils.encrypt(plainText, DES_KEY);
+    }
+
+    @Benchmark
+    public String desDecrypt() {
+        return DesUtils.decrypt(desCipherText, DES_KEY);
+    }
+
+    /**
+     * 原地加密再解密，不产生 Base64 与中间数组
+     */
+    @Benchmark
+    public int desInPlace() throws GeneralSecurityException {
+        int encrypted = DesUtils.encrypt(desBuffer, 0, length, desBuffer, 0, desKeyBytes);
+        return DesUtils.decrypt(desBuffer, 0, encrypted, desBuffer, 0, desKeyBytes);
+    }
+
+    @Benchmark
+    public byte[] aesGcmEncrypt() throws GeneralSecurityException {
+        return aesGcmEngine.encrypt(plainBytes);
+    }
+
+    @Benchmark
+    public String rsaEncrypt() {
+        return RsaUtils.rsaEnCrypt(plainText, publicKey);
+    }
+
+    @Benchmark
+    public String rsaDecrypt() {
+        return RsaUtils.rsaDeCrypt(rsaCipherText, privateKey);
+    }
+
+    @Benchmark
+    public byte[] rsaSign() throws GeneralSecurityException {
+        return RsaUtils.sign(plainBytes, privateKey);
+    }
+
+    @Benchmark
+    public boolean rsaVerify() throws GeneralSecurityException {
+        return RsaUtils.verify(plainBytes, rsaSignature, publicKey);
+    }
+
+    @Benchmark
+    public String rsaEncryptBase64Key() throws Exception {
+        return RsaUtils.rsaEnCrypt(plainText, publicKeyBase64);
+    }
+
+    @Benchmark
+    public String rsaDecryptBase64Key() throws Exception {
+        return RsaUtils.rsaDeCrypt(rsaCipherText, privateKeyBase64);
+    }
+}
@@ -0,0 +1,65 @@
+package org.lmx.benchmark.crypto;
+
+import org.lmx.common.crypto.Secp256k1;
+import org.lmx.common.crypto.Sha256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：secp256k1 签名、验签、公钥恢复与公钥生成的吞吐量
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 00:20
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Secp256k1Benchmark {
+    private byte[] privateKey;
+    private byte[] publicKey;
+    private byte[] hash;
+    private byte[] signature;
+
+    @Setup
+    public void setup() {
+        privateKey = Secp256k1.generatePrivateKey();
+        publicKey = Secp256k1.publicKey(privateKey, true);
+        hash = Sha256.hash("secp256k1-benchmark".getBytes(StandardCharsets.UTF_8));
+        signature = Secp256k1.sign(hash, privateKey);
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return Secp256k1.sign(hash, privateKey);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return Secp256k1.verify(hash, signature, publicKey);
+    }
+
+    @Benchmark
+    public byte[] recover() {
+        return Secp256k1.recover(hash, signature, true);
+    }
+
+    @Benchmark
+    public byte[] publicKey() {
+        return Secp256k1.publicKey(privateKey, true);
+    }
+}
@@ -0,0 +1,64 @@
+package org.lmx.benchmark.crypto;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import org.lmx.common.crypto.Sha256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：SHA-256 吞吐量对比：手写实现 vs JDK MessageDigest vs Hutool DigestUtil
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 17:00
+ **/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Sha256Benchmark {
+
+    @Param({"32", "256", "4096", "65536"})
+    private int size;
+
+    private byte[] message;
+    private MessageDigest messageDigest;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        message = new byte[size];
+        new Random(size).nextBytes(message);
+        messageDigest = MessageDigest.getInstance("SHA-256");
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        return Sha256.hash(message);
+    }
+
+    @Benchmark
+    public byte[] messageDigest() {
+        return messageDigest.digest(message);
+    }
+
+    @Benchmark
+    public byte[] hutool() {
+        return DigestUtil.sha256(message);
+    }
+}
@@ -0,0 +1,67 @@
+package org.lmx.benchmark.merkle;
+
+import org.lmx.common.merkle.CompactMerkleTree;
+import org.lmx.common.merkle.MerkleTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：默克尔树构建耗时（1千 / 10万 / 100万笔交易），TreeNode 版本与紧凑版本对比
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 17:00
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MerkleTreeBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int leaves;
+
+    private List<String> transactions;
+    private byte[] leafHashes;
+
+    @Setup
+    public void setup() {
+        transactions = new ArrayList<>(leaves);
+        leafHashes = new byte[leaves * CompactMerkleTree.HASH_LENGTH];
+        for (int i = 0; i < leaves; i++) {
+            String tx = "tx-" + i;
+            transactions.add(tx);
+            System.arraycopy(MerkleTree.leafHash(tx), 0, leafHashes, i * CompactMerkleTree.HASH_LENGTH, CompactMerkleTree.HASH_LENGTH);
+        }
+    }
+
+    @Benchmark
+    public MerkleTree build() {
+        return new MerkleTree(transactions);
+    }
+
+    @Benchmark
+    public CompactMerkleTree buildCompact() {
+        return new CompactMerkleTree(leafHashes);
+    }
+
+    @Benchmark
+    public byte[] computeRoot() {
+        return CompactMerkleTree.computeRoot(leafHashes);
+    }
+}
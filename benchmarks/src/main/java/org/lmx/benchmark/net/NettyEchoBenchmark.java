@@ -0,0 +1,115 @@
+package org.lmx.benchmark.net;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+import org.lmx.cron.net.netty.HelloWorldServer;
+import org.lmx.cron.net.netty.ServerConfig;
+import org.lmx.cron.net.netty.Transport;
+import org.lmx.cron.net.protocol.Command;
+import org.lmx.cron.net.protocol.Message;
+import org.lmx.cron.net.protocol.MessageDecoder;
+import org.lmx.cron.net.protocol.MessageEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：经由 HelloWorldServer 的本地回环请求-响应往返延迟
+ * <pre>
+ *     每轮测试按参数以 NIO 或 EPOLL 传输启动服务端，结束时关闭；客户端使用相同的传输，
+ *  每次发送一条 PING 并等待服务端的 PONG，测量一次完整的往返时间（含报文编解码与校验和）。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 17:00
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NettyEchoBenchmark {
+    private static final String HOST = "127.0.0.1";
+
+    @Param("18080")
+    private int port;
+
+    @Param({"NIO", "EPOLL"})
+    private Transport transport;
+
+    /**
+     * PING 负载长度
+     */
+    @Param({"32", "4096"})
+    private int payloadLength;
+
+    private ByteBuf payload;
+
+    private HelloWorldServer server;
+    private EventLoopGroup group;
+    private Channel channel;
+    private final SynchronousQueue<Object> responses = new SynchronousQueue<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new HelloWorldServer(new ServerConfig().setPort(port).setTransport(transport));
+        server.bind();
+
+        payload = Unpooled.unreleasableBuffer(Unpooled.directBuffer(payloadLength).writeZero(payloadLength));
+        group = transport.newEventLoopGroup(1, "benchmark-client");
+        channel = new Bootstrap()
+                .group(group)
+                .channel(transport.channelClass())
+                .option(ChannelOption.TCP_NODELAY, true)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast("decoder", new MessageDecoder());
+                        ch.pipeline().addLast("encoder", MessageEncoder.INSTANCE);
+                        ch.pipeline().addLast(new SimpleChannelInboundHandler<Message>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, Message msg) throws Exception {
+                                responses.put(msg.command());
+                            }
+                        });
+                    }
+                })
+                .connect(HOST, port).sync().channel();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.close().syncUninterruptibly();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        server.stop();
+    }
+
+    @Benchmark
+    public Object roundTrip() throws InterruptedException {
+        channel.writeAndFlush(new Message(Command.PING, payload.duplicate()));
+        return responses.take();
+    }
+}
@@ -0,0 +1,438 @@
+package org.lmx.common.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 功能描述：分块流式 AES-GCM 加解密引擎
+ * <pre>
+ *     与{@link DesUtils}一次 doFinal 处理整段内容不同，明文按固定大小分块，每块独立加密并带有16字节认证标签，
+ *  因此可以边读边写、内存占用与文件大小无关；AES 在 JVM 中使用 AES-NI 指令的内建实现，适合加密钱包备份与区块归档。
+ *
+ *     格式：文件头(20) | 块0 | 块1 | ... | 块n-1
+ *     文件头：魔数(4) | 版本(1) | 保留(3) | 块大小(4) | 随机的 nonce 前缀(8)
+ *     块 i：AES-GCM(明文块 i)，除最后一块外明文都是整块，密文长度为块大小 + 16
+ *     块 i 的 nonce = nonce 前缀 || i，附加认证数据 = 文件头 || i || 是否最后一块
+ *
+ *     附加认证数据绑定了文件头、块序号与结束标记，交换、删除、截断（包括恰好在块边界截断）都会导致认证失败；
+ *  解密时每块认证通过后才输出该块明文。因为每块的位置都可以直接计算，文件通道模式下各块可以在
+ *  fork-join 线程池中并行加解密。同一个密钥加密的文件数应远小于 2^32，以免 nonce 前缀碰撞。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:55
+ **/
+@Slf4j
+public class AesGcmEngine {
+    public static final int HEADER_LENGTH = 20;
+    public static final int TAG_LENGTH = 16;
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int MAGIC = 0x4c4d5847;
+    private static final byte VERSION = 1;
+    private static final int AAD_LENGTH = HEADER_LENGTH + 8 + 1;
+    /**
+     * 块数上限：nonce 中的块序号只有32位，超过后会与前面的块重复，所有路径都按这个上限检查
+     */
+    private static final long MAX_CHUNKS = Integer.MAX_VALUE;
+
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JVM不支持AES/GCM", e);
+        }
+    });
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKey key;
+    private final int chunkSize;
+
+    /**
+     * 功能描述: 使用默认块大小（64KB）
+     *
+     * @param key 16、24或32字节的AES密钥
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public AesGcmEngine(byte[] key) {
+        this(key, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 功能描述: 指定块大小，只影响加密；解密时以文件头中的块大小为准
+     *
+     * @param key       16、24或32字节的AES密钥
+     * @param chunkSize 明文块大小，1 ~ 64MB
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public AesGcmEngine(byte[] key, int chunkSize) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("AES密钥长度必须为16、24或32字节：" + key.length);
+        }
+        checkChunkSize(chunkSize);
+        this.key = new SecretKeySpec(key, "AES");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 功能描述: 生成随机的256位AES密钥
+     *
+     * @return 32字节密钥
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public static byte[] generateKey() {
+        byte[] key = new byte[32];
+        RANDOM.nextBytes(key);
+        return key;
+    }
+
+    /**
+     * 功能描述: 密文长度
+     *
+     * @param plainLength 明文长度
+     * @return 包含文件头与全部认证标签的密文长度
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public long encryptedLength(long plainLength) {
+        return HEADER_LENGTH + plainLength + chunkCount(plainLength, chunkSize) * TAG_LENGTH;
+    }
+
+    /**
+     * 功能描述: 流式加密，读到流结束为止，不关闭流
+     *
+     * @param in  明文输入流
+     * @param out 密文输出流
+     * @throws IOException              读写失败
+     * @throws GeneralSecurityException 加密失败
+     * @throws IllegalArgumentException 块数超过上限（nonce 会重复），已写出的部分密文应丢弃
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public void encrypt(InputStream in, OutputStream out) throws IOException, GeneralSecurityException {
+        byte[] header = newHeader();
+        out.write(header);
+
+        byte[] current = new byte[chunkSize + TAG_LENGTH];
+        byte[] next = new byte[chunkSize + TAG_LENGTH];
+        byte[] aad = new byte[AAD_LENGTH];
+        int length = readFully(in, current, chunkSize);
+        for (long index = 0; ; index++) {
+            // 预读下一块才能知道当前块是否为最后一块
+            int nextLength = length == chunkSize ? readFully(in, next, chunkSize) : 0;
+            boolean last = nextLength == 0;
+            int sealed = seal(header, index, last, current, 0, length, current, 0, aad);
+            out.write(current, 0, sealed);
+            if (last) {
+                return;
+            }
+            byte[] swap = current;
+            current = next;
+            next = swap;
+            length = nextLength;
+        }
+    }
+
+    /**
+     * 功能描述: 流式解密，每块认证通过后才写出该块明文，不关闭流
+     *
+     * @param in  密文输入流
+     * @param out 明文输出流
+     * @throws IOException              读写失败或格式错误
+     * @throws GeneralSecurityException 认证失败：密钥错误或密文被篡改、截断
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public void decrypt(InputStream in, OutputStream out) throws IOException, GeneralSecurityException {
+        byte[] header = new byte[HEADER_LENGTH];
+        if (readFully(in, header, HEADER_LENGTH) != HEADER_LENGTH) {
+            throw new IOException("密文缺少文件头");
+        }
+        int size = parseHeader(header);
+        int sealedSize = size + TAG_LENGTH;
+
+        byte[] current = new byte[sealedSize];
+        byte[] next = new byte[sealedSize];
+        byte[] aad = new byte[AAD_LENGTH];
+        int length = readFully(in, current, sealedSize);
+        for (long index = 0; ; index++) {
+            int nextLength = length == sealedSize ? readFully(in, next, sealedSize) : 0;
+            boolean last = nextLength == 0;
+            if (length < TAG_LENGTH) {
+                throw new AEADBadTagException("密文块 " + index + " 不完整");
+            }
+            int opened = open(header, index, last, current, 0, length, current, 0, aad);
+            out.write(current, 0, opened);
+            if (last) {
+                return;
+            }
+            byte[] swap = current;
+            current = next;
+            next = swap;
+            length = nextLength;
+        }
+    }
+
+    public byte[] encrypt(byte[] plain) throws GeneralSecurityException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) encryptedLength(plain.length));
+        try {
+            encrypt(new ByteArrayInputStream(plain), out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] decrypt(byte[] sealed) throws GeneralSecurityException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(0, sealed.length - HEADER_LENGTH));
+        try {
+            decrypt(new ByteArrayInputStream(sealed), out);
+        } catch (IOException e) {
+            throw new AEADBadTagException(e.getMessage());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 功能描述: 并行加密整个文件通道：每块的明文与密文位置都可以直接计算，各块在线程池中独立加密
+     *
+     * @param in   明文文件通道，从位置0读到 size()
+     * @param out  密文文件通道，从位置0写入，多余内容被截断
+     * @param pool 线程池
+     * @return 密文长度
+     * @throws IOException              读写失败
+     * @throws GeneralSecurityException 加密失败
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public long encrypt(FileChannel in, FileChannel out, ForkJoinPool pool) throws IOException, GeneralSecurityException {
+        long plainLength = in.size();
+        int count = chunkCount(plainLength, chunkSize);
+        byte[] header = newHeader();
+        writeFully(out, ByteBuffer.wrap(header), 0);
+
+        forEachChunk(pool, count, index -> {
+            long from = (long) index * chunkSize;
+            int length = (int) Math.min(chunkSize, plainLength - from);
+            byte[] buffer = new byte[length + TAG_LENGTH];
+            readFully(in, ByteBuffer.wrap(buffer, 0, length), from);
+            int sealed = seal(header, index, index == count - 1, buffer, 0, length, buffer, 0, new byte[AAD_LENGTH]);
+            writeFully(out, ByteBuffer.wrap(buffer, 0, sealed), HEADER_LENGTH + (long) index * (chunkSize + TAG_LENGTH));
+        });
+
+        long total = encryptedLength(plainLength);
+        out.truncate(total);
+        return total;
+    }
+
+    /**
+     * 功能描述: 并行解密整个文件通道
+     *
+     * @param in   密文文件通道
+     * @param out  明文文件通道，从位置0写入，多余内容被截断
+     * @param pool 线程池
+     * @return 明文长度
+     * @throws IOException              读写失败或格式错误
+     * @throws GeneralSecurityException 认证失败；此时 out 中可能已有部分明文，调用方应丢弃
+     * @author LM.X
+     * @date 2026/10/16 23:55
+     */
+    public long decrypt(FileChannel in, FileChannel out, ForkJoinPool pool) throws IOException, GeneralSecurityException {
+        byte[] header = new byte[HEADER_LENGTH];
+        if (readFully(in, ByteBuffer.wrap(header), 0) != HEADER_LENGTH) {
+            throw new IOException("密文缺少文件头");
+        }
+        int size = parseHeader(header);
+        long sealedSize = size + TAG_LENGTH;
+        long body = in.size() - HEADER_LENGTH;
+        long chunks = Math.max(1, (body + sealedSize - 1) / sealedSize);
+        if (chunks > MAX_CHUNKS) {
+            throw new AEADBadTagException("密文块数超过上限 " + MAX_CHUNKS + "：" + chunks);
+        }
+        int count = (int) chunks;
+        long lastLength = body - (count - 1) * sealedSize;
+        if (lastLength < TAG_LENGTH) {
+            throw new AEADBadTagException("最后一个密文块不完整");
+        }
+
+        forEachChunk(pool, count, index -> {
+            long from = HEADER_LENGTH + index * sealedSize;
+            int length = (int) (index == count - 1 ? lastLength : sealedSize);
+            byte[] buffer = new byte[length];
+            readFully(in, ByteBuffer.wrap(buffer), from);
+            int opened = open(header, index, index == count - 1, buffer, 0, length, buffer, 0, new byte[AAD_LENGTH]);
+            writeFully(out, ByteBuffer.wrap(buffer, 0, opened), (long) index * size);
+        });
+
+        long total = (long) (count - 1) * size + lastLength - TAG_LENGTH;
+        out.truncate(total);
+        return total;
+    }
+
+    private int seal(byte[] header, long index, boolean last, byte[] input, int offset, int length,
+                     byte[] output, int outOffset, byte[] aad) throws GeneralSecurityException {
+        Cipher cipher = init(Cipher.ENCRYPT_MODE, header, index, last, aad);
+        return cipher.doFinal(input, offset, length, output, outOffset);
+    }
+
+    private int open(byte[] header, long index, boolean last, byte[] input, int offset, int length,
+                     byte[] output, int outOffset, byte[] aad) throws GeneralSecurityException {
+        Cipher cipher = init(Cipher.DECRYPT_MODE, header, index, last, aad);
+        return cipher.doFinal(input, offset, length, output, outOffset);
+    }
+
+    private Cipher init(int mode, byte[] header, long index, boolean last, byte[] aad) throws GeneralSecurityException {
+        if (index < 0 || index >= MAX_CHUNKS) {
+            if (mode == Cipher.DECRYPT_MODE) {
+                throw new AEADBadTagException("密文块数超过上限 " + MAX_CHUNKS);
+            }
+            throw new IllegalArgumentException("块数超过上限 " + MAX_CHUNKS + "，nonce 将重复，请增大块大小");
+        }
+        byte[] nonce = new byte[12];
+        System.arraycopy(header, 12, nonce, 0, 8);
+        ByteBuffer.wrap(nonce, 8, 4).putInt((int) index);
+        System.arraycopy(header, 0, aad, 0, HEADER_LENGTH);
+        ByteBuffer.wrap(aad, HEADER_LENGTH, 9).putLong(index).put((byte) (last ? 1 : 0));
+
+        Cipher cipher = CIPHER.get();
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+        cipher.updateAAD(aad);
+        return cipher;
+    }
+
+    private byte[] newHeader() {
+        byte[] noncePrefix = new byte[8];
+        RANDOM.nextBytes(noncePrefix);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).put(VERSION).put(new byte[3]).putInt(chunkSize).put(noncePrefix);
+        return header.array();
+    }
+
+    private static int parseHeader(byte[] header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            throw new IOException("不是AesGcmEngine密文或版本不支持");
+        }
+        int size = buffer.getInt(8);
+        checkChunkSize(size);
+        return size;
+    }
+
+    private static void checkChunkSize(int chunkSize) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("块大小必须在1 ~ " + MAX_CHUNK_SIZE + "之间：" + chunkSize);
+        }
+    }
+
+    /**
+     * 功能描述: 块数，空内容也有一个（空的）最后一块，用于认证结束标记
+     */
+    private static int chunkCount(long plainLength, int chunkSize) {
+        long count = Math.max(1, (plainLength + chunkSize - 1) / chunkSize);
+        if (count > MAX_CHUNKS) {
+            throw new IllegalArgumentException("内容过大，请增大块大小：" + plainLength);
+        }
+        return (int) count;
+    }
+
+    private static int readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(buffer, read, length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        return read;
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int read = 0;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        return read;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int index) throws IOException, GeneralSecurityException;
+    }
+
+    /**
+     * 功能描述: 在线程池中处理全部块，并还原任务中抛出的受检异常
+     */
+    private static void forEachChunk(ForkJoinPool pool, int count, ChunkTask task) throws IOException, GeneralSecurityException {
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(index -> {
+                try {
+                    task.run(index);
+                } catch (IOException | GeneralSecurityException e) {
+                    throw new ChunkException(e);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("AES-GCM 并行处理被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ChunkException) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static final class ChunkException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private ChunkException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    public static void main(String[] args) throws GeneralSecurityException {
+        AesGcmEngine engine = new AesGcmEngine(generateKey(), 16);
+        byte[] sealed = engine.encrypt("这是一段需要分块加密的钱包备份内容。".getBytes(StandardCharsets.UTF_8));
+        log.info("AES-GCM 密文长度：{}，解密结果：{}", sealed.length, new String(engine.decrypt(sealed), StandardCharsets.UTF_8));
+    }
+}
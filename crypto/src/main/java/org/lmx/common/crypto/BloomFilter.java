@@ -0,0 +1,282 @@
+package org.lmx.common.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 功能描述：Bloom 过滤器
+ * <pre>
+ *     位数组为 AtomicLongArray，每个元素只做一次 SHA-256(tweak || 数据)，取摘要的前两个64位字 h1、h2，
+ *  第 i 个位置为 (h1 + i * h2) mod 位数（双重哈希），k 个位置只需一次摘要。
+ *
+ *     并发：{@link #add}对每个字做 CAS 按位或，不加锁，可与{@link #mightContain}和其他 add 同时进行；
+ *  mightContain 只读。{@link #clear()}不是原子的，应在没有并发写入时调用。
+ *
+ *     序列化格式：k(1) + tweak(4) + 位数组字节数(4) + 位数组，位 i 在第 i / 8 字节的第 i % 8 位，
+ *  位数固定为64的整数倍。轻节点把它发给全节点，全节点按同样的 tweak 和 k 匹配交易。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:40
+ **/
+public final class BloomFilter {
+    public static final int MAX_HASH_FUNCS = 50;
+    /**
+     * 位数组上限：256 MiB
+     */
+    public static final long MAX_BITS = 1L << 31;
+    private static final int HEADER_LENGTH = 9;
+    private static final double LN2 = Math.log(2);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<Sha256Digest> DIGEST = ThreadLocal.withInitial(Sha256Digest::new);
+    private static final ThreadLocal<int[]> WORDS = ThreadLocal.withInitial(() -> new int[8]);
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashFuncs;
+    private final int tweak;
+
+    /**
+     * @param numBits      位数，向上取整为64的整数倍
+     * @param numHashFuncs 哈希函数个数 k
+     * @param tweak        参与哈希的随机数，双方一致才能匹配
+     */
+    public BloomFilter(long numBits, int numHashFuncs, int tweak) {
+        if (numBits < 1 || numBits > MAX_BITS) {
+            throw new IllegalArgumentException("位数超出范围 [1, " + MAX_BITS + "]：" + numBits);
+        }
+        if (numHashFuncs < 1 || numHashFuncs > MAX_HASH_FUNCS) {
+            throw new IllegalArgumentException("哈希函数个数超出范围 [1, " + MAX_HASH_FUNCS + "]：" + numHashFuncs);
+        }
+        this.bits = new AtomicLongArray((int) ((numBits + 63) >>> 6));
+        this.numBits = (long) bits.length() << 6;
+        this.numHashFuncs = numHashFuncs;
+        this.tweak = tweak;
+    }
+
+    /**
+     * 功能描述: 按预计元素个数和误判率计算位数与哈希函数个数，tweak 随机生成
+     *
+     * @param expectedElements 预计元素个数
+     * @param fpp              期望误判率，(0, 1)
+     * @return BloomFilter
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public static BloomFilter create(long expectedElements, double fpp) {
+        return create(expectedElements, fpp, RANDOM.nextInt());
+    }
+
+    /**
+     * 功能描述: 按预计元素个数和误判率计算位数与哈希函数个数
+     * <pre>
+     *     m = -n * ln(p) / (ln2)^2，k = m / n * ln2
+     * </pre>
+     *
+     * @param expectedElements 预计元素个数
+     * @param fpp              期望误判率，(0, 1)
+     * @param tweak            参与哈希的随机数
+     * @return BloomFilter
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public static BloomFilter create(long expectedElements, double fpp, int tweak) {
+        if (expectedElements < 1) {
+            throw new IllegalArgumentException("预计元素个数至少为1：" + expectedElements);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("误判率超出范围 (0, 1)：" + fpp);
+        }
+        long numBits = Math.min(MAX_BITS, (long) Math.ceil(-expectedElements * Math.log(fpp) / (LN2 * LN2)));
+        int numHashFuncs = (int) Math.round((double) numBits / expectedElements * LN2);
+        return new BloomFilter(numBits, Math.max(1, Math.min(MAX_HASH_FUNCS, numHashFuncs)), tweak);
+    }
+
+    /**
+     * 功能描述: 加入元素
+     *
+     * @param data 元素
+     * @return 有位由0变为1时返回 true，即此前一定不在过滤器中；并发加入同一元素时可能都返回 true
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public boolean add(byte[] data) {
+        return add(data, 0, data.length);
+    }
+
+    public boolean add(byte[] data, int offset, int length) {
+        int[] w = hash(tweak, data, offset, length);
+        return add(h1(w), h2(w));
+    }
+
+    /**
+     * 功能描述: 元素是否可能在过滤器中；返回 false 时一定不在
+     *
+     * @param data 元素
+     * @return 是否可能存在
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public boolean mightContain(byte[] data) {
+        return mightContain(data, 0, data.length);
+    }
+
+    public boolean mightContain(byte[] data, int offset, int length) {
+        int[] w = hash(tweak, data, offset, length);
+        return mightContain(h1(w), h2(w));
+    }
+
+    /**
+     * 功能描述: 清空所有位，不是原子操作
+     */
+    public void clear() {
+        for (int i = 0, n = bits.length(); i < n; i++) {
+            bits.lazySet(i, 0L);
+        }
+    }
+
+    public long getNumBits() {
+        return numBits;
+    }
+
+    public int getNumHashFuncs() {
+        return numHashFuncs;
+    }
+
+    public int getTweak() {
+        return tweak;
+    }
+
+    /**
+     * 功能描述: 为1的位数
+     */
+    public long bitCount() {
+        long count = 0;
+        for (int i = 0, n = bits.length(); i < n; i++) {
+            count += Long.bitCount(bits.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * 功能描述: 按当前置位比例估算的误判率 (X / m)^k
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount() / numBits, numHashFuncs);
+    }
+
+    /**
+     * 功能描述: 序列化
+     *
+     * @return k(1) + tweak(4) + 位数组字节数(4) + 位数组
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public byte[] toByteArray() {
+        int words = bits.length();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + words * 8);
+        buffer.put((byte) numHashFuncs).putInt(tweak).putInt(words * 8);
+        for (int i = 0; i < words; i++) {
+            long word = bits.get(i);
+            for (int b = 0; b < 64; b += 8) {
+                buffer.put((byte) (word >>> b));
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 功能描述: 反序列化
+     *
+     * @param bytes {@link #toByteArray()}的结果
+     * @return BloomFilter
+     * @throws IllegalArgumentException 格式错误
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public static BloomFilter fromByteArray(byte[] bytes) {
+        if (bytes.length < HEADER_LENGTH) {
+            throw new IllegalArgumentException("数据长度不足：" + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int numHashFuncs = buffer.get() & 0xff;
+        int tweak = buffer.getInt();
+        int length = buffer.getInt();
+        if (length <= 0 || length % 8 != 0 || length != buffer.remaining()) {
+            throw new IllegalArgumentException("位数组长度错误：" + length);
+        }
+        BloomFilter filter = new BloomFilter((long) length << 3, numHashFuncs, tweak);
+        for (int i = 0, words = length / 8; i < words; i++) {
+            long word = 0;
+            for (int b = 0; b < 64; b += 8) {
+                word |= (buffer.get() & 0xffL) << b;
+            }
+            filter.bits.lazySet(i, word);
+        }
+        return filter;
+    }
+
+    /**
+     * 功能描述: SHA-256(tweak || 数据) 的8个字，返回线程内复用的数组，调用方应立即取用
+     */
+    static int[] hash(int tweak, byte[] data, int offset, int length) {
+        Sha256Digest digest = DIGEST.get();
+        digest.reset();
+        digest.update((byte) (tweak >>> 24));
+        digest.update((byte) (tweak >>> 16));
+        digest.update((byte) (tweak >>> 8));
+        digest.update((byte) tweak);
+        digest.update(data, offset, length);
+        int[] w = WORDS.get();
+        digest.doFinal(w);
+        return w;
+    }
+
+    static long h1(int[] w) {
+        return (long) w[0] << 32 | (w[1] & 0xffffffffL);
+    }
+
+    /**
+     * 步长为奇数，避免位数为2的幂时各位置只落在少数几个剩余类上
+     */
+    static long h2(int[] w) {
+        return ((long) w[2] << 32 | (w[3] & 0xffffffffL)) | 1;
+    }
+
+    boolean add(long h1, long h2) {
+        boolean changed = false;
+        long combined = h1;
+        for (int i = 0; i < numHashFuncs; i++, combined += h2) {
+            long index = (combined & Long.MAX_VALUE) % numBits;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long old = bits.get(word);
+            while ((old & mask) == 0) {
+                if (bits.compareAndSet(word, old, old | mask)) {
+                    changed = true;
+                    break;
+                }
+                old = bits.get(word);
+            }
+        }
+        return changed;
+    }
+
+    boolean mightContain(long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < numHashFuncs; i++, combined += h2) {
+            long index = (combined & Long.MAX_VALUE) % numBits;
+            if ((bits.get((int) (index >>> 6)) & 1L << index) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter{numBits=" + numBits + ", numHashFuncs=" + numHashFuncs + ", bitCount=" + bitCount() + '}';
+    }
+}
@@ -2,15 +2,22 @@ package org.lmx.common.crypto;
 
 import cn.hutool.core.codec.Base64;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.symmetric.SymmetricCrypto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.extern.slf4j.Slf4j;
+import org.lmx.common.monitor.Monitor;
+import org.lmx.common.monitor.Operation;
+import org.lmx.common.monitor.Sample;
 
-import javax.crypto.*;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.DESKeySpec;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.security.spec.InvalidKeySpecException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 功能描述：基于Cipher实现的DES加解密工具类
@@ -23,6 +30,10 @@ import java.security.spec.InvalidKeySpecException;
  *  它的密钥长度是56位（因为每个第8 位都用作奇偶校验），密钥可以是任意的56位的数，而且可以任意时候改变。
  *  其中有极少数被认为是易破解的弱密钥，但是很容易避开它们不用。所以保密性依赖于密钥
  *
+ *     性能：DES只使用密钥的前8个字节，派生出的 SecretKey 以这8个字节为键缓存（按容量与访问时间淘汰）；
+ *  每个线程复用一个 Cipher，密钥与模式与上次相同时跳过 init。除 Base64 字符串接口外，
+ *  还提供 byte[] 与 ByteBuffer 接口，其中 byte[] 接口允许输入输出为同一数组（原地加解密）。
+ *  模式为 DES/ECB/PKCS5Padding，与原先 Cipher.getInstance("DES") 的默认值一致，密文保持兼容。
  * </pre>
  *
  * @program: block-chain-j
@@ -32,6 +43,25 @@ import java.security.spec.InvalidKeySpecException;
 @Slf4j
 public class DesUtils {
     private static final String DES = "DES";
+    private static final String TRANSFORMATION = "DES/ECB/PKCS5Padding";
+    /**
+     * 分组长度
+     */
+    public static final int BLOCK_LENGTH = 8;
+
+    /**
+     * 密钥前8个字节 → SecretKey
+     */
+    private static final Cache<Long, SecretKey> KEYS = Caffeine.newBuilder()
+            .maximumSize(4096)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    /**
+     * 线程私有的 Cipher 及其当前的密钥与模式
+     */
+    private static final ThreadLocal<CipherHolder> CIPHER = ThreadLocal.withInitial(CipherHolder::new);
 
     /**
      * 功能描述: DES加密
@@ -77,6 +107,123 @@ public class DesUtils {
         return null;
     }
 
+    /**
+     * 功能描述: DES加密
+     *
+     * @param content 明文
+     * @param key     密钥，至少8个字节，只使用前8个字节
+     * @return 密文
+     * @throws GeneralSecurityException 密钥无效
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static byte[] encrypt(byte[] content, byte[] key) throws GeneralSecurityException {
+        return crypto(content, key, Cipher.ENCRYPT_MODE);
+    }
+
+    /**
+     * 功能描述: DES解密
+     *
+     * @param content 密文
+     * @param key     密钥，至少8个字节，只使用前8个字节
+     * @return 明文
+     * @throws GeneralSecurityException 密钥无效或密文损坏
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static byte[] decrypt(byte[] content, byte[] key) throws GeneralSecurityException {
+        return crypto(content, key, Cipher.DECRYPT_MODE);
+    }
+
+    /**
+     * 功能描述: DES加密到指定位置，output 可以与 input 为同一数组（原地加密）
+     *
+     * @param input     明文所在数组
+     * @param offset    明文起始位置
+     * @param length    明文长度
+     * @param output    密文写入数组，从 outOffset 起至少需要{@link #encryptedLength(int)}个字节
+     * @param outOffset 密文写入位置
+     * @param key       密钥
+     * @return 密文长度
+     * @throws GeneralSecurityException 密钥无效或输出空间不足
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static int encrypt(byte[] input, int offset, int length, byte[] output, int outOffset, byte[] key) throws GeneralSecurityException {
+        return crypto(input, offset, length, output, outOffset, key, Cipher.ENCRYPT_MODE);
+    }
+
+    /**
+     * 功能描述: DES解密到指定位置，output 可以与 input 为同一数组（原地解密）
+     *
+     * @param input     密文所在数组
+     * @param offset    密文起始位置
+     * @param length    密文长度
+     * @param output    明文写入数组，从 outOffset 起至少需要 length 个字节
+     * @param outOffset 明文写入位置
+     * @param key       密钥
+     * @return 明文长度
+     * @throws GeneralSecurityException 密钥无效或密文损坏
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static int decrypt(byte[] input, int offset, int length, byte[] output, int outOffset, byte[] key) throws GeneralSecurityException {
+        return crypto(input, offset, length, output, outOffset, key, Cipher.DECRYPT_MODE);
+    }
+
+    /**
+     * 功能描述: DES加密缓冲区，读取 input 的剩余字节写入 output，两者的位置随之前移
+     *
+     * @param input  明文
+     * @param output 密文，剩余空间至少{@link #encryptedLength(int)}个字节；不能与 input 为同一对象
+     * @param key    密钥
+     * @return 密文长度
+     * @throws GeneralSecurityException 密钥无效或输出空间不足
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static int encrypt(ByteBuffer input, ByteBuffer output, byte[] key) throws GeneralSecurityException {
+        return crypto(input, output, key, Cipher.ENCRYPT_MODE);
+    }
+
+    /**
+     * 功能描述: DES解密缓冲区，读取 input 的剩余字节写入 output，两者的位置随之前移
+     *
+     * @param input  密文
+     * @param output 明文；不能与 input 为同一对象
+     * @param key    密钥
+     * @return 明文长度
+     * @throws GeneralSecurityException 密钥无效或密文损坏
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static int decrypt(ByteBuffer input, ByteBuffer output, byte[] key) throws GeneralSecurityException {
+        return crypto(input, output, key, Cipher.DECRYPT_MODE);
+    }
+
+    /**
+     * 功能描述: 明文加密后的长度（PKCS5补位到8字节的整数倍，至少补1个字节）
+     *
+     * @param length 明文长度
+     * @return 密文长度
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static int encryptedLength(int length) {
+        return (length / BLOCK_LENGTH + 1) * BLOCK_LENGTH;
+    }
+
+    /**
+     * 功能描述: 密钥缓存的命中统计
+     *
+     * @return CacheStats
+     * @author LM.X
+     * @date 2026/10/16 23:50
+     */
+    public static CacheStats keyCacheStats() {
+        return KEYS.stats();
+    }
+
     /**
      * 功能描述: 加解密
      *
@@ -87,25 +234,79 @@ public class DesUtils {
      * @author LM.X
      * @date 2020/3/31 10:04
      */
-    private static byte[] crypto(byte[] content, byte[] key, int cipherMode) throws InvalidKeyException, NoSuchAlgorithmException,
-            InvalidKeySpecException, NoSuchPaddingException, BadPaddingException, IllegalBlockSizeException {
-        // 1、生成可信任的随机源
-        SecureRandom secureRandom = new SecureRandom();
-        // 2、根据原始密钥创建DES密钥对象
-        DESKeySpec desKeySpec = new DESKeySpec(key);
-        // 3、通过工厂将密钥转换成对称加密 密钥
-        SecretKey secretKey = SecretKeyFactory.getInstance(DES).generateSecret(desKeySpec);
+    private static byte[] crypto(byte[] content, byte[] key, int cipherMode) throws GeneralSecurityException {
+        Sample sample = Monitor.start(cipherMode == Cipher.ENCRYPT_MODE ? Operation.DES_ENCRYPT : Operation.DES_DECRYPT);
+        byte[] result = cipher(key, cipherMode).doFinal(content);
+        Monitor.stop(sample, content.length);
+        return result;
+    }
 
-        // 4、创建DES的 Cipher对象，以用来完成实际加密操作
-        Cipher cipher = Cipher.getInstance(DES);
-        // 5、初始化 Cipher对象，主要指定操作类型、密钥以及随机源
-        cipher.init(cipherMode, secretKey, secureRandom);
+    private static int crypto(byte[] input, int offset, int length, byte[] output, int outOffset, byte[] key, int cipherMode)
+            throws GeneralSecurityException {
+        Sample sample = Monitor.start(cipherMode == Cipher.ENCRYPT_MODE ? Operation.DES_ENCRYPT : Operation.DES_DECRYPT);
+        int result = cipher(key, cipherMode).doFinal(input, offset, length, output, outOffset);
+        Monitor.stop(sample, length);
+        return result;
+    }
 
-        // 6、doFinal对原始内容进行加密
-        return cipher.doFinal(content);
+    private static int crypto(ByteBuffer input, ByteBuffer output, byte[] key, int cipherMode) throws GeneralSecurityException {
+        Sample sample = Monitor.start(cipherMode == Cipher.ENCRYPT_MODE ? Operation.DES_ENCRYPT : Operation.DES_DECRYPT);
+        int length = input.remaining();
+        int result = cipher(key, cipherMode).doFinal(input, output);
+        Monitor.stop(sample, length);
+        return result;
+    }
+
+    /**
+     * 功能描述: 取得当前线程已按密钥与模式初始化好的 Cipher
+     */
+    private static Cipher cipher(byte[] key, int cipherMode) throws GeneralSecurityException {
+        SecretKey secretKey = secretKey(key);
+        CipherHolder holder = CIPHER.get();
+        if (holder.key != secretKey || holder.mode != cipherMode) {
+            // ECB模式不使用随机数，不再为每次调用创建 SecureRandom
+            holder.cipher.init(cipherMode, secretKey);
+            holder.key = secretKey;
+            holder.mode = cipherMode;
+        }
+        return holder.cipher;
     }
 
-    public static void main(String[] args) {
+    /**
+     * 功能描述: 根据原始密钥取得DES密钥对象，只有第一次使用时才经过 SecretKeyFactory
+     */
+    private static SecretKey secretKey(byte[] key) throws GeneralSecurityException {
+        if (key.length < DESKeySpec.DES_KEY_LEN) {
+            // 与 DESKeySpec 一致：不足8个字节的密钥无效
+            new DESKeySpec(key);
+        }
+        long material = 0;
+        for (int i = 0; i < DESKeySpec.DES_KEY_LEN; i++) {
+            material = (material << 8) | (key[i] & 0xff);
+        }
+        SecretKey secretKey = KEYS.getIfPresent(material);
+        if (secretKey == null) {
+            secretKey = SecretKeyFactory.getInstance(DES).generateSecret(new DESKeySpec(key));
+            KEYS.put(material, secretKey);
+        }
+        return secretKey;
+    }
+
+    private static final class CipherHolder {
+        private final Cipher cipher;
+        private SecretKey key;
+        private int mode;
+
+        private CipherHolder() {
+            try {
+                cipher = Cipher.getInstance(TRANSFORMATION);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("JVM不支持" + TRANSFORMATION, e);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws GeneralSecurityException {
         final String key = "这是一个密钥";
         final String originalContent = "这是一段测试明文内容。";
 
@@ -113,5 +314,13 @@ public class DesUtils {
         log.info("DES 对明文：{} 加密结果为：{}", originalContent, encrypt);
 
         log.info("DES 对密文：{} 解密结果为：{}", encrypt, decrypt(encrypt, key));
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] content = originalContent.getBytes(StandardCharsets.UTF_8);
+        byte[] buffer = new byte[encryptedLength(content.length)];
+        System.arraycopy(content, 0, buffer, 0, content.length);
+        int length = encrypt(buffer, 0, content.length, buffer, 0, keyBytes);
+        length = decrypt(buffer, 0, length, buffer, 0, keyBytes);
+        log.info("DES 原地加解密结果为：{}，密钥缓存：{}", new String(buffer, 0, length, StandardCharsets.UTF_8), keyCacheStats());
     }
 }
@@ -0,0 +1,115 @@
+package org.lmx.common.crypto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 功能描述：大文件的SHA-256计算
+ * <pre>
+ *     文件内容不会被读入堆内存：大文件按固定大小的窗口映射为{@link MappedByteBuffer}，
+ *  小文件通过线程私有的直接内存缓冲区读取，两者都交给{@link Sha256Digest#update(ByteBuffer)}按块直接压缩，
+ *  因此无论文件多大，堆内存占用都是常量。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 16:00
+ **/
+final class FileHasher {
+    /**
+     * 内存映射窗口大小：64MB，映射过大会占用过多的虚拟地址空间且难以及时释放
+     */
+    private static final long MAP_WINDOW = 64L << 20;
+    /**
+     * 小于该大小的文件不做内存映射，映射本身的系统调用开销反而更高
+     */
+    private static final long MAP_THRESHOLD = 1L << 20;
+    /**
+     * 直接内存读缓冲区大小
+     */
+    private static final int READ_BUFFER = 64 << 10;
+
+    private static final ThreadLocal<Sha256Digest> DIGEST = ThreadLocal.withInitial(Sha256Digest::new);
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(READ_BUFFER));
+
+    private FileHasher() {
+    }
+
+    static byte[] hash(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return hash(channel);
+        }
+    }
+
+    static byte[] hash(FileChannel channel) throws IOException {
+        Sha256Digest digest = DIGEST.get();
+        digest.reset();
+
+        long size = channel.size();
+        if (size < MAP_THRESHOLD) {
+            ByteBuffer buffer = BUFFER.get();
+            long position = 0;
+            while (position < size) {
+                buffer.clear();
+                int n = channel.read(buffer, position);
+                if (n < 0) {
+                    break;
+                }
+                position += n;
+                buffer.flip();
+                digest.update(buffer);
+            }
+        } else {
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+                digest.update(window);
+            }
+        }
+        return digest.doFinal();
+    }
+
+    static Map<Path, byte[]> hash(Collection<Path> files, ForkJoinPool pool) throws IOException {
+        Map<Path, byte[]> digests = new ConcurrentHashMap<>(files.size() * 2);
+        try {
+            pool.submit(() -> files.parallelStream().forEach(file -> {
+                try {
+                    digests.put(file, hash(file));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(file.toString(), e);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("文件哈希被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException(cause);
+        }
+        return digests;
+    }
+
+    static Map<Path, byte[]> hashDirectory(Path directory, ForkJoinPool pool) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        return hash(files, pool);
+    }
+}
@@ -0,0 +1,134 @@
+package org.lmx.common.crypto;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 功能描述："最近见过"的集合，由两代{@link BloomFilter}轮换实现
+ * <pre>
+ *     每个元素都写入当前代（已在上一代的也写入，相当于刷新）；当前代加入 capacity 个元素后变为上一代，
+ *  原上一代清空后作为新的当前代。
+ *  因此始终记得最近至少 capacity 个、至多 2 * capacity 个元素，内存固定，不需要逐条过期。
+ *  查询同时检查两代，每代按 fpp / 2 设计，总误判率约为 fpp。
+ *
+ *     两代共用一个 tweak，每次操作只算一次 SHA-256。add 不加锁；只有轮换时由触发的线程加锁交换两代。
+ *  add 写入后若发现两代已被轮换，就再写入新的当前代，因此元素总在写入完成时的当前代中，
+ *  不会因为写进了刚降为上一代的过滤器而提前被忘记。
+ *  适合对端已知条目、已收消息去重这类允许极小误判的场景。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:40
+ **/
+public final class RollingBloomFilter {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final long capacity;
+    private final int tweak;
+    private final AtomicLong inserted = new AtomicLong();
+    private volatile Generations generations;
+
+    /**
+     * @param capacity 至少记得的最近元素个数
+     * @param fpp      期望误判率，(0, 1)
+     */
+    public RollingBloomFilter(long capacity, double fpp) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity 至少为1：" + capacity);
+        }
+        this.capacity = capacity;
+        this.tweak = RANDOM.nextInt();
+        this.generations = new Generations(BloomFilter.create(capacity, fpp / 2, tweak),
+                BloomFilter.create(capacity, fpp / 2, tweak));
+    }
+
+    /**
+     * 功能描述: 加入元素
+     *
+     * @param data 元素
+     * @return 此前不在集合中（两代都没有）时返回 true；并发加入同一元素时可能都返回 true
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public boolean add(byte[] data) {
+        return add(data, 0, data.length);
+    }
+
+    public boolean add(byte[] data, int offset, int length) {
+        int[] w = BloomFilter.hash(tweak, data, offset, length);
+        long h1 = BloomFilter.h1(w);
+        long h2 = BloomFilter.h2(w);
+        Generations g = generations;
+        boolean known = g.previous.mightContain(h1, h2);
+        // 无论是否已在上一代，都写入当前代：上一代的误判不会使元素漏记，重复加入也会刷新它
+        boolean changed = g.current.add(h1, h2);
+        // 读取两代之后发生了轮换：刚写入的可能已是上一代，甚至是正被清空的过滤器，补写到新的当前代
+        for (Generations now = generations; now != g; now = generations) {
+            g = now;
+            changed |= g.current.add(h1, h2);
+        }
+        if (!changed) {
+            return false;
+        }
+        if (inserted.incrementAndGet() >= capacity) {
+            rotate(g);
+        }
+        return !known;
+    }
+
+    /**
+     * 功能描述: 元素是否可能在最近的集合中；返回 false 时一定不在
+     *
+     * @param data 元素
+     * @return 是否可能存在
+     * @author LM.X
+     * @date 2026/10/17 02:40
+     */
+    public boolean mightContain(byte[] data) {
+        return mightContain(data, 0, data.length);
+    }
+
+    public boolean mightContain(byte[] data, int offset, int length) {
+        int[] w = BloomFilter.hash(tweak, data, offset, length);
+        long h1 = BloomFilter.h1(w);
+        long h2 = BloomFilter.h2(w);
+        Generations g = generations;
+        return g.current.mightContain(h1, h2) || g.previous.mightContain(h1, h2);
+    }
+
+    /**
+     * 功能描述: 清空两代，不是原子操作
+     */
+    public synchronized void clear() {
+        Generations g = generations;
+        g.current.clear();
+        g.previous.clear();
+        inserted.set(0);
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private synchronized void rotate(Generations expected) {
+        // 另一个线程已经轮换过
+        if (generations != expected) {
+            return;
+        }
+        BloomFilter oldest = expected.previous;
+        oldest.clear();
+        generations = new Generations(oldest, expected.current);
+        inserted.set(0);
+    }
+
+    private static final class Generations {
+        final BloomFilter current;
+        final BloomFilter previous;
+
+        Generations(BloomFilter current, BloomFilter previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+}
@@ -5,18 +5,44 @@ import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.crypto.asymmetric.KeyType;
 import cn.hutool.crypto.asymmetric.RSA;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.extern.slf4j.Slf4j;
+import org.lmx.common.monitor.Monitor;
+import org.lmx.common.monitor.Operation;
+import org.lmx.common.monitor.Sample;
 
+import java.security.GeneralSecurityException;
+import java.security.Key;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 /**
  * 功能描述：非对称加密RSA算法工具类
+ * <pre>
+ *     Base64 公钥、私钥各有一个缓存，命中后直接得到解析好的密钥对象，不再重复 Base64 解码与 KeyFactory 解析。
+ *  缓存按容量与写入后存活时间淘汰，命中率见{@link #keyCacheStats()}。缓存条目只持有密钥，淘汰后即可回收。
+ *
+ *     Cipher、Signature 在 init 之后一直引用最后一次的密钥且无法解除，若按线程复用，密钥会被线程一直持有，
+ *  缓存淘汰也无法回收，因此 Hutool RSA 对象与 Signature 都在每次调用时新建：相比 RSA 运算本身，
+ *  创建它们只是一次服务查找，耗时可以忽略。
+ *
+ *     签名使用 SHA256withRSA；{@link #verifyBatch}把成批的验签分散到 fork-join 线程池中，吞吐随核数线性增长。
+ *  验证通过的签名记入{@link SignatureCache#getDefault()}，再次验证同一签名时直接返回。
+ * </pre>
  *
  * @program: block-chain-j
  * @author: LM.X
@@ -24,6 +50,19 @@ import java.security.spec.X509EncodedKeySpec;
  **/
 @Slf4j
 public class RsaUtils {
+    private static final int KEY_CACHE_SIZE = 1024;
+    private static final long KEY_CACHE_TTL_MINUTES = 60;
+
+    /**
+     * Base64 公钥 → PublicKey
+     */
+    private static final Cache<String, Key> PUBLIC_KEYS = newKeyCache();
+    /**
+     * Base64 私钥 → PrivateKey
+     */
+    private static final Cache<String, Key> PRIVATE_KEYS = newKeyCache();
+
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
 
     /**
      * 功能描述: （非对称）RSA 公钥加密
@@ -39,9 +78,11 @@ public class RsaUtils {
             log.info("RSA 公钥加密参数异常。原因：originalContent：{}，publicKey：{}", originalContent, publicKey);
             return null;
         }
-        RSA rsa = new RSA();
-        rsa.setPublicKey(publicKey);
-        return rsa.encryptBase64(originalContent, KeyType.PublicKey);
+        Sample sample = Monitor.start(Operation.RSA_ENCRYPT);
+        RSA rsa = new RSA(null, publicKey);
+        String result = rsa.encryptBase64(originalContent, KeyType.PublicKey);
+        Monitor.stop(sample, originalContent.length());
+        return result;
     }
 
     /**
@@ -58,9 +99,11 @@ public class RsaUtils {
             log.info("RSA 私钥解密参数异常。原因：originalContent：{}，privateKey：{}", originalContent, privateKey);
             return null;
         }
-        RSA rsa = new RSA();
-        rsa.setPrivateKey(privateKey);
-        return rsa.decryptStr(originalContent, KeyType.PrivateKey);
+        Sample sample = Monitor.start(Operation.RSA_DECRYPT);
+        RSA rsa = new RSA(privateKey, null);
+        String result = rsa.decryptStr(originalContent, KeyType.PrivateKey);
+        Monitor.stop(sample, originalContent.length());
+        return result;
     }
 
     /**
@@ -78,9 +121,15 @@ public class RsaUtils {
             return null;
         }
 
-        KeyFactory key = KeyFactory.getInstance("RSA");
-        PublicKey pubKey = key.generatePublic(new X509EncodedKeySpec(Base64.decode(publicKey)));
-        return rsaEnCrypt(originalContent, pubKey);
+        if (StrUtil.isEmpty(originalContent)) {
+            log.info("RSA 公钥加密参数异常。原因：originalContent：{}", originalContent);
+            return null;
+        }
+        Sample sample = Monitor.start(Operation.RSA_ENCRYPT);
+        RSA rsa = new RSA(null, publicKey(publicKey));
+        String result = rsa.encryptBase64(originalContent, KeyType.PublicKey);
+        Monitor.stop(sample, originalContent.length());
+        return result;
     }
 
     /**
@@ -99,9 +148,15 @@ public class RsaUtils {
             return null;
         }
 
-        KeyFactory key = KeyFactory.getInstance("RSA");
-        PrivateKey priKey = key.generatePrivate(new PKCS8EncodedKeySpec(Base64.decode(privateKey)));
-        return rsaDeCrypt(originalContent, priKey);
+        if (StrUtil.isEmpty(originalContent)) {
+            log.info("RSA 私钥解密参数异常。原因：originalContent：{}", originalContent);
+            return null;
+        }
+        Sample sample = Monitor.start(Operation.RSA_DECRYPT);
+        RSA rsa = new RSA(privateKey(privateKey), null);
+        String result = rsa.decryptStr(originalContent, KeyType.PrivateKey);
+        Monitor.stop(sample, originalContent.length());
+        return result;
     }
 
     /**
@@ -113,9 +168,7 @@ public class RsaUtils {
      * @date 2020/3/31 13:11
      */
     public static PublicKey getPublicKey(String publicKey) throws Exception {
-        KeyFactory key = KeyFactory.getInstance("RSA");
-        PublicKey pubKey = key.generatePublic(new X509EncodedKeySpec(Base64.decode(publicKey)));
-        return pubKey;
+        return publicKey(publicKey);
     }
 
     /**
@@ -126,9 +179,210 @@ public class RsaUtils {
      * @throws Exception
      */
     public static PrivateKey getPrivateKey(String privateKey) throws Exception {
-        KeyFactory key = KeyFactory.getInstance("RSA");
-        PrivateKey priKey = key.generatePrivate(new PKCS8EncodedKeySpec(Base64.decode(privateKey)));
-        return priKey;
+        return privateKey(privateKey);
+    }
+
+    /**
+     * 功能描述: SHA256withRSA 签名
+     *
+     * @param message    消息
+     * @param privateKey 私钥
+     * @return 签名
+     * @throws GeneralSecurityException 私钥无效
+     * @author LM.X
+     * @date 2026/10/17 00:10
+     */
+    public static byte[] sign(byte[] message, PrivateKey privateKey) throws GeneralSecurityException {
+        Sample sample = Monitor.start(Operation.RSA_SIGN);
+        Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+        signature.initSign(privateKey);
+        signature.update(message);
+        byte[] result = signature.sign();
+        Monitor.stop(sample, message.length);
+        return result;
+    }
+
+    /**
+     * 功能描述: SHA256withRSA 签名
+     *
+     * @param message    消息
+     * @param privateKey Base64 编码的 PKCS8 私钥，解析结果会被缓存
+     * @return 签名
+     * @throws GeneralSecurityException 私钥无效
+     * @author LM.X
+     * @date 2026/10/17 00:10
+     */
+    public static byte[] sign(byte[] message, String privateKey) throws GeneralSecurityException {
+        return sign(message, privateKey(privateKey));
+    }
+
+    /**
+     * 功能描述: SHA256withRSA 验签
+     *
+     * @param message   消息
+     * @param signature 签名
+     * @param publicKey 公钥
+     * @return 签名是否有效；签名格式错误也返回 false
+     * @throws GeneralSecurityException 公钥无效
+     * @author LM.X
+     * @date 2026/10/17 00:10
+     */
+    public static boolean verify(byte[] message, byte[] signature, PublicKey publicKey) throws GeneralSecurityException {
+        SignatureCache cache = SignatureCache.getDefault();
+        byte[] encodedKey = publicKey.getEncoded();
+        if (cache.contains(message, encodedKey, signature)) {
+            return true;
+        }
+        Sample sample = Monitor.start(Operation.RSA_VERIFY);
+        Signature verifier = Signature.getInstance(SIGNATURE_ALGORITHM);
+        verifier.initVerify(publicKey);
+        verifier.update(message);
+        boolean valid;
+        try {
+            valid = verifier.verify(signature);
+        } catch (SignatureException e) {
+            valid = false;
+        }
+        Monitor.stop(sample, message.length);
+        if (valid) {
+            cache.add(message, encodedKey, signature);
+        }
+        return valid;
+    }
+
+    /**
+     * 功能描述: SHA256withRSA 验签
+     *
+     * @param message   消息
+     * @param signature 签名
+     * @param publicKey Base64 编码的 X509 公钥，解析结果会被缓存
+     * @return 签名是否有效
+     * @throws GeneralSecurityException 公钥无效
+     * @author LM.X
+     * @date 2026/10/17 00:10
+     */
+    public static boolean verify(byte[] message, byte[] signature, String publicKey) throws GeneralSecurityException {
+        return verify(message, signature, publicKey(publicKey));
+    }
+
+    /**
+     * 功能描述: 使用公共 fork-join 线程池批量验签
+     *
+     * @param messages   消息
+     * @param signatures 签名，与 messages 一一对应
+     * @param publicKeys 公钥，与 messages 一一对应
+     * @return 第 i 位表示第 i 个签名是否有效
+     * @author LM.X
+     * @date 2026/10/17 00:10
+     */
+    public static BitSet verifyBatch(List<byte[]> messages, List<byte[]> signatures, List<PublicKey> publicKeys) {
+        return verifyBatch(messages, signatures, publicKeys, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 功能描述: 在指定线程池中并行批量验签
+     *
+     * @param messages   消息
+     * @param signatures 签名，与 messages 一一对应
+     * @param publicKeys 公钥，与 messages 一一对应
+     * @param pool       线程池
+     * @return 第 i 位表示第 i 个签名是否有效；公钥无效的项为 false
+     * @author LM.X
+     * @date 2026/10/17 00:10
+     */
+    public static BitSet verifyBatch(List<byte[]> messages, List<byte[]> signatures, List<PublicKey> publicKeys, ForkJoinPool pool) {
+        int count = messages.size();
+        if (signatures.size() != count || publicKeys.size() != count) {
+            throw new IllegalArgumentException("消息、签名与公钥个数不一致：" + count + "，" + signatures.size() + "，" + publicKeys.size());
+        }
+        boolean[] results = new boolean[count];
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(i -> {
+            try {
+                results[i] = verify(messages.get(i), signatures.get(i), publicKeys.get(i));
+            } catch (GeneralSecurityException e) {
+                results[i] = false;
+            }
+        })).join();
+
+        BitSet bitmap = new BitSet(count);
+        for (int i = 0; i < count; i++) {
+            if (results[i]) {
+                bitmap.set(i);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * 功能描述: 公钥与私钥缓存的合计命中统计
+     *
+     * @return CacheStats
+     * @author LM.X
+     * @date 2026/10/17 00:05
+     */
+    public static CacheStats keyCacheStats() {
+        return PUBLIC_KEYS.stats().plus(PRIVATE_KEYS.stats());
+    }
+
+    /**
+     * 功能描述: 从缓存取得 Base64 公钥对应的 PublicKey，未命中时解析 X509 编码
+     */
+    static PublicKey publicKey(String publicKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        try {
+            return (PublicKey) PUBLIC_KEYS.get(publicKey, key -> {
+                try {
+                    return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.decode(publicKey)));
+                } catch (GeneralSecurityException e) {
+                    throw new KeyParseException(e);
+                }
+            });
+        } catch (KeyParseException e) {
+            throw e.unwrap();
+        }
+    }
+
+    /**
+     * 功能描述: 从缓存取得 Base64 私钥对应的 PrivateKey，未命中时解析 PKCS8 编码
+     */
+    static PrivateKey privateKey(String privateKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        try {
+            return (PrivateKey) PRIVATE_KEYS.get(privateKey, key -> {
+                try {
+                    return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(Base64.decode(privateKey)));
+                } catch (GeneralSecurityException e) {
+                    throw new KeyParseException(e);
+                }
+            });
+        } catch (KeyParseException e) {
+            throw e.unwrap();
+        }
+    }
+
+    private static Cache<String, Key> newKeyCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(KEY_CACHE_SIZE)
+                .expireAfterWrite(KEY_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 功能描述：在缓存的加载函数中传递受检的解析异常
+     */
+    private static final class KeyParseException extends RuntimeException {
+        private KeyParseException(GeneralSecurityException cause) {
+            super(cause);
+        }
+
+        private InvalidKeySpecException unwrap() throws NoSuchAlgorithmException {
+            if (getCause() instanceof NoSuchAlgorithmException) {
+                throw (NoSuchAlgorithmException) getCause();
+            }
+            if (getCause() instanceof InvalidKeySpecException) {
+                return (InvalidKeySpecException) getCause();
+            }
+            return new InvalidKeySpecException(getCause());
+        }
     }
 
     public static void main(String[] args) throws NoSuchAlgorithmException, InvalidKeySpecException {
@@ -147,6 +401,7 @@ public class RsaUtils {
         log.info("获取公钥：{}", publicKeyBase64);
         log.info("2对明文公钥加密结果：{}", rsaEnCrypt(originalContent, publicKeyBase64));
         log.info("2对明文私钥解密结果：{}", rsaDeCrypt(crypt, privateKeyBase64));
+        log.info("密钥缓存：{}", keyCacheStats());
 
     }
 }
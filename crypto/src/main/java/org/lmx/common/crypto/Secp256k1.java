@@ -0,0 +1,444 @@
+package org.lmx.common.crypto;
+
+import cn.hutool.core.util.HexUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.lmx.common.monitor.Monitor;
+import org.lmx.common.monitor.Operation;
+import org.lmx.common.monitor.Sample;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static org.lmx.common.crypto.Secp256k1Field.isOdd;
+
+/**
+ * 功能描述：secp256k1 ECDSA 签名、验签与公钥恢复（纯 Java 实现）
+ * <pre>
+ *     签名格式为65字节 r(32) || s(32) || recId(1)，s 总是取较小的一个（low-S），recId 用于{@link #recover}
+ *  从签名恢复公钥；验签也接受不带 recId 的64字节签名。公钥为33字节压缩格式或65字节非压缩格式。
+ *  签名使用的随机数 k 按 RFC 6979 由私钥与消息哈希确定性地生成，不依赖随机源。
+ *
+ *     点运算在雅可比坐标下用 long[8] 表示的域元素完成，全程不创建 BigInteger，BigInteger 只用于模 n 的
+ *  几次标量运算。k * G 查固定基预计算表，u1 * G + u2 * Q 用 GLV 拆分 + wNAF + Shamir 技巧，详见{@link Secp256k1Math}。
+ *  每个线程持有一套运算上下文，线程间无竞争。验证通过的签名记入{@link SignatureCache#getDefault()}。
+ *
+ *     运算时间与私钥、随机数相关（不是常数时间实现），不应在可被精确计时的环境中对高价值私钥签名。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 00:20
+ **/
+@Slf4j
+public final class Secp256k1 {
+    public static final int PRIVATE_KEY_LENGTH = 32;
+    public static final int SIGNATURE_LENGTH = 65;
+    public static final int COMPRESSED_PUBLIC_KEY_LENGTH = 33;
+    public static final int UNCOMPRESSED_PUBLIC_KEY_LENGTH = 65;
+
+    private static final BigInteger N = Secp256k1Math.N;
+    private static final BigInteger HALF_N = N.shiftRight(1);
+    /**
+     * p - n，r + n < p 即 r < p - n
+     */
+    private static final BigInteger P_MINUS_N = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16).subtract(N);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private Secp256k1() {
+    }
+
+    /**
+     * 功能描述: 随机生成私钥
+     *
+     * @return 32字节私钥
+     * @author LM.X
+     * @date 2026/10/17 00:20
+     */
+    public static byte[] generatePrivateKey() {
+        byte[] privateKey = new byte[PRIVATE_KEY_LENGTH];
+        BigInteger d;
+        do {
+            RANDOM.nextBytes(privateKey);
+            d = new BigInteger(1, privateKey);
+        } while (d.signum() == 0 || d.compareTo(N) >= 0);
+        return privateKey;
+    }
+
+    /**
+     * 功能描述: 由私钥计算公钥
+     *
+     * @param privateKey 32字节私钥
+     * @param compressed 是否输出压缩格式
+     * @return 公钥
+     * @author LM.X
+     * @date 2026/10/17 00:20
+     */
+    public static byte[] publicKey(byte[] privateKey, boolean compressed) {
+        Context ctx = CONTEXT.get();
+        Secp256k1Math.toLimbs(ctx.k, privateScalar(privateKey));
+        ctx.math.mulG(ctx.point, ctx.k);
+        ctx.math.toAffine(ctx.point, ctx.x, ctx.y);
+        return encodePoint(ctx.x, ctx.y, compressed);
+    }
+
+    /**
+     * 功能描述: 对32字节消息哈希签名
+     *
+     * @param hash       消息哈希，32字节
+     * @param privateKey 32字节私钥
+     * @return 65字节签名 r || s || recId
+     * @author LM.X
+     * @date 2026/10/17 00:20
+     */
+    public static byte[] sign(byte[] hash, byte[] privateKey) {
+        checkHash(hash);
+        Sample sample = Monitor.start(Operation.ECDSA_SIGN);
+        BigInteger d = privateScalar(privateKey);
+        BigInteger z = new BigInteger(1, hash);
+        Context ctx = CONTEXT.get();
+        Rfc6979 nonces = ctx.nonces(privateKey, z.mod(N));
+        byte[] signature = new byte[SIGNATURE_LENGTH];
+        while (true) {
+            BigInteger k = nonces.next();
+            Secp256k1Math.toLimbs(ctx.k, k);
+            ctx.math.mulG(ctx.point, ctx.k);
+            ctx.math.toAffine(ctx.point, ctx.x, ctx.y);
+            Secp256k1Field.toBytes(ctx.x, ctx.buffer, 0);
+            BigInteger x = new BigInteger(1, ctx.buffer);
+            BigInteger r = x.mod(N);
+            if (r.signum() == 0) {
+                continue;
+            }
+            BigInteger s = k.modInverse(N).multiply(z.add(r.multiply(d))).mod(N);
+            if (s.signum() == 0) {
+                continue;
+            }
+            int recId = (isOdd(ctx.y) ? 1 : 0) | (x.compareTo(N) >= 0 ? 2 : 0);
+            if (s.compareTo(HALF_N) > 0) {
+                // s 取反相当于 R 取反，y 的奇偶性随之翻转
+                s = N.subtract(s);
+                recId ^= 1;
+            }
+            toBytes32(r, signature, 0);
+            toBytes32(s, signature, 32);
+            signature[64] = (byte) recId;
+            break;
+        }
+        Monitor.stop(sample, hash.length);
+        return signature;
+    }
+
+    /**
+     * 功能描述: 验签
+     *
+     * @param hash      消息哈希，32字节
+     * @param signature 64字节 r || s 或65字节 r || s || recId
+     * @param publicKey 33字节或65字节公钥
+     * @return 签名是否有效；签名或公钥格式错误时返回 false
+     * @author LM.X
+     * @date 2026/10/17 00:20
+     */
+    public static boolean verify(byte[] hash, byte[] signature, byte[] publicKey) {
+        checkHash(hash);
+        if (signature == null || (signature.length != 64 && signature.length != SIGNATURE_LENGTH)) {
+            return false;
+        }
+        if (publicKey == null) {
+            return false;
+        }
+        SignatureCache cache = SignatureCache.getDefault();
+        if (cache.contains(hash, publicKey, signature)) {
+            return true;
+        }
+        Sample sample = Monitor.start(Operation.ECDSA_VERIFY);
+        boolean valid = doVerify(hash, signature, publicKey);
+        Monitor.stop(sample, hash.length);
+        if (valid) {
+            cache.add(hash, publicKey, signature);
+        }
+        return valid;
+    }
+
+    private static boolean doVerify(byte[] hash, byte[] signature, byte[] publicKey) {
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(signature, 0, 32));
+        BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 32, 64));
+        if (!inRange(r) || !inRange(s)) {
+            return false;
+        }
+        Context ctx = CONTEXT.get();
+        if (!decodePoint(ctx, publicKey, ctx.x, ctx.y)) {
+            return false;
+        }
+        BigInteger z = new BigInteger(1, hash);
+        BigInteger w = s.modInverse(N);
+        Secp256k1Point point = ctx.point;
+        ctx.math.mulShamir(point, z.multiply(w).mod(N), ctx.x, ctx.y, r.multiply(w).mod(N));
+        if (point.infinity) {
+            return false;
+        }
+        // 比较 X == r * Z^2，免去转换仿射坐标的一次求逆
+        Secp256k1Field f = ctx.math.f;
+        f.sqr(ctx.zz, point.z);
+        if (matchesX(ctx, r, point)) {
+            return true;
+        }
+        // 仿射 x 落在 [n, p) 时 r = x - n
+        return r.compareTo(P_MINUS_N) < 0 && matchesX(ctx, r.add(N), point);
+    }
+
+    private static boolean matchesX(Context ctx, BigInteger x, Secp256k1Point point) {
+        toBytes32(x, ctx.buffer, 0);
+        Secp256k1Field.fromBytes(ctx.t, ctx.buffer, 0);
+        ctx.math.f.mul(ctx.t, ctx.t, ctx.zz);
+        return Secp256k1Field.eq(ctx.t, point.x);
+    }
+
+    /**
+     * 功能描述: 从签名恢复公钥
+     *
+     * @param hash       消息哈希，32字节
+     * @param signature  65字节签名 r || s || recId
+     * @param compressed 是否输出压缩格式
+     * @return 公钥；签名无效时返回 null
+     * @author LM.X
+     * @date 2026/10/17 00:20
+     */
+    public static byte[] recover(byte[] hash, byte[] signature, boolean compressed) {
+        checkHash(hash);
+        if (signature == null || signature.length != SIGNATURE_LENGTH) {
+            return null;
+        }
+        int recId = signature[64] & 0xff;
+        if (recId > 3) {
+            return null;
+        }
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(signature, 0, 32));
+        BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 32, 64));
+        if (!inRange(r) || !inRange(s)) {
+            return null;
+        }
+        BigInteger x = r;
+        if ((recId & 2) != 0) {
+            if (r.compareTo(P_MINUS_N) >= 0) {
+                return null;
+            }
+            x = r.add(N);
+        }
+        Context ctx = CONTEXT.get();
+        toBytes32(x, ctx.buffer, 0);
+        Secp256k1Field.fromBytes(ctx.x, ctx.buffer, 0);
+        if (!decompress(ctx, ctx.x, (recId & 1) != 0, ctx.y)) {
+            return null;
+        }
+        // Q = r^-1 * (s * R - z * G)
+        BigInteger rInv = r.modInverse(N);
+        BigInteger z = new BigInteger(1, hash);
+        ctx.math.mulShamir(ctx.point, z.negate().multiply(rInv).mod(N), ctx.x, ctx.y, s.multiply(rInv).mod(N));
+        if (!ctx.math.toAffine(ctx.point, ctx.x, ctx.y)) {
+            return null;
+        }
+        return encodePoint(ctx.x, ctx.y, compressed);
+    }
+
+    private static void checkHash(byte[] hash) {
+        if (hash == null || hash.length != 32) {
+            throw new IllegalArgumentException("消息哈希应为32字节");
+        }
+    }
+
+    private static boolean inRange(BigInteger value) {
+        return value.signum() > 0 && value.compareTo(N) < 0;
+    }
+
+    private static BigInteger privateScalar(byte[] privateKey) {
+        if (privateKey == null || privateKey.length != PRIVATE_KEY_LENGTH) {
+            throw new IllegalArgumentException("私钥应为32字节");
+        }
+        BigInteger d = new BigInteger(1, privateKey);
+        if (!inRange(d)) {
+            throw new IllegalArgumentException("私钥超出范围 [1, n)");
+        }
+        return d;
+    }
+
+    private static void toBytes32(BigInteger value, byte[] out, int offset) {
+        byte[] bytes = value.toByteArray();
+        int length = Math.min(bytes.length, 32);
+        Arrays.fill(out, offset, offset + 32 - length, (byte) 0);
+        System.arraycopy(bytes, bytes.length - length, out, offset + 32 - length, length);
+    }
+
+    private static byte[] encodePoint(long[] x, long[] y, boolean compressed) {
+        byte[] out;
+        if (compressed) {
+            out = new byte[COMPRESSED_PUBLIC_KEY_LENGTH];
+            out[0] = (byte) (isOdd(y) ? 0x03 : 0x02);
+        } else {
+            out = new byte[UNCOMPRESSED_PUBLIC_KEY_LENGTH];
+            out[0] = 0x04;
+            Secp256k1Field.toBytes(y, out, 33);
+        }
+        Secp256k1Field.toBytes(x, out, 1);
+        return out;
+    }
+
+    /**
+     * 功能描述: 解析公钥并检查点在曲线上
+     */
+    private static boolean decodePoint(Context ctx, byte[] encoded, long[] x, long[] y) {
+        if (encoded == null) {
+            return false;
+        }
+        if (encoded.length == COMPRESSED_PUBLIC_KEY_LENGTH && (encoded[0] == 0x02 || encoded[0] == 0x03)) {
+            return Secp256k1Field.fromBytes(x, encoded, 1) && decompress(ctx, x, encoded[0] == 0x03, y);
+        }
+        if (encoded.length == UNCOMPRESSED_PUBLIC_KEY_LENGTH && encoded[0] == 0x04) {
+            if (!Secp256k1Field.fromBytes(x, encoded, 1) || !Secp256k1Field.fromBytes(y, encoded, 33)) {
+                return false;
+            }
+            curve(ctx, x, ctx.t);
+            ctx.math.f.sqr(ctx.zz, y);
+            return Secp256k1Field.eq(ctx.t, ctx.zz);
+        }
+        return false;
+    }
+
+    /**
+     * 功能描述: 由 x 与 y 的奇偶性求 y
+     *
+     * @return x 是否为曲线上某点的横坐标
+     */
+    private static boolean decompress(Context ctx, long[] x, boolean odd, long[] y) {
+        curve(ctx, x, ctx.t);
+        if (!ctx.math.f.sqrt(y, ctx.t)) {
+            return false;
+        }
+        if (isOdd(y) != odd) {
+            Secp256k1Field.neg(y, y);
+        }
+        return true;
+    }
+
+    /**
+     * 功能描述: r = x^3 + 7
+     */
+    private static void curve(Context ctx, long[] x, long[] r) {
+        Secp256k1Field f = ctx.math.f;
+        f.sqr(r, x);
+        f.mul(r, r, x);
+        Secp256k1Field.setInt(ctx.zz, 7);
+        Secp256k1Field.add(r, r, ctx.zz);
+    }
+
+    /**
+     * 功能描述：每个线程一套运算上下文
+     */
+    private static final class Context {
+        final Secp256k1Math math = new Secp256k1Math();
+        final Secp256k1Point point = new Secp256k1Point();
+        final long[] x = Secp256k1Field.newElement();
+        final long[] y = Secp256k1Field.newElement();
+        final long[] t = Secp256k1Field.newElement();
+        final long[] zz = Secp256k1Field.newElement();
+        final int[] k = new int[8];
+        final byte[] buffer = new byte[32];
+        final Rfc6979 rfc6979 = new Rfc6979();
+
+        Rfc6979 nonces(byte[] privateKey, BigInteger h) {
+            rfc6979.init(privateKey, h);
+            return rfc6979;
+        }
+    }
+
+    /**
+     * 功能描述：RFC 6979 确定性随机数，HMAC-SHA256，qlen = hlen = 256
+     */
+    private static final class Rfc6979 {
+        private final Mac mac;
+        private final byte[] v = new byte[32];
+        private final byte[] key = new byte[32];
+        private final byte[] h1 = new byte[32];
+        private boolean first;
+
+        Rfc6979() {
+            try {
+                mac = Mac.getInstance(HMAC_ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("JVM不支持" + HMAC_ALGORITHM, e);
+            }
+        }
+
+        void init(byte[] privateKey, BigInteger h) {
+            toBytes32(h, h1, 0);
+            Arrays.fill(v, (byte) 0x01);
+            Arrays.fill(key, (byte) 0x00);
+            update(key, v, (byte) 0x00, privateKey);
+            hmac(v, v);
+            update(key, v, (byte) 0x01, privateKey);
+            hmac(v, v);
+            first = true;
+        }
+
+        BigInteger next() {
+            while (true) {
+                if (!first) {
+                    update(key, v, (byte) 0x00, null);
+                    hmac(v, v);
+                }
+                first = false;
+                hmac(v, v);
+                BigInteger k = new BigInteger(1, v);
+                if (inRange(k)) {
+                    return k;
+                }
+            }
+        }
+
+        /**
+         * 功能描述: out = HMAC_K(V || marker [|| x || h1])
+         */
+        private void update(byte[] out, byte[] v, byte marker, byte[] privateKey) {
+            try {
+                mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+                mac.update(v);
+                mac.update(marker);
+                if (privateKey != null) {
+                    mac.update(privateKey);
+                    mac.update(h1);
+                }
+                mac.doFinal(out, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void hmac(byte[] out, byte[] data) {
+            try {
+                mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+                mac.update(data);
+                mac.doFinal(out, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        byte[] privateKey = generatePrivateKey();
+        byte[] publicKey = publicKey(privateKey, true);
+        byte[] hash = Sha256.hash("这是一段待签名的消息。".getBytes(StandardCharsets.UTF_8));
+        byte[] signature = sign(hash, privateKey);
+        log.info("公钥：{}", HexUtil.encodeHexStr(publicKey));
+        log.info("签名：{}", HexUtil.encodeHexStr(signature));
+        log.info("验签结果：{}", verify(hash, signature, publicKey));
+        log.info("恢复公钥：{}", HexUtil.encodeHexStr(recover(hash, signature, true)));
+    }
+}
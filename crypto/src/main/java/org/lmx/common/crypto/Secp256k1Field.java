@@ -0,0 +1,383 @@
+package org.lmx.common.crypto;
+
+/**
+ * 功能描述：secp256k1 素数域 p = 2^256 - 2^32 - 977 上的运算
+ * <pre>
+ *     域元素用 long[8] 表示，每个元素存一个32位无符号分量，小端序，始终保持完全约简（小于 p）。
+ *  两个32位分量的乘积按高低32位拆开累加到相邻的列，列和不会超过 2^36，因此整个乘法只用 long，不需要 BigInteger。
+ *
+ *     约简利用 2^256 ≡ 2^32 + 977 (mod p)：512位乘积的高256位 H 折叠为 H * 977 + (H << 32) 加回低256位，
+ *  剩下的不到34位再折叠一次，最后至多减一次 p。
+ *
+ *     乘法需要16个分量的临时数组，因此乘法、求逆、开方是实例方法，每个线程持有一个实例；
+ *  加减等不需要临时空间的运算是静态方法。所有方法都允许结果与输入为同一数组。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 00:20
+ **/
+final class Secp256k1Field {
+    static final int LIMBS = 8;
+    private static final long M = 0xffffffffL;
+    /**
+     * 2^256 - p
+     */
+    private static final long C_LOW = 977;
+    private static final long[] P = {
+            0xfffffc2fL, 0xfffffffeL, M, M, M, M, M, M
+    };
+
+    private final long[] t = new long[16];
+    private final long[] x2 = new long[LIMBS];
+    private final long[] x3 = new long[LIMBS];
+    private final long[] x22 = new long[LIMBS];
+    private final long[] x44 = new long[LIMBS];
+    private final long[] acc = new long[LIMBS];
+    private final long[] tmp = new long[LIMBS];
+
+    static long[] newElement() {
+        return new long[LIMBS];
+    }
+
+    /**
+     * 功能描述: r = a * b mod p
+     */
+    void mul(long[] r, long[] a, long[] b) {
+        long[] t = this.t;
+        // 逐行乘加：ai * bj + t + c 不超过 2^64 - 1，按无符号解释不会溢出
+        long c = 0;
+        long a0 = a[0];
+        for (int j = 0; j < LIMBS; j++) {
+            c += a0 * b[j];
+            t[j] = c & M;
+            c >>>= 32;
+        }
+        t[LIMBS] = c;
+        for (int i = 1; i < LIMBS; i++) {
+            long ai = a[i];
+            c = 0;
+            for (int j = 0; j < LIMBS; j++) {
+                c += ai * b[j] + t[i + j];
+                t[i + j] = c & M;
+                c >>>= 32;
+            }
+            t[i + LIMBS] = c;
+        }
+        reduce(r, t);
+    }
+
+    /**
+     * 功能描述: r = a^2 mod p，交叉项只算一次再加倍，36次乘法
+     */
+    void sqr(long[] r, long[] a) {
+        long[] t = this.t;
+        t[0] = 0;
+        long c = 0;
+        long a0 = a[0];
+        for (int j = 1; j < LIMBS; j++) {
+            c += a0 * a[j];
+            t[j] = c & M;
+            c >>>= 32;
+        }
+        t[LIMBS] = c;
+        for (int i = 1; i < LIMBS - 1; i++) {
+            long ai = a[i];
+            c = 0;
+            for (int j = i + 1; j < LIMBS; j++) {
+                c += ai * a[j] + t[i + j];
+                t[i + j] = c & M;
+                c >>>= 32;
+            }
+            t[i + LIMBS] = c;
+        }
+        t[15] = 0;
+        // 交叉项加倍
+        long bit = 0;
+        for (int k = 1; k < 16; k++) {
+            long v = t[k];
+            t[k] = ((v << 1) | bit) & M;
+            bit = v >>> 31;
+        }
+        // 加上平方项
+        c = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            long d = a[i] * a[i];
+            c += (d & M) + t[2 * i];
+            t[2 * i] = c & M;
+            c >>>= 32;
+            c += (d >>> 32) + t[2 * i + 1];
+            t[2 * i + 1] = c & M;
+            c >>>= 32;
+        }
+        reduce(r, t);
+    }
+
+    /**
+     * 功能描述: r = a^(2^n)
+     */
+    void sqrN(long[] r, long[] a, int n) {
+        sqr(r, a);
+        for (int i = 1; i < n; i++) {
+            sqr(r, r);
+        }
+    }
+
+    /**
+     * 功能描述: 将规范化的 t[0..15] 约简到 r
+     */
+    private static void reduce(long[] r, long[] t) {
+        // 第一次折叠：低256位 + H * 977 + (H << 32)
+        long c = 0;
+        for (int k = 0; k < LIMBS; k++) {
+            long v = t[k] + t[k + 8] * C_LOW + (k > 0 ? t[k + 7] : 0) + c;
+            r[k] = v & M;
+            c = v >>> 32;
+        }
+        long top = c + t[15];
+        // 第二次折叠：top * (2^32 + 977)
+        while (top != 0) {
+            long v = r[0] + top * C_LOW;
+            r[0] = v & M;
+            v = r[1] + top + (v >>> 32);
+            r[1] = v & M;
+            c = v >>> 32;
+            for (int k = 2; k < LIMBS && c != 0; k++) {
+                v = r[k] + c;
+                r[k] = v & M;
+                c = v >>> 32;
+            }
+            top = c;
+        }
+        normalize(r);
+    }
+
+    /**
+     * 功能描述: 小于 2^256 的 r 若不小于 p 则减去 p
+     */
+    private static void normalize(long[] r) {
+        if (geP(r)) {
+            addC(r);
+        }
+    }
+
+    private static boolean geP(long[] r) {
+        for (int k = LIMBS - 1; k >= 2; k--) {
+            if (r[k] != M) {
+                return false;
+            }
+        }
+        return r[1] > P[1] || (r[1] == P[1] && r[0] >= P[0]);
+    }
+
+    /**
+     * 功能描述: r = r + 2^32 + 977 mod 2^256，即 r - p
+     */
+    private static void addC(long[] r) {
+        long v = r[0] + C_LOW;
+        r[0] = v & M;
+        v = r[1] + 1 + (v >>> 32);
+        r[1] = v & M;
+        long c = v >>> 32;
+        for (int k = 2; k < LIMBS; k++) {
+            v = r[k] + c;
+            r[k] = v & M;
+            c = v >>> 32;
+        }
+    }
+
+    static void add(long[] r, long[] a, long[] b) {
+        long c = 0;
+        for (int k = 0; k < LIMBS; k++) {
+            long v = a[k] + b[k] + c;
+            r[k] = v & M;
+            c = v >>> 32;
+        }
+        // a + b < 2p：有进位或不小于 p 时减去 p
+        if (c != 0 || geP(r)) {
+            addC(r);
+        }
+    }
+
+    static void sub(long[] r, long[] a, long[] b) {
+        long borrow = 0;
+        for (int k = 0; k < LIMBS; k++) {
+            long v = a[k] - b[k] - borrow;
+            r[k] = v & M;
+            borrow = (v >>> 63);
+        }
+        if (borrow != 0) {
+            // 回绕后的值为 a - b + 2^256，再减去 2^256 - p
+            long v = r[0] - C_LOW;
+            r[0] = v & M;
+            v = r[1] - 1 - (v >>> 63);
+            r[1] = v & M;
+            borrow = v >>> 63;
+            for (int k = 2; k < LIMBS && borrow != 0; k++) {
+                v = r[k] - borrow;
+                r[k] = v & M;
+                borrow = v >>> 63;
+            }
+        }
+    }
+
+    /**
+     * 功能描述: r = a * k mod p，k 为不超过 2^20 的小整数
+     */
+    static void mulSmall(long[] r, long[] a, int k) {
+        long c = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            long v = a[i] * k + c;
+            r[i] = v & M;
+            c = v >>> 32;
+        }
+        long top = c;
+        while (top != 0) {
+            long v = r[0] + top * C_LOW;
+            r[0] = v & M;
+            v = r[1] + top + (v >>> 32);
+            r[1] = v & M;
+            c = v >>> 32;
+            for (int i = 2; i < LIMBS && c != 0; i++) {
+                v = r[i] + c;
+                r[i] = v & M;
+                c = v >>> 32;
+            }
+            top = c;
+        }
+        normalize(r);
+    }
+
+    static void neg(long[] r, long[] a) {
+        if (isZero(a)) {
+            set(r, a);
+        } else {
+            sub(r, P, a);
+        }
+    }
+
+    /**
+     * 功能描述: r = a^(p-2) = a^-1，加法链共255次平方、15次乘法；a 为0时结果为0
+     */
+    void inv(long[] r, long[] a) {
+        pow223(a);
+        sqrN(acc, acc, 23);
+        mul(acc, acc, x22);
+        sqrN(acc, acc, 5);
+        mul(acc, acc, a);
+        sqrN(acc, acc, 3);
+        mul(acc, acc, x2);
+        sqrN(acc, acc, 2);
+        mul(r, acc, a);
+    }
+
+    /**
+     * 功能描述: r = a^((p+1)/4)，p ≡ 3 (mod 4) 时即为平方根
+     *
+     * @return a 是否为二次剩余；否则 r 的内容无意义
+     */
+    boolean sqrt(long[] r, long[] a) {
+        pow223(a);
+        sqrN(acc, acc, 23);
+        mul(acc, acc, x22);
+        sqrN(acc, acc, 6);
+        mul(acc, acc, x2);
+        sqrN(acc, acc, 2);
+        sqr(tmp, acc);
+        boolean square = eq(tmp, a);
+        set(r, acc);
+        return square;
+    }
+
+    /**
+     * 功能描述: acc = a^(2^223 - 1)，同时保留 x2、x3、x22 供后续步骤使用
+     */
+    private void pow223(long[] a) {
+        sqr(x2, a);
+        mul(x2, x2, a);
+        sqr(x3, x2);
+        mul(x3, x3, a);
+        // x6、x9、x11 依次计算在 acc 中
+        sqrN(acc, x3, 3);
+        mul(acc, acc, x3);
+        sqrN(acc, acc, 3);
+        mul(acc, acc, x3);
+        sqrN(acc, acc, 2);
+        mul(acc, acc, x2);
+        long[] x11 = tmp;
+        set(x11, acc);
+        sqrN(x22, x11, 11);
+        mul(x22, x22, x11);
+        sqrN(x44, x22, 22);
+        mul(x44, x44, x22);
+        // x88、x176、x220、x223
+        sqrN(acc, x44, 44);
+        mul(acc, acc, x44);
+        set(tmp, acc);
+        sqrN(acc, acc, 88);
+        mul(acc, acc, tmp);
+        sqrN(acc, acc, 44);
+        mul(acc, acc, x44);
+        sqrN(acc, acc, 3);
+        mul(acc, acc, x3);
+    }
+
+    static boolean isZero(long[] a) {
+        long or = 0;
+        for (int i = 0; i < LIMBS; i++) {
+            or |= a[i];
+        }
+        return or == 0;
+    }
+
+    static boolean isOdd(long[] a) {
+        return (a[0] & 1) != 0;
+    }
+
+    static boolean eq(long[] a, long[] b) {
+        for (int i = 0; i < LIMBS; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void set(long[] r, long[] a) {
+        System.arraycopy(a, 0, r, 0, LIMBS);
+    }
+
+    static void setInt(long[] r, int value) {
+        for (int i = 1; i < LIMBS; i++) {
+            r[i] = 0;
+        }
+        r[0] = value & M;
+    }
+
+    /**
+     * 功能描述: 读取32字节大端序整数
+     *
+     * @return 是否小于 p
+     */
+    static boolean fromBytes(long[] r, byte[] bytes, int offset) {
+        for (int i = 0; i < LIMBS; i++) {
+            int p = offset + (LIMBS - 1 - i) * 4;
+            r[i] = ((bytes[p] & 0xffL) << 24) | ((bytes[p + 1] & 0xffL) << 16) | ((bytes[p + 2] & 0xffL) << 8) | (bytes[p + 3] & 0xffL);
+        }
+        return !geP(r);
+    }
+
+    /**
+     * 功能描述: 写出32字节大端序整数
+     */
+    static void toBytes(long[] a, byte[] out, int offset) {
+        for (int i = 0; i < LIMBS; i++) {
+            int p = offset + (LIMBS - 1 - i) * 4;
+            long v = a[i];
+            out[p] = (byte) (v >>> 24);
+            out[p + 1] = (byte) (v >>> 16);
+            out[p + 2] = (byte) (v >>> 8);
+            out[p + 3] = (byte) v;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package org.lmx.common.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.lmx.common.crypto.Secp256k1Field.add;
+import static org.lmx.common.crypto.Secp256k1Field.isZero;
+import static org.lmx.common.crypto.Secp256k1Field.mulSmall;
+import static org.lmx.common.crypto.Secp256k1Field.neg;
+import static org.lmx.common.crypto.Secp256k1Field.sub;
+
+/**
+ * 功能描述：secp256k1 的点运算与标量乘法，每个线程一个实例（持有全部临时变量，运算过程不分配对象）
+ * <pre>
+ *     k * G（签名、生成公钥）：固定基梳状表。把 k 按4位一组拆成64组，预先算好 j * 16^i * G（j = 1..15），
+ *  k * G 就是最多64次混合点加，没有倍点。表为仿射坐标，共960个点，类加载时生成一次。
+ *
+ *     u1 * G + u2 * Q（验签、恢复公钥）：Shamir 技巧加 GLV 自同态，两个标量各拆成两个约128位的标量，
+ *  再各自转成宽度为 w 的非相邻形式（wNAF），四者共用一串约128次的倍点。G 与 λG 的奇数倍表
+ *  （w = 8，各64个仿射点）是静态的；Q 与 λQ 的奇数倍表（w = 5，各8个点）每次现算。
+ *
+ *     点加公式取自 Explicit-Formulas Database（a = 0）：倍点 dbl-2009-l，混合点加 madd-2007-bl，
+ *  一般点加 add-2007-bl。运算时间与标量相关，不是常数时间实现。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 00:20
+ **/
+final class Secp256k1Math {
+    static final long[] GX = hex("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798");
+    static final long[] GY = hex("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8");
+    /**
+     * 群的阶
+     */
+    static final BigInteger N = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+    private static final BigInteger HALF_N = N.shiftRight(1);
+    /**
+     * 自同态 λ * (x, y) = (β * x, y)；A1、B1、A2、B2 为 GLV 拆分所用格基
+     */
+    private static final long[] BETA = hex("7AE96A2B657C07106E64479EAC3434E99CF0497512F58995C1396C28719501EE");
+    private static final BigInteger A1 = new BigInteger("3086D221A7D46BCDE86C90E49284EB15", 16);
+    private static final BigInteger B1 = new BigInteger("-E4437ED6010E88286F547FA90ABFE4C3", 16);
+    private static final BigInteger A2 = new BigInteger("114CA50F7A8E2F3F657C1108D9D44CFD8", 16);
+    private static final BigInteger B2 = A1;
+
+    private static final int COMB_WINDOWS = 64;
+    private static final int COMB_ENTRIES = 15;
+    private static final int G_WINDOW = 8;
+    private static final int Q_WINDOW = 5;
+    private static final int G_TABLE_SIZE = 1 << (G_WINDOW - 2);
+    private static final int Q_TABLE_SIZE = 1 << (Q_WINDOW - 2);
+    /**
+     * wNAF 最多 257 位
+     */
+    private static final int NAF_LENGTH = 257;
+
+    private static final long[][] COMB_X = new long[COMB_WINDOWS * COMB_ENTRIES][];
+    private static final long[][] COMB_Y = new long[COMB_WINDOWS * COMB_ENTRIES][];
+    private static final long[][] G_ODD_X = new long[G_TABLE_SIZE][];
+    private static final long[][] G_ODD_Y = new long[G_TABLE_SIZE][];
+    private static final long[][] G_LAMBDA_X = new long[G_TABLE_SIZE][];
+
+    static {
+        Secp256k1Math math = new Secp256k1Math();
+        math.buildTables();
+    }
+
+    final Secp256k1Field f = new Secp256k1Field();
+
+    private final long[] t0 = Secp256k1Field.newElement();
+    private final long[] t1 = Secp256k1Field.newElement();
+    private final long[] t2 = Secp256k1Field.newElement();
+    private final long[] t3 = Secp256k1Field.newElement();
+    private final long[] t4 = Secp256k1Field.newElement();
+    private final long[] t5 = Secp256k1Field.newElement();
+    private final long[] t6 = Secp256k1Field.newElement();
+    private final long[] t7 = Secp256k1Field.newElement();
+    private final long[] t8 = Secp256k1Field.newElement();
+    private final long[] t9 = Secp256k1Field.newElement();
+    private final long[] t10 = Secp256k1Field.newElement();
+    private final long[] t11 = Secp256k1Field.newElement();
+    private final long[] negY = Secp256k1Field.newElement();
+
+    private final Secp256k1Point[] qTable = new Secp256k1Point[Q_TABLE_SIZE];
+    private final Secp256k1Point[] qLambdaTable = new Secp256k1Point[Q_TABLE_SIZE];
+    private final Secp256k1Point q2 = new Secp256k1Point();
+    private final Secp256k1Point negQ = new Secp256k1Point();
+    private final int[] nafG1 = new int[NAF_LENGTH];
+    private final int[] nafG2 = new int[NAF_LENGTH];
+    private final int[] nafQ1 = new int[NAF_LENGTH];
+    private final int[] nafQ2 = new int[NAF_LENGTH];
+    private final int[] limbs = new int[8];
+
+    Secp256k1Math() {
+        for (int i = 0; i < Q_TABLE_SIZE; i++) {
+            qTable[i] = new Secp256k1Point();
+            qLambdaTable[i] = new Secp256k1Point();
+        }
+    }
+
+    /**
+     * 功能描述: r = 2p，r 可以与 p 为同一对象
+     */
+    void dbl(Secp256k1Point r, Secp256k1Point p) {
+        if (p.infinity || isZero(p.y)) {
+            r.setInfinity();
+            return;
+        }
+        long[] a = t0, b = t1, c = t2, d = t3, e = t4, ff = t5, t = t6;
+        f.sqr(a, p.x);
+        f.sqr(b, p.y);
+        f.sqr(c, b);
+        // D = 2 * ((X + B)^2 - A - C)
+        add(t, p.x, b);
+        f.sqr(t, t);
+        sub(t, t, a);
+        sub(t, t, c);
+        add(d, t, t);
+        mulSmall(e, a, 3);
+        f.sqr(ff, e);
+        // Z3 = 2 * Y * Z，需在覆盖 Y 之前计算
+        f.mul(t, p.y, p.z);
+        add(r.z, t, t);
+        // X3 = F - 2D
+        add(t, d, d);
+        sub(r.x, ff, t);
+        // Y3 = E * (D - X3) - 8C
+        sub(t, d, r.x);
+        f.mul(t, e, t);
+        mulSmall(c, c, 8);
+        sub(r.y, t, c);
+        r.infinity = false;
+    }
+
+    /**
+     * 功能描述: r = p + (ax, ay)，后者为仿射点；r 可以与 p 为同一对象
+     */
+    void addAffine(Secp256k1Point r, Secp256k1Point p, long[] ax, long[] ay) {
+        if (p.infinity) {
+            r.setAffine(ax, ay);
+            return;
+        }
+        long[] z1z1 = t0, u2 = t1, s2 = t2, h = t3, rr = t4, hh = t5, i = t6, j = t7, v = t8, t = t9;
+        f.sqr(z1z1, p.z);
+        f.mul(u2, ax, z1z1);
+        f.mul(s2, ay, p.z);
+        f.mul(s2, s2, z1z1);
+        sub(h, u2, p.x);
+        sub(rr, s2, p.y);
+        add(rr, rr, rr);
+        if (isZero(h)) {
+            if (isZero(rr)) {
+                dbl(r, p);
+            } else {
+                r.setInfinity();
+            }
+            return;
+        }
+        f.sqr(hh, h);
+        add(i, hh, hh);
+        add(i, i, i);
+        f.mul(j, h, i);
+        f.mul(v, p.x, i);
+        // 2 * Y1 * J，需在覆盖 Y 之前计算
+        f.mul(s2, p.y, j);
+        add(s2, s2, s2);
+        // Z3 = (Z1 + H)^2 - Z1Z1 - HH
+        add(t, p.z, h);
+        f.sqr(t, t);
+        sub(t, t, z1z1);
+        sub(r.z, t, hh);
+        // X3 = r^2 - J - 2V
+        f.sqr(t, rr);
+        sub(t, t, j);
+        sub(t, t, v);
+        sub(r.x, t, v);
+        // Y3 = r * (V - X3) - 2 * Y1 * J
+        sub(t, v, r.x);
+        f.mul(t, rr, t);
+        sub(r.y, t, s2);
+        r.infinity = false;
+    }
+
+    /**
+     * 功能描述: r = p + q，r 可以与 p 为同一对象，但不能与 q 为同一对象
+     */
+    void addJacobian(Secp256k1Point r, Secp256k1Point p, Secp256k1Point q) {
+        if (q.infinity) {
+            if (r != p) {
+                r.set(p);
+            }
+            return;
+        }
+        if (p.infinity) {
+            r.set(q);
+            return;
+        }
+        long[] z1z1 = t0, z2z2 = t1, u1 = t2, u2 = t3, s1 = t4, s2 = t5, h = t6, rr = t7, i = t8, j = t9, v = t10, t = t11;
+        f.sqr(z1z1, p.z);
+        f.sqr(z2z2, q.z);
+        f.mul(u1, p.x, z2z2);
+        f.mul(u2, q.x, z1z1);
+        f.mul(s1, p.y, q.z);
+        f.mul(s1, s1, z2z2);
+        f.mul(s2, q.y, p.z);
+        f.mul(s2, s2, z1z1);
+        sub(h, u2, u1);
+        sub(rr, s2, s1);
+        add(rr, rr, rr);
+        if (isZero(h)) {
+            if (isZero(rr)) {
+                dbl(r, p);
+            } else {
+                r.setInfinity();
+            }
+            return;
+        }
+        add(i, h, h);
+        f.sqr(i, i);
+        f.mul(j, h, i);
+        f.mul(v, u1, i);
+        // Z3 = ((Z1 + Z2)^2 - Z1Z1 - Z2Z2) * H
+        add(t, p.z, q.z);
+        f.sqr(t, t);
+        sub(t, t, z1z1);
+        sub(t, t, z2z2);
+        f.mul(r.z, t, h);
+        // X3 = r^2 - J - 2V
+        f.sqr(t, rr);
+        sub(t, t, j);
+        sub(t, t, v);
+        sub(r.x, t, v);
+        // Y3 = r * (V - X3) - 2 * S1 * J
+        sub(t, v, r.x);
+        f.mul(t, rr, t);
+        f.mul(s1, s1, j);
+        add(s1, s1, s1);
+        sub(r.y, t, s1);
+        r.infinity = false;
+    }
+
+    /**
+     * 功能描述: 转换为仿射坐标
+     *
+     * @return 是否为有限点
+     */
+    boolean toAffine(Secp256k1Point p, long[] ax, long[] ay) {
+        if (p.infinity) {
+            return false;
+        }
+        long[] zInv = t0, zInv2 = t1;
+        f.inv(zInv, p.z);
+        f.sqr(zInv2, zInv);
+        f.mul(ax, p.x, zInv2);
+        f.mul(zInv2, zInv2, zInv);
+        f.mul(ay, p.y, zInv2);
+        return true;
+    }
+
+    /**
+     * 功能描述: r = k * G，使用梳状表
+     *
+     * @param k 标量，8个32位分量，小端序，小于 n
+     */
+    void mulG(Secp256k1Point r, int[] k) {
+        r.setInfinity();
+        for (int i = 0; i < COMB_WINDOWS; i++) {
+            int nibble = (k[i >>> 3] >>> ((i & 7) << 2)) & 0x0f;
+            if (nibble != 0) {
+                int index = i * COMB_ENTRIES + nibble - 1;
+                addAffine(r, r, COMB_X[index], COMB_Y[index]);
+            }
+        }
+    }
+
+    /**
+     * 功能描述: r = u1 * G + u2 * (qx, qy)
+     * <pre>
+     *     两个标量先按 GLV 拆成各约128位的两半：k = k1 + k2 * λ (mod n)，λ * (x, y) = (β * x, y)，
+     *  于是四个约128位的标量共用一串倍点，倍点次数减半。拆出的一半可能为负，对应的点取反即可。
+     * </pre>
+     *
+     * @param u1 标量，[0, n)
+     * @param qx 点 Q 的仿射 x
+     * @param qy 点 Q 的仿射 y
+     * @param u2 标量，[0, n)
+     */
+    void mulShamir(Secp256k1Point r, BigInteger u1, long[] qx, long[] qy, BigInteger u2) {
+        BigInteger[] g = split(u1);
+        BigInteger[] q = split(u2);
+        int length = signedWnaf(nafG1, g[0], G_WINDOW);
+        length = Math.max(length, signedWnaf(nafG2, g[1], G_WINDOW));
+        length = Math.max(length, signedWnaf(nafQ1, q[0], Q_WINDOW));
+        length = Math.max(length, signedWnaf(nafQ2, q[1], Q_WINDOW));
+
+        // Q 的奇数倍：Q, 3Q, 5Q, ..., 15Q，以及它们的 λ 倍
+        qTable[0].setAffine(qx, qy);
+        dbl(q2, qTable[0]);
+        for (int i = 1; i < Q_TABLE_SIZE; i++) {
+            addJacobian(qTable[i], qTable[i - 1], q2);
+        }
+        for (int i = 0; i < Q_TABLE_SIZE; i++) {
+            qLambdaTable[i].set(qTable[i]);
+            f.mul(qLambdaTable[i].x, qLambdaTable[i].x, BETA);
+        }
+
+        r.setInfinity();
+        for (int bit = length - 1; bit >= 0; bit--) {
+            if (!r.infinity) {
+                dbl(r, r);
+            }
+            addTable(r, nafQ1[bit], qTable);
+            addTable(r, nafQ2[bit], qLambdaTable);
+            addTable(r, nafG1[bit], G_ODD_X, G_ODD_Y);
+            addTable(r, nafG2[bit], G_LAMBDA_X, G_ODD_Y);
+        }
+    }
+
+    private void addTable(Secp256k1Point r, int digit, Secp256k1Point[] table) {
+        if (digit > 0) {
+            addJacobian(r, r, table[(digit - 1) >> 1]);
+        } else if (digit < 0) {
+            negQ.set(table[(-digit - 1) >> 1]);
+            neg(negQ.y, negQ.y);
+            addJacobian(r, r, negQ);
+        }
+    }
+
+    private void addTable(Secp256k1Point r, int digit, long[][] xs, long[][] ys) {
+        if (digit > 0) {
+            addAffine(r, r, xs[(digit - 1) >> 1], ys[(digit - 1) >> 1]);
+        } else if (digit < 0) {
+            neg(negY, ys[(-digit - 1) >> 1]);
+            addAffine(r, r, xs[(-digit - 1) >> 1], negY);
+        }
+    }
+
+    /**
+     * 功能描述: GLV 拆分，k = k1 + k2 * λ (mod n)，|k1|、|k2| 约为 2^128
+     *
+     * @return {k1, k2}
+     */
+    static BigInteger[] split(BigInteger k) {
+        BigInteger c1 = roundDiv(B2.multiply(k));
+        BigInteger c2 = roundDiv(B1.negate().multiply(k));
+        BigInteger k1 = k.subtract(c1.multiply(A1)).subtract(c2.multiply(A2));
+        BigInteger k2 = c1.multiply(B1).add(c2.multiply(B2)).negate();
+        return new BigInteger[]{k1, k2};
+    }
+
+    /**
+     * 功能描述: 非负数 x 除以 n 四舍五入
+     */
+    private static BigInteger roundDiv(BigInteger x) {
+        return x.add(HALF_N).divide(N);
+    }
+
+    /**
+     * 功能描述: 带符号标量的 wNAF，负数按绝对值展开后逐位取反
+     */
+    private int signedWnaf(int[] naf, BigInteger k, int w) {
+        toLimbs(limbs, k.abs());
+        int length = wnaf(naf, limbs, w);
+        if (k.signum() < 0) {
+            for (int i = 0; i < length; i++) {
+                naf[i] = -naf[i];
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 功能描述: 非负 BigInteger 转为8个32位分量，小端序
+     */
+    static void toLimbs(int[] out, BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        Arrays.fill(out, 0);
+        for (int i = 0; i < bytes.length && i < 32; i++) {
+            int b = bytes[bytes.length - 1 - i] & 0xff;
+            out[i >>> 2] |= b << ((i & 3) << 3);
+        }
+    }
+
+    /**
+     * 功能描述: 宽度为 w 的非相邻形式：非零数字都是奇数且绝对值小于 2^(w-1)，任意 w 个相邻数字中至多一个非零
+     *
+     * @param naf 输出，长度{@value #NAF_LENGTH}
+     * @param k   标量，8个32位分量，小端序
+     * @param w   窗口宽度
+     * @return 最高非零数字的位置 + 1
+     */
+    static int wnaf(int[] naf, int[] k, int w) {
+        Arrays.fill(naf, 0);
+        int carry = 0;
+        int length = 0;
+        int bit = 0;
+        while (bit < NAF_LENGTH) {
+            if (bits(k, bit, 1) == carry) {
+                bit++;
+                continue;
+            }
+            int word = bits(k, bit, w) + carry;
+            carry = (word >> (w - 1)) & 1;
+            word -= carry << w;
+            naf[bit] = word;
+            length = bit + 1;
+            bit += w;
+        }
+        return length;
+    }
+
+    /**
+     * 功能描述: 取 k 从第 bit 位开始的 count 位，超出256位的部分为0
+     */
+    private static int bits(int[] k, int bit, int count) {
+        int limb = bit >>> 5;
+        int offset = bit & 31;
+        long low = limb < 8 ? k[limb] & 0xffffffffL : 0;
+        long high = limb + 1 < 8 ? k[limb + 1] & 0xffffffffL : 0;
+        return (int) (((low | (high << 32)) >>> offset) & ((1L << count) - 1));
+    }
+
+    /**
+     * 功能描述: 生成梳状表与 G 的奇数倍表
+     */
+    private void buildTables() {
+        Secp256k1Point base = new Secp256k1Point();
+        Secp256k1Point acc = new Secp256k1Point();
+        base.setAffine(GX, GY);
+        for (int i = 0; i < COMB_WINDOWS; i++) {
+            acc.set(base);
+            for (int j = 0; j < COMB_ENTRIES; j++) {
+                int index = i * COMB_ENTRIES + j;
+                COMB_X[index] = Secp256k1Field.newElement();
+                COMB_Y[index] = Secp256k1Field.newElement();
+                toAffine(acc, COMB_X[index], COMB_Y[index]);
+                addJacobian(acc, acc, base);
+            }
+            // 此时 acc = 16 * base
+            base.set(acc);
+        }
+
+        Secp256k1Point g = new Secp256k1Point();
+        Secp256k1Point g2 = new Secp256k1Point();
+        g.setAffine(GX, GY);
+        dbl(g2, g);
+        acc.set(g);
+        for (int i = 0; i < G_TABLE_SIZE; i++) {
+            G_ODD_X[i] = Secp256k1Field.newElement();
+            G_ODD_Y[i] = Secp256k1Field.newElement();
+            toAffine(acc, G_ODD_X[i], G_ODD_Y[i]);
+            G_LAMBDA_X[i] = Secp256k1Field.newElement();
+            f.mul(G_LAMBDA_X[i], G_ODD_X[i], BETA);
+            addJacobian(acc, acc, g2);
+        }
+    }
+
+    private static long[] hex(String hex) {
+        byte[] bytes = new byte[32];
+        for (int i = 0; i < 32; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        long[] r = Secp256k1Field.newElement();
+        Secp256k1Field.fromBytes(r, bytes, 0);
+        return r;
+    }
+}
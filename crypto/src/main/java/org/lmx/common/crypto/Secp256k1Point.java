@@ -0,0 +1,39 @@
+package org.lmx.common.crypto;
+
+/**
+ * 功能描述：secp256k1 上的点，雅可比坐标 (X, Y, Z) 表示仿射点 (X / Z^2, Y / Z^3)
+ * <pre>
+ *     雅可比坐标下点加与倍点都不需要求逆，只在最后转换为仿射坐标时求逆一次。可变对象，供运算过程复用。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 00:20
+ **/
+final class Secp256k1Point {
+    final long[] x = Secp256k1Field.newElement();
+    final long[] y = Secp256k1Field.newElement();
+    final long[] z = Secp256k1Field.newElement();
+    /**
+     * 是否为无穷远点
+     */
+    boolean infinity = true;
+
+    void setInfinity() {
+        infinity = true;
+    }
+
+    void set(Secp256k1Point p) {
+        Secp256k1Field.set(x, p.x);
+        Secp256k1Field.set(y, p.y);
+        Secp256k1Field.set(z, p.z);
+        infinity = p.infinity;
+    }
+
+    void setAffine(long[] ax, long[] ay) {
+        Secp256k1Field.set(x, ax);
+        Secp256k1Field.set(y, ay);
+        Secp256k1Field.setInt(z, 1);
+        infinity = false;
+    }
+}
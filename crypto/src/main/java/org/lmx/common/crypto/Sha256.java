@@ -2,8 +2,18 @@ package org.lmx.common.crypto;
 
 import cn.hutool.core.util.HexUtil;
 import cn.hutool.crypto.digest.DigestUtil;
+import org.lmx.common.monitor.Monitor;
+import org.lmx.common.monitor.Operation;
+import org.lmx.common.monitor.Sample;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -26,7 +36,7 @@ public class Sha256 {
      *     用16进制表示, 则相应的常数序列如下:
      * </pre>
      */
-    private static final int[] K = {0x428a2f98, 0x71374491, 0xb5c0fbcf,
+    static final int[] K = {0x428a2f98, 0x71374491, 0xb5c0fbcf,
             0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
             0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74,
             0x80deb1fe, 0x9bdc06a7, 0xc19bf174, 0xe49b69c1, 0xefbe4786,
@@ -43,17 +53,24 @@ public class Sha256 {
 
 
     /**
-     * 块数组
+     * 线程私有的摘要对象，避免多线程同时哈希时相互破坏中间状态
      */
-    private static final int[] W = new int[64];
+    private static final ThreadLocal<Sha256Digest> DIGEST = ThreadLocal.withInitial(Sha256Digest::new);
     /**
-     * 用来存储加密后的结果
+     * 线程私有的批量哈希对象
      */
-    private static final int[] H = new int[8];
+    private static final ThreadLocal<Sha256Batch> BATCH = ThreadLocal.withInitial(Sha256Batch::new);
+    private static final boolean LANES_ENABLED = lanesEnabled();
     /**
-     *
+     * 线程私有的字数组与中间散列值，供双哈希的定长快速路径使用
      */
-    private static final int[] TEMP = new int[8];
+    private static final ThreadLocal<int[]> WORDS = ThreadLocal.withInitial(() -> new int[64 + 8]);
+
+    /**
+     * 64字节消息的补位块（1位“1”+ 447位“0”+ 长度512）扩展后的 K[t] + W[t]。
+     * 该块与消息内容无关，因此其64个字可以预先算好，压缩时省去字扩展。
+     */
+    private static final int[] PAD64_KW = precomputePaddingBlock();
 
     public static String sha256Hex(String message) {
         return HexUtil.encodeHexStr(hash(message.getBytes()));
@@ -61,83 +78,434 @@ public class Sha256 {
 
     /**
      * 使用SHA-256对给定的消息进行哈希处理并返回哈希值。
+     * <pre>
+     *     计算过程委托给当前线程私有的{@link Sha256Digest}，按64字节的“块”直接从原始消息中读取，
+     *  不再构造补位后的消息副本，因此可以被多个线程同时调用。
+     * </pre>
      *
      * @param message 要哈希的字节。
      * @return 哈希后的字节。
      */
     public static byte[] hash(byte[] message) {
-        // 设 H = H0
-        System.arraycopy(H0, 0, H, 0, H0.length);
+        byte[] out = new byte[Sha256Digest.DIGEST_LENGTH];
+        hash(message, 0, message.length, out, 0);
+        return out;
+    }
 
-        /*
-            1、初始化所有字（对应“补位”操作），返回的结果是所有的“块”
-            SHA256算法中的最小运算单元称为“字”（Word），1 word(字) = 32 bit(位)
+    /**
+     * 功能描述: 对消息的指定区间进行哈希，并将32字节的结果写入目标数组
+     *
+     * @param message 消息
+     * @param offset  起始位置
+     * @param length  长度
+     * @param out     结果数组
+     * @param outOff  结果写入位置
+     * @author LM.X
+     * @date 2026/10/16 10:12
+     */
+    public static void hash(byte[] message, int offset, int length, byte[] out, int outOff) {
+        Sample sample = Monitor.start(Operation.SHA256_HASH);
+        Sha256Digest digest = DIGEST.get();
+        digest.reset();
+        digest.update(message, offset, length);
+        digest.doFinal(out, outOff);
+        Monitor.stop(sample, length);
+    }
 
-            toIntArray()将byte转换成了int，1 int = 4 byte = 32 bit，也1 int就是一个字。
-         */
-        int[] words = toIntArray(pad(message));
+    /**
+     * 功能描述: 批量哈希，outputs[i] = SHA-256(inputs[i])，结果与逐条调用{@link #hash(byte[])}完全一致
+     * <pre>
+     *     默认逐条复用线程内的摘要对象计算。{@link Sha256Batch}的多通道实现依赖 JIT 自动向量化，
+     *  实测在 JDK 8 上比逐条计算慢，JDK 17 上有快有慢，JDK 21 上约快 1.2 ~ 1.4 倍，
+     *  因此只在 JDK 21 及以上默认启用；可用 -Dlmx.sha256.lanes=true/false 强制开启或关闭。
+     * </pre>
+     *
+     * @param inputs  消息数组
+     * @param outputs 结果数组，长度与 inputs 相同；元素为 null 时自动创建32字节数组
+     * @author LM.X
+     * @date 2026/10/16 14:00
+     */
+    public static void hashBatch(byte[][] inputs, byte[][] outputs) {
+        if (inputs.length != outputs.length) {
+            throw new IllegalArgumentException("inputs与outputs长度不一致：" + inputs.length + " != " + outputs.length);
+        }
+        if (LANES_ENABLED) {
+            BATCH.get().hash(inputs, outputs);
+            return;
+        }
+        Sha256Digest digest = DIGEST.get();
+        for (int i = 0; i < inputs.length; i++) {
+            if (outputs[i] == null) {
+                outputs[i] = new byte[Sha256Digest.DIGEST_LENGTH];
+            }
+            digest.reset();
+            digest.update(inputs[i], 0, inputs[i].length);
+            digest.doFinal(outputs[i], 0);
+        }
+    }
 
-        /*
-          2、构造64个字（word）
+    /**
+     * 功能描述: 是否使用多通道批量实现：JDK 21 及以上默认开启，-Dlmx.sha256.lanes 优先
+     */
+    private static boolean lanesEnabled() {
+        String forced = System.getProperty("lmx.sha256.lanes");
+        if (forced != null) {
+            return Boolean.parseBoolean(forced);
+        }
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(version) >= 21;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 
-         原文：break chunk into sixteen 32-bit big-endian words w[0], …, w[15].
-         译文：对于每一块，将块分解为16个32-bit的big-endian的字，记为w[0], …, w[15]。
+    /**
+     * 功能描述: 批量哈希，返回新的结果数组
+     *
+     * @param inputs 消息数组
+     * @return 每条消息的32字节哈希
+     * @author LM.X
+     * @date 2026/10/16 14:00
+     */
+    public static byte[][] hashBatch(byte[][] inputs) {
+        byte[][] outputs = new byte[inputs.length][];
+        hashBatch(inputs, outputs);
+        return outputs;
+    }
 
-          将“字”转换成“块”，即将“字”数组，按每16个字一个“块”进行组装。一个“块” = 512 bit = 16 word字。
-          代码中通过除以16来表示一个“块”，并没有真实创建“块”。
-         */
-        for (int i = 0, n = words.length / 16; i < n; ++i) {
-
-            // 2.1、前16个字直接由消息的第i个块分解得到
-            System.arraycopy(words, i * 16, W, 0, 16);
-
-            /*
-               2.2、其余的字由如下迭代公式得到：
-               W[t]​= σ1​(W[t] − 2) + W[t−7]​+ σ0(W[t] − 15) + W[t]− 16​
-
-               最后将得到64个“字”。
-             */
-            for (int t = 16; t < W.length; ++t) {
-                // 根据加法交换律，修改先后顺序不印象最终结果
-                W[t] = smallSig1(W[t - 2])
-                        + W[t - 7]
-                        + smallSig0(W[t - 15])
-                        + W[t - 16];
-            }
+    /**
+     * 功能描述: 计算文件的SHA-256
+     * <pre>
+     *     大文件按窗口做内存映射，小文件通过直接内存缓冲区读取，文件内容不会复制到堆内存中，
+     *  适合校验数GB的区块文件与快照。
+     * </pre>
+     *
+     * @param file 文件路径
+     * @return 32字节哈希
+     * @throws IOException 读取文件失败
+     * @author LM.X
+     * @date 2026/10/16 16:00
+     */
+    public static byte[] hashFile(Path file) throws IOException {
+        Sample sample = Monitor.start(Operation.SHA256_FILE);
+        byte[] hash = FileHasher.hash(file);
+        Monitor.stop(sample, sample == null ? 0 : Files.size(file));
+        return hash;
+    }
 
-            /*
-               3、循环对“块”加密：也就是说循环64次。
-               例如：对“abc”加密时，就相当于依次对 c、b、a进行加密，c的加密结果，保存到a位置
-             */
+    /**
+     * 功能描述: 计算文件通道中全部内容（从位置0到 size()）的SHA-256，不改变通道的当前位置
+     *
+     * @param channel 可读的文件通道
+     * @return 32字节哈希
+     * @throws IOException 读取文件失败
+     * @author LM.X
+     * @date 2026/10/16 16:00
+     */
+    public static byte[] hashChannel(FileChannel channel) throws IOException {
+        Sample sample = Monitor.start(Operation.SHA256_FILE);
+        byte[] hash = FileHasher.hash(channel);
+        Monitor.stop(sample, sample == null ? 0 : channel.size());
+        return hash;
+    }
 
-            // 设 TEMP = H，H是初始变量，即8个初始hash值，也就是前8个质数的平方根的前32bit位。
-            System.arraycopy(H, 0, TEMP, 0, H.length);
+    /**
+     * 功能描述: 使用公共 fork-join 线程池并行计算多个文件的SHA-256
+     *
+     * @param files 文件列表
+     * @return 文件路径 → 32字节哈希
+     * @throws IOException 任意一个文件读取失败
+     * @author LM.X
+     * @date 2026/10/16 16:00
+     */
+    public static Map<Path, byte[]> hashFiles(Collection<Path> files) throws IOException {
+        return FileHasher.hash(files, ForkJoinPool.commonPool());
+    }
 
-            // 在TEMP上操作
-            for (int t = 0; t < W.length; ++t) {
-                // t1 = H[7] + Ch(H[4],H[5],H[6]) + Σ1(H[4])
-                int t1 = TEMP[7]
-                        + ch(TEMP[4], TEMP[5], TEMP[6]) + K[t] + W[t]
-                        + bigSig1(TEMP[4]);
+    /**
+     * 功能描述: 在指定线程池中并行计算多个文件的SHA-256
+     *
+     * @param files 文件列表
+     * @param pool  线程池
+     * @return 文件路径 → 32字节哈希
+     * @throws IOException 任意一个文件读取失败
+     * @author LM.X
+     * @date 2026/10/16 16:00
+     */
+    public static Map<Path, byte[]> hashFiles(Collection<Path> files, ForkJoinPool pool) throws IOException {
+        return FileHasher.hash(files, pool);
+    }
 
-                // t2 = Ma(H[0],H[1],H[2]) + Σ0(H[0])
-                int t2 = maj(TEMP[0], TEMP[1], TEMP[2]) + bigSig0(TEMP[0]);
-                System.arraycopy(TEMP, 0, TEMP, 1, TEMP.length - 1);
+    /**
+     * 功能描述: 并行计算目录（递归）下所有普通文件的SHA-256，用于校验整个数据目录
+     *
+     * @param directory 目录
+     * @return 文件路径 → 32字节哈希
+     * @throws IOException 遍历目录或读取文件失败
+     * @author LM.X
+     * @date 2026/10/16 16:00
+     */
+    public static Map<Path, byte[]> hashDirectory(Path directory) throws IOException {
+        return FileHasher.hashDirectory(directory, ForkJoinPool.commonPool());
+    }
 
-                // 设置中间散列
-                TEMP[4] += t1;
+    /**
+     * 功能描述: 双SHA-256（sha256d），即 SHA-256(SHA-256(message))，与比特币中区块头、交易ID的算法一致
+     *
+     * @param message 消息
+     * @return 32字节结果
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    public static byte[] sha256d(byte[] message) {
+        byte[] out = new byte[Sha256Digest.DIGEST_LENGTH];
+        sha256d(message, 0, message.length, out, 0);
+        return out;
+    }
 
-                // 设置头部散列 t1 + t2
-                TEMP[0] = t1 + t2;
-            }
+    /**
+     * 功能描述: 双SHA-256，结果写入32字节的目标数组
+     *
+     * @param message 消息
+     * @param out32   结果数组
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    public static void sha256d(byte[] message, byte[] out32) {
+        sha256d(message, 0, message.length, out32, 0);
+    }
 
-            // 将TEMP中的值添加到H中的值
-            for (int t = 0; t < H.length; ++t) {
-                H[t] += TEMP[t];
-            }
+    /**
+     * 功能描述: 对消息的指定区间做双SHA-256
+     * <pre>
+     *     第一次哈希走流式摘要；第二次哈希的输入固定为32字节，恰好与补位凑成一个块，
+     *  直接把第一次的8个结果字与常量补位字填入字数组压缩一次，不经过{@link #pad(byte[])}。
+     * </pre>
+     *
+     * @param message 消息
+     * @param offset  起始位置
+     * @param length  长度
+     * @param out     结果数组
+     * @param outOff  结果写入位置
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    public static void sha256d(byte[] message, int offset, int length, byte[] out, int outOff) {
+        int[] w = WORDS.get();
+        Sha256Digest digest = DIGEST.get();
+        digest.reset();
+        digest.update(message, offset, length);
+        digest.doFinal(w);
+        hash32(w, out, outOff);
+    }
+
+    /**
+     * 功能描述: 合并两个32字节哈希：sha256d(left || right)，用于默克尔树计算父节点
+     *
+     * @param left32  左子节点哈希
+     * @param right32 右子节点哈希
+     * @param out32   结果数组，可以与 left32 或 right32 是同一个数组
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    public static void sha256d(byte[] left32, byte[] right32, byte[] out32) {
+        sha256d(left32, 0, right32, 0, out32, 0);
+    }
+
+    /**
+     * 功能描述: 合并两个32字节哈希：sha256d(left || right)
+     * <pre>
+     *     左右两个哈希直接读入同一个块的前后16个字，不需要拼接缓冲区；
+     *  64字节消息的补位块是常量，使用预先扩展好的字压缩；第二次哈希同样走定长快速路径。
+     *  整个过程只有3次压缩，没有任何内存分配。
+     * </pre>
+     *
+     * @param left     左子节点哈希所在数组
+     * @param leftOff  左子节点哈希起始位置
+     * @param right    右子节点哈希所在数组
+     * @param rightOff 右子节点哈希起始位置
+     * @param out      结果数组，可以与输入重叠
+     * @param outOff   结果写入位置
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    public static void sha256d(byte[] left, int leftOff, byte[] right, int rightOff, byte[] out, int outOff) {
+        int[] w = WORDS.get();
+        for (int t = 0; t < 8; t++) {
+            w[t] = readInt(left, leftOff + (t << 2));
+            w[t + 8] = readInt(right, rightOff + (t << 2));
+        }
+
+        // 1、第一次哈希：消息块 + 常量补位块
+        System.arraycopy(H0, 0, w, 64, 8);
+        compress(w, 64, w);
+        compressPrecomputed(w, 64, PAD64_KW);
 
+        // 2、第二次哈希
+        System.arraycopy(w, 64, w, 0, 8);
+        hash32(w, out, outOff);
+    }
+
+    /**
+     * 功能描述: 对 w[0..7] 中的32字节消息做单块哈希：补位字为常量，直接压缩一次
+     *
+     * @param w      至少72个元素的字数组，w[0..7] 为消息，w[64..71] 用作中间散列值
+     * @param out    结果数组
+     * @param outOff 结果写入位置
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    private static void hash32(int[] w, byte[] out, int outOff) {
+        w[8] = 0x80000000;
+        for (int t = 9; t < 15; t++) {
+            w[t] = 0;
+        }
+        w[15] = 256;
+        System.arraycopy(H0, 0, w, 64, 8);
+        compress(w, 64, w);
+        for (int i = 0; i < 8; i++) {
+            int v = w[64 + i];
+            out[outOff++] = (byte) (v >>> 24);
+            out[outOff++] = (byte) (v >>> 16);
+            out[outOff++] = (byte) (v >>> 8);
+            out[outOff++] = (byte) v;
         }
-        return toByteArray(H);
+    }
+
+    private static int readInt(byte[] b, int off) {
+        return (b[off] << 24) | ((b[off + 1] & 0xff) << 16) | ((b[off + 2] & 0xff) << 8) | (b[off + 3] & 0xff);
+    }
+
+    /**
+     * 功能描述: 压缩函数，对一个“块”进行64轮加密运算，并将结果累加到中间散列值中
+     * <pre>
+     *     调用前 w[0..15] 必须已经填入当前块按 big-endian 分解得到的16个字，
+     *  w[16..63] 由本方法按迭代公式扩展得到。
+     *
+     *     这是供挖矿等需要复用中间状态（midstate）的场景使用的底层接口，一般情况请使用{@link Sha256Digest}。
+     * </pre>
+     *
+     * @param state 8个字的中间散列值，运算结果直接写回
+     * @param w     长度为64的字数组
+     * @author LM.X
+     * @date 2026/10/16 10:12
+     */
+    public static void compress(int[] state, int[] w) {
+        compress(state, 0, w);
+    }
+
+    /**
+     * 功能描述: 压缩函数，中间散列值位于 state[offset..offset+7]
+     *
+     * @param state  中间散列值所在数组
+     * @param offset 中间散列值起始位置
+     * @param w      长度至少为64的字数组
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    private static void compress(int[] state, int offset, int[] w) {
+        /*
+           1、其余的字由如下迭代公式得到：
+           W[t]​= σ1​(W[t] − 2) + W[t−7]​+ σ0(W[t] − 15) + W[t]− 16​
+         */
+        for (int t = 16; t < 64; ++t) {
+            w[t] = smallSig1(w[t - 2]) + w[t - 7] + smallSig0(w[t - 15]) + w[t - 16];
+        }
+
+        // 2、在局部变量上循环64轮，省去原先每轮对TEMP数组的整体移位
+        int a = state[offset], b = state[offset + 1], c = state[offset + 2], d = state[offset + 3];
+        int e = state[offset + 4], f = state[offset + 5], g = state[offset + 6], h = state[offset + 7];
+        for (int t = 0; t < 64; ++t) {
+            int t1 = h + bigSig1(e) + ch(e, f, g) + K[t] + w[t];
+            int t2 = bigSig0(a) + maj(a, b, c);
+            h = g;
+            g = f;
+            f = e;
+            e = d + t1;
+            d = c;
+            c = b;
+            b = a;
+            a = t1 + t2;
+        }
+
+        // 3、将本轮结果累加到中间散列值中
+        state[offset] += a;
+        state[offset + 1] += b;
+        state[offset + 2] += c;
+        state[offset + 3] += d;
+        state[offset + 4] += e;
+        state[offset + 5] += f;
+        state[offset + 6] += g;
+        state[offset + 7] += h;
+    }
+
+    /**
+     * 功能描述: 使用预先算好的 K[t] + W[t] 压缩一个内容固定的块
+     *
+     * @param state  中间散列值所在数组
+     * @param offset 中间散列值起始位置
+     * @param kw     64个 K[t] + W[t]
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    private static void compressPrecomputed(int[] state, int offset, int[] kw) {
+        int a = state[offset], b = state[offset + 1], c = state[offset + 2], d = state[offset + 3];
+        int e = state[offset + 4], f = state[offset + 5], g = state[offset + 6], h = state[offset + 7];
+        for (int t = 0; t < 64; ++t) {
+            int t1 = h + bigSig1(e) + ch(e, f, g) + kw[t];
+            int t2 = bigSig0(a) + maj(a, b, c);
+            h = g;
+            g = f;
+            f = e;
+            e = d + t1;
+            d = c;
+            c = b;
+            b = a;
+            a = t1 + t2;
+        }
+        state[offset] += a;
+        state[offset + 1] += b;
+        state[offset + 2] += c;
+        state[offset + 3] += d;
+        state[offset + 4] += e;
+        state[offset + 5] += f;
+        state[offset + 6] += g;
+        state[offset + 7] += h;
+    }
+
+    /**
+     * 功能描述: 预先扩展64字节消息的补位块
+     *
+     * @return 64个 K[t] + W[t]
+     * @author LM.X
+     * @date 2026/10/16 15:00
+     */
+    private static int[] precomputePaddingBlock() {
+        int[] w = new int[64];
+        w[0] = 0x80000000;
+        w[15] = 512;
+        for (int t = 16; t < 64; ++t) {
+            w[t] = smallSig1(w[t - 2]) + w[t - 7] + smallSig0(w[t - 15]) + w[t - 16];
+        }
+        for (int t = 0; t < 64; ++t) {
+            w[t] += K[t];
+        }
+        return w;
+    }
+
+    /**
+     * 功能描述: 将中间散列值重置为8个初始Hash值
+     *
+     * @param state 中间散列值
+     * @author LM.X
+     * @date 2026/10/16 10:12
+     */
+    public static void initState(int[] state) {
+        System.arraycopy(H0, 0, state, 0, H0.length);
     }
 
     /**
@@ -0,0 +1,240 @@
+package org.lmx.common.crypto;
+
+import java.util.Arrays;
+
+/**
+ * 功能描述：多通道（multi-lane）批量SHA-256
+ * <pre>
+ *     同时对 {@link #LANES} 条消息执行压缩函数：每个工作变量（a..h）、中间散列值以及字数组都按
+ *  “通道”展开成连续的 int 数组（下标 = 变量 * LANES + 通道），最内层循环只在通道之间做完全相同的运算，
+ *  没有分支和数据依赖，便于 JIT 的 SuperWord 优化将其自动向量化为 SIMD 指令。
+ *
+ *     不同长度的消息所需的块数不同，为了让同一组内的通道尽可能同时结束，先按块数对消息排序再分组；
+ *  组内块数较少的通道在结束后通过掩码不再累加结果。
+ *
+ *     非线程安全，由{@link Sha256#hashBatch(byte[][], byte[][])}为每个线程提供一个实例；只在 JIT 能向量化这些循环的 JDK 上默认启用，见该方法。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 14:00
+ **/
+final class Sha256Batch {
+    /**
+     * 通道数：16个32位整数正好填满一个512位（或两个256位）的向量寄存器
+     */
+    static final int LANES = 16;
+
+    /**
+     * 字数组：w[t * LANES + lane]
+     */
+    private final int[] w = new int[64 * LANES];
+    /**
+     * 中间散列值：state[i * LANES + lane]
+     */
+    private final int[] state = new int[8 * LANES];
+    /**
+     * 通道掩码：-1 表示该通道本轮有效，0 表示已经结束
+     */
+    private final int[] mask = new int[LANES];
+    /**
+     * 工作变量 a..h：vars[i * LANES + lane]
+     */
+    private final int[] vars = new int[8 * LANES];
+    /**
+     * 末尾块的补位缓冲区
+     */
+    private final byte[] tail = new byte[Sha256Digest.BLOCK_LENGTH];
+
+    /**
+     * 功能描述: 批量哈希
+     *
+     * @param inputs  消息数组
+     * @param outputs 结果数组，元素为 null 时自动创建32字节数组
+     * @author LM.X
+     * @date 2026/10/16 14:00
+     */
+    void hash(byte[][] inputs, byte[][] outputs) {
+        int count = inputs.length;
+
+        // 1、按块数排序：高32位为块数，低32位为消息下标
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) blockCount(inputs[i].length) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        // 2、每 LANES 条消息为一组，组内同步压缩
+        int[] lanes = new int[LANES];
+        for (int from = 0; from < count; from += LANES) {
+            int used = Math.min(LANES, count - from);
+            for (int l = 0; l < used; l++) {
+                lanes[l] = (int) order[from + l];
+            }
+            hashGroup(inputs, outputs, lanes, used);
+        }
+    }
+
+    private void hashGroup(byte[][] inputs, byte[][] outputs, int[] lanes, int used) {
+        int maxBlocks = 0;
+        for (int l = 0; l < used; l++) {
+            maxBlocks = Math.max(maxBlocks, blockCount(inputs[lanes[l]].length));
+        }
+
+        int[] h0 = new int[8];
+        Sha256.initState(h0);
+        for (int i = 0; i < 8; i++) {
+            Arrays.fill(state, i * LANES, (i + 1) * LANES, h0[i]);
+        }
+
+        for (int block = 0; block < maxBlocks; block++) {
+            for (int l = 0; l < LANES; l++) {
+                boolean active = l < used && block < blockCount(inputs[lanes[l]].length);
+                mask[l] = active ? -1 : 0;
+                if (active) {
+                    loadBlock(inputs[lanes[l]], block, l);
+                }
+            }
+            compress();
+        }
+
+        for (int l = 0; l < used; l++) {
+            byte[] out = outputs[lanes[l]];
+            if (out == null) {
+                out = outputs[lanes[l]] = new byte[Sha256Digest.DIGEST_LENGTH];
+            }
+            for (int i = 0, p = 0; i < 8; i++) {
+                int v = state[i * LANES + l];
+                out[p++] = (byte) (v >>> 24);
+                out[p++] = (byte) (v >>> 16);
+                out[p++] = (byte) (v >>> 8);
+                out[p++] = (byte) v;
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 将消息的第 block 个（补位后的）块分解为16个字，写入指定通道
+     *
+     * @param message 消息
+     * @param block   块下标
+     * @param lane    通道
+     * @author LM.X
+     * @date 2026/10/16 14:00
+     */
+    private void loadBlock(byte[] message, int block, int lane) {
+        int offset = block * Sha256Digest.BLOCK_LENGTH;
+        byte[] source = message;
+        int remaining = message.length - offset;
+
+        // 不足一个完整块时，在 tail 中就地补位
+        if (remaining < Sha256Digest.BLOCK_LENGTH) {
+            Arrays.fill(tail, (byte) 0);
+            if (remaining > 0) {
+                System.arraycopy(message, offset, tail, 0, remaining);
+            }
+            if (remaining >= 0) {
+                tail[remaining] = (byte) 0b10000000;
+            }
+            if (remaining < Sha256Digest.BLOCK_LENGTH - 8) {
+                long bitLength = (long) message.length << 3;
+                for (int i = 0; i < 8; i++) {
+                    tail[56 + i] = (byte) (bitLength >>> (56 - (i << 3)));
+                }
+            }
+            source = tail;
+            offset = 0;
+        }
+
+        for (int t = 0; t < 16; t++, offset += 4) {
+            w[t * LANES + lane] = (source[offset] << 24)
+                    | ((source[offset + 1] & 0xff) << 16)
+                    | ((source[offset + 2] & 0xff) << 8)
+                    | (source[offset + 3] & 0xff);
+        }
+    }
+
+    /**
+     * 功能描述: 所有通道同步执行一次压缩函数
+     *
+     * @author LM.X
+     * @date 2026/10/16 14:00
+     */
+    private void compress() {
+        final int[] w = this.w;
+
+        for (int t = 16; t < 64; t++) {
+            int o = t * LANES;
+            for (int l = 0; l < LANES; l++) {
+                int x = w[o - 2 * LANES + l];
+                int y = w[o - 15 * LANES + l];
+                w[o + l] = (Integer.rotateRight(x, 17) ^ Integer.rotateRight(x, 19) ^ (x >>> 10))
+                        + w[o - 7 * LANES + l]
+                        + (Integer.rotateRight(y, 7) ^ Integer.rotateRight(y, 18) ^ (y >>> 3))
+                        + w[o - 16 * LANES + l];
+            }
+        }
+
+        System.arraycopy(state, 0, vars, 0, state.length);
+
+        /*
+           每8轮展开一次：第 t 轮的 a..h 恰好是第 t-1 轮依次后移一位的结果，
+           因此只需轮换传入的下标，而不必在数组之间搬运数据。
+         */
+        final int a = 0, b = LANES, c = 2 * LANES, d = 3 * LANES;
+        final int e = 4 * LANES, f = 5 * LANES, g = 6 * LANES, h = 7 * LANES;
+        for (int t = 0; t < 64; t += 8) {
+            round(t, a, b, c, d, e, f, g, h);
+            round(t + 1, h, a, b, c, d, e, f, g);
+            round(t + 2, g, h, a, b, c, d, e, f);
+            round(t + 3, f, g, h, a, b, c, d, e);
+            round(t + 4, e, f, g, h, a, b, c, d);
+            round(t + 5, d, e, f, g, h, a, b, c);
+            round(t + 6, c, d, e, f, g, h, a, b);
+            round(t + 7, b, c, d, e, f, g, h, a);
+        }
+
+        for (int i = 0; i < state.length; i++) {
+            state[i] += vars[i] & mask[i % LANES];
+        }
+    }
+
+    /**
+     * 功能描述: 所有通道同步执行一轮运算，参数为各工作变量在 vars 中的起始下标
+     * <pre>
+     *     T1 = h + Σ1(e) + Ch(e,f,g) + K[t] + W[t]
+     *     d  = d + T1
+     *     h  = T1 + Σ0(a) + Ma(a,b,c)
+     *     下一轮再把 h 当作 a、把 d 当作 e 使用。
+     * </pre>
+     */
+    private void round(int t, int a, int b, int c, int d, int e, int f, int g, int h) {
+        final int[] v = this.vars;
+        final int[] w = this.w;
+        final int k = Sha256.K[t];
+        final int o = t * LANES;
+        for (int l = 0; l < LANES; l++) {
+            int x = v[e + l];
+            int y = v[a + l];
+            int t1 = v[h + l] + (Integer.rotateRight(x, 6) ^ Integer.rotateRight(x, 11) ^ Integer.rotateRight(x, 25))
+                    + ((x & v[f + l]) | (~x & v[g + l])) + k + w[o + l];
+            int yb = v[b + l];
+            int yc = v[c + l];
+            v[d + l] += t1;
+            v[h + l] = t1 + (Integer.rotateRight(y, 2) ^ Integer.rotateRight(y, 13) ^ Integer.rotateRight(y, 22))
+                    + ((y & yb) | (y & yc) | (yb & yc));
+        }
+    }
+
+    /**
+     * 功能描述: 补位后的块数
+     *
+     * @param length 消息长度
+     * @return int
+     * @author LM.X
+     * @date 2026/10/16 14:00
+     */
+    private static int blockCount(int length) {
+        return (length + 1 + 8 + Sha256Digest.BLOCK_LENGTH - 1) / Sha256Digest.BLOCK_LENGTH;
+    }
+}
@@ -0,0 +1,293 @@
+package org.lmx.common.crypto;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 功能描述：可复用的流式SHA-256摘要对象
+ * <pre>
+ *     每个实例持有自己的中间散列值、字数组和64字节的块缓冲区，因此不同实例之间互不影响，
+ *  但单个实例不是线程安全的，多线程场景下应每个线程各持有一个（参考{@link Sha256#hash(byte[])}的ThreadLocal用法）。
+ *
+ *     消息按64字节的“块”直接从输入中读取并压缩，只有跨越两次{@code update}的残余字节才会暂存到块缓冲区，
+ *  补位在{@link #doFinal(byte[], int)}中就地完成，整个过程不产生补位副本，也没有任何临时对象分配。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 10:00
+ **/
+public final class Sha256Digest {
+    /**
+     * 摘要长度：32字节
+     */
+    public static final int DIGEST_LENGTH = 32;
+    /**
+     * 块长度：64字节 = 512 bit
+     */
+    public static final int BLOCK_LENGTH = 64;
+
+    /**
+     * 中间散列值
+     */
+    private final int[] state = new int[8];
+    /**
+     * 字数组
+     */
+    private final int[] w = new int[64];
+    /**
+     * 尚未凑满一个块的残余字节
+     */
+    private final byte[] buffer = new byte[BLOCK_LENGTH];
+    /**
+     * 块缓冲区中已有的字节数
+     */
+    private int bufferLength;
+    /**
+     * 已处理的消息总字节数
+     */
+    private long byteCount;
+
+    public Sha256Digest() {
+        reset();
+    }
+
+    /**
+     * 功能描述: 重置为初始状态，以便复用当前对象计算下一条消息
+     *
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    public void reset() {
+        Sha256.initState(state);
+        bufferLength = 0;
+        byteCount = 0;
+    }
+
+    /**
+     * 功能描述: 追加一个字节
+     *
+     * @param b 字节
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    public void update(byte b) {
+        buffer[bufferLength++] = b;
+        byteCount++;
+        if (bufferLength == BLOCK_LENGTH) {
+            compressBlock(buffer, 0);
+            bufferLength = 0;
+        }
+    }
+
+    /**
+     * 功能描述: 追加整个字节数组
+     *
+     * @param input 输入
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    public void update(byte[] input) {
+        update(input, 0, input.length);
+    }
+
+    /**
+     * 功能描述: 追加字节数组的指定区间
+     *
+     * @param input  输入
+     * @param offset 起始位置
+     * @param length 长度
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    public void update(byte[] input, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > input.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+        }
+        byteCount += length;
+
+        // 1、先补齐上一次残留的不完整块
+        if (bufferLength > 0) {
+            int n = Math.min(BLOCK_LENGTH - bufferLength, length);
+            System.arraycopy(input, offset, buffer, bufferLength, n);
+            bufferLength += n;
+            offset += n;
+            length -= n;
+            if (bufferLength < BLOCK_LENGTH) {
+                return;
+            }
+            compressBlock(buffer, 0);
+            bufferLength = 0;
+        }
+
+        // 2、完整的块直接从输入中读取
+        while (length >= BLOCK_LENGTH) {
+            compressBlock(input, offset);
+            offset += BLOCK_LENGTH;
+            length -= BLOCK_LENGTH;
+        }
+
+        // 3、剩余不足一个块的字节暂存
+        if (length > 0) {
+            System.arraycopy(input, offset, buffer, 0, length);
+            bufferLength = length;
+        }
+    }
+
+    /**
+     * 功能描述: 追加ByteBuffer中 position 到 limit 之间的全部字节，调用后 position 移动到 limit
+     * <pre>
+     *     堆内缓冲区直接访问其底层数组；直接内存（包括MappedByteBuffer）按绝对下标以int读取，
+     *  均不会把数据复制到新的堆数组中。
+     * </pre>
+     *
+     * @param input 输入
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    public void update(ByteBuffer input) {
+        int position = input.position();
+        int limit = input.limit();
+        if (input.hasArray()) {
+            update(input.array(), input.arrayOffset() + position, limit - position);
+            input.position(limit);
+            return;
+        }
+
+        int length = limit - position;
+        byteCount += length;
+
+        if (bufferLength > 0) {
+            int n = Math.min(BLOCK_LENGTH - bufferLength, length);
+            for (int i = 0; i < n; i++) {
+                buffer[bufferLength++] = input.get(position++);
+            }
+            length -= n;
+            if (bufferLength < BLOCK_LENGTH) {
+                input.position(limit);
+                return;
+            }
+            compressBlock(buffer, 0);
+            bufferLength = 0;
+        }
+
+        boolean littleEndian = input.order() == ByteOrder.LITTLE_ENDIAN;
+        while (length >= BLOCK_LENGTH) {
+            for (int t = 0; t < 16; t++) {
+                int word = input.getInt(position + (t << 2));
+                w[t] = littleEndian ? Integer.reverseBytes(word) : word;
+            }
+            Sha256.compress(state, w);
+            position += BLOCK_LENGTH;
+            length -= BLOCK_LENGTH;
+        }
+
+        for (int i = 0; i < length; i++) {
+            buffer[i] = input.get(position + i);
+        }
+        bufferLength = length;
+        input.position(limit);
+    }
+
+    /**
+     * 功能描述: 完成补位并输出32字节的摘要，随后自动重置
+     * <pre>
+     *     补位规则与{@link Sha256#pad(byte[])}一致：补1位“1”、若干位“0”以及64位的消息长度，
+     *  只是直接写在块缓冲区中完成，而不是构造整条补位后的消息。
+     * </pre>
+     *
+     * @param out    结果数组
+     * @param offset 写入位置
+     * @return 写入的字节数，固定为32
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    public int doFinal(byte[] out, int offset) {
+        finish();
+        for (int i = 0; i < 8; i++) {
+            int v = state[i];
+            out[offset++] = (byte) (v >>> 24);
+            out[offset++] = (byte) (v >>> 16);
+            out[offset++] = (byte) (v >>> 8);
+            out[offset++] = (byte) v;
+        }
+        reset();
+        return DIGEST_LENGTH;
+    }
+
+    /**
+     * 功能描述: 完成补位并返回新的32字节摘要数组，随后自动重置
+     *
+     * @return 摘要
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    public byte[] doFinal() {
+        byte[] out = new byte[DIGEST_LENGTH];
+        doFinal(out, 0);
+        return out;
+    }
+
+    /**
+     * 功能描述: 完成补位，并把结果的8个字写入目标数组，随后自动重置
+     *
+     * @param out 至少8个元素的数组
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    void doFinal(int[] out) {
+        finish();
+        System.arraycopy(state, 0, out, 0, 8);
+        reset();
+    }
+
+    /**
+     * 功能描述: 补位并压缩最后的一个或两个块
+     *
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    private void finish() {
+        long bitLength = byteCount << 3;
+
+        // 1、补位：在消息末尾补上一位"1"
+        buffer[bufferLength++] = (byte) 0b10000000;
+
+        // 2、剩余空间放不下8字节长度时，先补0压缩一个块
+        if (bufferLength > BLOCK_LENGTH - 8) {
+            while (bufferLength < BLOCK_LENGTH) {
+                buffer[bufferLength++] = 0;
+            }
+            compressBlock(buffer, 0);
+            bufferLength = 0;
+        }
+        while (bufferLength < BLOCK_LENGTH - 8) {
+            buffer[bufferLength++] = 0;
+        }
+
+        // 3、补入消息长度l的64位二进制内容
+        for (int i = 7; i >= 0; i--) {
+            buffer[bufferLength++] = (byte) (bitLength >>> (i << 3));
+        }
+        compressBlock(buffer, 0);
+        bufferLength = 0;
+    }
+
+    /**
+     * 功能描述: 将一个块按 big-endian 分解为16个字并压缩
+     *
+     * @param block  块所在数组
+     * @param offset 块起始位置
+     * @author LM.X
+     * @date 2026/10/16 10:00
+     */
+    private void compressBlock(byte[] block, int offset) {
+        for (int t = 0; t < 16; t++, offset += 4) {
+            w[t] = (block[offset] << 24)
+                    | ((block[offset + 1] & 0xff) << 16)
+                    | ((block[offset + 2] & 0xff) << 8)
+                    | (block[offset + 3] & 0xff);
+        }
+        Sha256.compress(state, w);
+    }
+}
@@ -0,0 +1,235 @@
+package org.lmx.common.crypto;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 功能描述：验签结果缓存，只记录验证通过的 (消息摘要, 公钥, 签名)
+ * <pre>
+ *     同一笔交易进入交易池、转发、打包进区块时会被反复验签，命中缓存即可跳过一次 RSA / ECDSA 运算。
+ *
+ *     键为加盐 SHA-256(salt || 消息摘要 || 公钥 || 签名，各段带长度前缀) 的前128位，盐在创建时随机生成，
+ *  外部无法构造碰撞。表是定长的 long 数组，每项两个 long，4项一组；组号取指纹的低位，组内满了随机淘汰一项，
+ *  因此内存固定为 容量 * 16 字节，不产生任何对象。
+ *
+ *     并发：组按编号分给{@value #STRIPES}把 StampedLock，读走乐观读（无锁，写入冲突时退化为读锁），写持写锁。
+ *  验签代码默认使用{@link #getDefault()}，容量由 -Dlmx.sigcache.capacity 指定，0 表示关闭。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 00:40
+ **/
+public final class SignatureCache {
+    /**
+     * 默认容量：2^18 项，占用 4 MiB
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 18;
+    public static final int MAX_CAPACITY = 1 << 28;
+    private static final int WAYS = 4;
+    private static final int STRIPES = 64;
+    private static final int SALT_LENGTH = 32;
+
+    private static final SignatureCache DEFAULT = new SignatureCache(Integer.getInteger("lmx.sigcache.capacity", DEFAULT_CAPACITY));
+    private static final ThreadLocal<Sha256Digest> DIGEST = ThreadLocal.withInitial(Sha256Digest::new);
+    private static final ThreadLocal<byte[]> FINGERPRINT = ThreadLocal.withInitial(() -> new byte[Sha256Digest.DIGEST_LENGTH]);
+
+    private final byte[] salt = new byte[SALT_LENGTH];
+    /**
+     * 第 i 项的指纹为 table[2i]、table[2i+1]，全0表示空
+     */
+    private final long[] table;
+    private final int bucketMask;
+    private final StampedLock[] locks = new StampedLock[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity 最多缓存的项数，向上取整为2的幂；0 表示关闭缓存
+     */
+    public SignatureCache(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("容量超出范围 [0, " + MAX_CAPACITY + "]：" + capacity);
+        }
+        if (capacity == 0) {
+            table = null;
+            bucketMask = 0;
+        } else {
+            int entries = Integer.highestOneBit(Math.max(capacity, WAYS));
+            if (entries < capacity) {
+                entries <<= 1;
+            }
+            int buckets = entries / WAYS;
+            table = new long[entries * 2];
+            bucketMask = buckets - 1;
+        }
+        new SecureRandom().nextBytes(salt);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * 功能描述: 验签代码共用的缓存
+     *
+     * @return SignatureCache
+     * @author LM.X
+     * @date 2026/10/17 00:40
+     */
+    public static SignatureCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 功能描述: 该签名是否已验证通过过
+     *
+     * @param digest    消息或其摘要
+     * @param publicKey 公钥编码
+     * @param signature 签名
+     * @return 是否命中
+     * @author LM.X
+     * @date 2026/10/17 00:40
+     */
+    public boolean contains(byte[] digest, byte[] publicKey, byte[] signature) {
+        if (table == null) {
+            return false;
+        }
+        byte[] fingerprint = fingerprint(digest, publicKey, signature);
+        long hi = readLong(fingerprint, 0);
+        long lo = readLong(fingerprint, 8) | 1;
+        int bucket = (int) hi & bucketMask;
+        StampedLock lock = locks[bucket & (STRIPES - 1)];
+        long stamp = lock.tryOptimisticRead();
+        boolean found = find(bucket, hi, lo) >= 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = find(bucket, hi, lo) >= 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (found) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return found;
+    }
+
+    /**
+     * 功能描述: 记录一个验证通过的签名
+     *
+     * @param digest    消息或其摘要
+     * @param publicKey 公钥编码
+     * @param signature 签名
+     * @author LM.X
+     * @date 2026/10/17 00:40
+     */
+    public void add(byte[] digest, byte[] publicKey, byte[] signature) {
+        if (table == null) {
+            return;
+        }
+        byte[] fingerprint = fingerprint(digest, publicKey, signature);
+        long hi = readLong(fingerprint, 0);
+        // 最低位置1，保证指纹不为全0
+        long lo = readLong(fingerprint, 8) | 1;
+        int bucket = (int) hi & bucketMask;
+        StampedLock lock = locks[bucket & (STRIPES - 1)];
+        long stamp = lock.writeLock();
+        try {
+            if (find(bucket, hi, lo) >= 0) {
+                return;
+            }
+            int base = bucket * WAYS * 2;
+            // 优先空位，组满则按指纹的高位随机选一项淘汰
+            int slot = (int) (lo >>> 62);
+            for (int i = 0; i < WAYS; i++) {
+                if (table[base + 2 * i + 1] == 0) {
+                    slot = i;
+                    break;
+                }
+            }
+            table[base + 2 * slot] = hi;
+            table[base + 2 * slot + 1] = lo;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 功能描述: 清空缓存
+     *
+     * @author LM.X
+     * @date 2026/10/17 00:40
+     */
+    public void clear() {
+        if (table == null) {
+            return;
+        }
+        long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = locks[i].writeLock();
+        }
+        try {
+            Arrays.fill(table, 0);
+        } finally {
+            for (int i = 0; i < STRIPES; i++) {
+                locks[i].unlockWrite(stamps[i]);
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return table == null ? 0 : table.length / 2;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private int find(int bucket, long hi, long lo) {
+        int base = bucket * WAYS * 2;
+        for (int i = 0; i < WAYS; i++) {
+            if (table[base + 2 * i + 1] == lo && table[base + 2 * i] == hi) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private byte[] fingerprint(byte[] digest, byte[] publicKey, byte[] signature) {
+        Sha256Digest sha256 = DIGEST.get();
+        sha256.reset();
+        sha256.update(salt);
+        updateWithLength(sha256, digest);
+        updateWithLength(sha256, publicKey);
+        updateWithLength(sha256, signature);
+        byte[] out = FINGERPRINT.get();
+        sha256.doFinal(out, 0);
+        return out;
+    }
+
+    private static void updateWithLength(Sha256Digest sha256, byte[] bytes) {
+        int length = bytes.length;
+        sha256.update((byte) (length >>> 24));
+        sha256.update((byte) (length >>> 16));
+        sha256.update((byte) (length >>> 8));
+        sha256.update((byte) length);
+        sha256.update(bytes);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xffL);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,315 @@
+package org.lmx.common.merkle;
+
+import cn.hutool.core.util.HexUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.lmx.common.crypto.Sha256Digest;
+import org.lmx.common.monitor.Monitor;
+import org.lmx.common.monitor.Operation;
+import org.lmx.common.monitor.Sample;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 功能描述：紧凑的默克尔树实现
+ * <pre>
+ *     与{@link MerkleTree}为每个节点创建一个{@link TreeNode}（左右引用 + 两个十六进制字符串）不同，
+ *  这里每一层只用一个连续的 byte[] 保存，每个节点固定占32字节，第 i 个节点位于 [i * 32, i * 32 + 32)。
+ *
+ *     构建时每层只分配一次数组，父节点按{@link MerkleTree#parentHash}的规则（sha256d，奇数时提升最后一个节点）
+ *  直接在数组之间计算，没有任何中间对象与日志输出。100万笔交易时内存约为 2 * 100万 * 32 字节 ≈ 64MB，
+ *  而 TreeNode 版本每个节点仅两个64字符的字符串就已超过300字节。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 18:00
+ **/
+@Slf4j
+public class CompactMerkleTree {
+    /**
+     * 节点哈希长度
+     */
+    public static final int HASH_LENGTH = Sha256Digest.DIGEST_LENGTH;
+
+    /**
+     * 各层节点：levels[0] 为叶子层，最后一层只有默克尔根
+     */
+    private final byte[][] levels;
+    /**
+     * 叶子节点个数
+     */
+    private final int leafCount;
+
+    /**
+     * 功能描述: 以连续存放的叶子哈希构建默克尔树
+     *
+     * @param leaves 叶子哈希，长度必须是32的整数倍且不为0；数组直接作为叶子层使用，调用方不应再修改
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public CompactMerkleTree(byte[] leaves) {
+        this(leaves, null, Integer.MAX_VALUE);
+    }
+
+    private CompactMerkleTree(byte[] leaves, ForkJoinPool pool, int threshold) {
+        if (leaves.length == 0 || leaves.length % HASH_LENGTH != 0) {
+            throw new IllegalArgumentException("叶子哈希长度必须是" + HASH_LENGTH + "的整数倍且不为0：" + leaves.length);
+        }
+        this.leafCount = leaves.length / HASH_LENGTH;
+        Sample sample = Monitor.start(Operation.MERKLE_BUILD);
+        this.levels = build(leaves, pool, threshold);
+        Monitor.stop(sample, leafCount);
+    }
+
+    /**
+     * 功能描述: 并行构建，单层节点数低于{@link MerkleTree#DEFAULT_PARALLEL_THRESHOLD}时退化为顺序计算
+     *
+     * @param leaves 连续存放的叶子哈希
+     * @param pool   线程池
+     * @return 与顺序构建得到相同默克尔根的树
+     * @author LM.X
+     * @date 2026/10/16 19:00
+     */
+    public static CompactMerkleTree parallel(byte[] leaves, ForkJoinPool pool) {
+        return parallel(leaves, pool, MerkleTree.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 功能描述: 并行构建：每一层按父节点下标区间拆分到线程池中，各任务写入同一层数组中互不重叠的区域
+     *
+     * @param leaves    连续存放的叶子哈希
+     * @param pool      线程池
+     * @param threshold 并行阈值，同时也是单个任务至少处理的父节点个数
+     * @return 与顺序构建得到相同默克尔根的树
+     * @author LM.X
+     * @date 2026/10/16 19:00
+     */
+    public static CompactMerkleTree parallel(byte[] leaves, ForkJoinPool pool, int threshold) {
+        return new CompactMerkleTree(leaves, pool, threshold);
+    }
+
+    /**
+     * 功能描述: 以叶子哈希数组构建默克尔树
+     *
+     * @param leafHashes 每个元素为32字节的叶子哈希
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public CompactMerkleTree(byte[][] leafHashes) {
+        this(flatten(leafHashes));
+    }
+
+    /**
+     * 功能描述: 以交易内容构建默克尔树，叶子哈希与{@link TreeNode}一致，得到的根与{@link MerkleTree}相同
+     *
+     * @param transactions 交易列表
+     * @return CompactMerkleTree
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public static CompactMerkleTree fromTransactions(List<String> transactions) {
+        byte[] leaves = new byte[transactions.size() * HASH_LENGTH];
+        int offset = 0;
+        for (String transaction : transactions) {
+            System.arraycopy(MerkleTree.leafHash(transaction), 0, leaves, offset, HASH_LENGTH);
+            offset += HASH_LENGTH;
+        }
+        return new CompactMerkleTree(leaves);
+    }
+
+    /**
+     * 功能描述: 只计算默克尔根，不保留中间层
+     * <pre>
+     *     父节点下标 i 总是不大于子节点下标 2i，因此可以在同一个数组上逐层原地覆盖，全程只复制一次叶子层。
+     * </pre>
+     *
+     * @param leaves 连续存放的叶子哈希
+     * @return 32字节默克尔根
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public static byte[] computeRoot(byte[] leaves) {
+        if (leaves.length == 0 || leaves.length % HASH_LENGTH != 0) {
+            throw new IllegalArgumentException("叶子哈希长度必须是" + HASH_LENGTH + "的整数倍且不为0：" + leaves.length);
+        }
+        byte[] nodes = leaves.clone();
+        int count = nodes.length / HASH_LENGTH;
+        do {
+            count = reduce(nodes, count, nodes);
+        } while (count > 1);
+
+        byte[] root = new byte[HASH_LENGTH];
+        System.arraycopy(nodes, 0, root, 0, HASH_LENGTH);
+        return root;
+    }
+
+    /**
+     * 功能描述: 默克尔根
+     *
+     * @return 32字节默克尔根的副本
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public byte[] getRoot() {
+        return levels[levels.length - 1].clone();
+    }
+
+    /**
+     * 功能描述: 默克尔根的十六进制表示，与{@link MerkleTree}中节点哈希的格式一致
+     *
+     * @return String
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public String getRootHex() {
+        return HexUtil.encodeHexStr(levels[levels.length - 1]);
+    }
+
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 功能描述: 树的层数（包含叶子层与根）
+     *
+     * @return int
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public int getHeight() {
+        return levels.length;
+    }
+
+    /**
+     * 功能描述: 读取指定层、指定位置的节点哈希
+     *
+     * @param level 层，0 为叶子层
+     * @param index 该层中的下标
+     * @return 32字节节点哈希的副本
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public byte[] getNode(int level, int index) {
+        byte[] node = new byte[HASH_LENGTH];
+        System.arraycopy(levels[level], index * HASH_LENGTH, node, 0, HASH_LENGTH);
+        return node;
+    }
+
+    /**
+     * 功能描述: 生成指定叶子的包含证明：直接按下标读取每一层的兄弟节点
+     *
+     * @param leafIndex 叶子下标
+     * @return 包含证明
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public MerkleProof getProof(int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= leafCount) {
+            throw new IndexOutOfBoundsException("叶子下标越界：" + leafIndex + "，叶子总数：" + leafCount);
+        }
+        byte[] path = new byte[(levels.length - 1) * HASH_LENGTH];
+        int size = 0;
+        int index = leafIndex;
+        for (int level = 0; level < levels.length - 1; level++) {
+            int sibling = index ^ 1;
+            if (sibling * HASH_LENGTH < levels[level].length) {
+                System.arraycopy(levels[level], sibling * HASH_LENGTH, path, size * HASH_LENGTH, HASH_LENGTH);
+                size++;
+            }
+            index >>>= 1;
+        }
+        return new MerkleProof(leafIndex, leafCount, Arrays.copyOf(path, size * HASH_LENGTH));
+    }
+
+    /**
+     * 功能描述: 生成多个叶子的合并证明，共享的兄弟节点只出现一次
+     *
+     * @param leafIndices 叶子下标
+     * @return 多叶子证明
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public MerkleMultiProof getMultiProof(int... leafIndices) {
+        return MerkleMultiProof.build(leafCount, leafIndices, this::getNode);
+    }
+
+    /**
+     * 功能描述: 逐层构建，每层分配一个数组
+     *
+     * @param leaves 叶子层
+     * @return 所有层
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    private static byte[][] build(byte[] leaves, ForkJoinPool pool, int threshold) {
+        List<byte[]> result = new ArrayList<>();
+        result.add(leaves);
+
+        byte[] current = leaves;
+        int count = leaves.length / HASH_LENGTH;
+        while (count > 1 || result.size() == 1) {
+            final byte[] nodes = current;
+            final int size = count;
+            final byte[] next = new byte[((size + 1) >>> 1) * HASH_LENGTH];
+            RangeTask.run(pool, next.length / HASH_LENGTH, threshold, (from, to) -> reduce(nodes, size, next, from, to));
+            result.add(next);
+            current = next;
+            count = next.length / HASH_LENGTH;
+        }
+        log.debug("默克尔树构建完成，叶子节点：{}，层数：{}", leaves.length / HASH_LENGTH, result.size());
+        return result.toArray(new byte[0][]);
+    }
+
+    /**
+     * 功能描述: 合并一层节点，得到上一层
+     *
+     * @param nodes  本层节点
+     * @param count  本层节点个数
+     * @param parent 上一层节点写入数组，可以与 nodes 相同
+     * @return 上一层节点个数
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    static int reduce(byte[] nodes, int count, byte[] parent) {
+        int parents = (count + 1) >>> 1;
+        reduce(nodes, count, parent, 0, parents);
+        return parents;
+    }
+
+    /**
+     * 功能描述: 计算上一层中下标为 [from, to) 的父节点
+     *
+     * @param nodes  本层节点
+     * @param count  本层节点个数
+     * @param parent 上一层节点写入数组，可以与 nodes 相同（仅限从0开始顺序计算时）
+     * @param from   起始父节点下标（包含）
+     * @param to     结束父节点下标（不含）
+     * @author LM.X
+     * @date 2026/10/16 19:00
+     */
+    static void reduce(byte[] nodes, int count, byte[] parent, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int left = (i << 1) * HASH_LENGTH;
+            if (2 * i + 1 < count) {
+                MerkleTree.parentHash(nodes, left, nodes, left + HASH_LENGTH, parent, i * HASH_LENGTH);
+            } else {
+                // 当奇数个节点时，单独处理
+                MerkleTree.parentHash(nodes, left, null, 0, parent, i * HASH_LENGTH);
+            }
+        }
+    }
+
+    private static byte[] flatten(byte[][] leafHashes) {
+        byte[] leaves = new byte[leafHashes.length * HASH_LENGTH];
+        for (int i = 0; i < leafHashes.length; i++) {
+            if (leafHashes[i].length != HASH_LENGTH) {
+                throw new IllegalArgumentException("第" + i + "个叶子哈希长度不是" + HASH_LENGTH + "字节");
+            }
+            System.arraycopy(leafHashes[i], 0, leaves, i * HASH_LENGTH, HASH_LENGTH);
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,236 @@
+package org.lmx.common.merkle;
+
+import cn.hutool.core.util.HexUtil;
+
+import java.util.Arrays;
+
+/**
+ * 功能描述：可增量修改的默克尔树
+ * <pre>
+ *     区块模板每加入一笔内存池交易、或替换一次 coinbase，都需要新的默克尔根。
+ *  整棵树重建是 O(n) 次哈希，而实际上只有被修改叶子到根路径上的节点会变化：
+ *
+ *     append(leaf)：新叶子总是最右侧的叶子，只需重算其所在的“右边界”路径；
+ *     update(i, leaf)：只需重算叶子 i 到根的路径；
+ *
+ *     两者都是 O(log n) 次哈希。合并规则与{@link MerkleTree#parentHash}相同（奇数时提升最后一个节点），
+ *  任何时刻的根都与用相同叶子构建的{@link MerkleTree}一致。
+ *
+ *     每层节点连续存放在一个按需倍增的 byte[] 中，每个节点32字节。非线程安全。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 21:00
+ **/
+public class IncrementalMerkleTree {
+    private static final int HASH_LENGTH = CompactMerkleTree.HASH_LENGTH;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 各层节点：levels[0] 为叶子层
+     */
+    private byte[][] levels;
+    /**
+     * 叶子个数
+     */
+    private int leafCount;
+    /**
+     * 当前根所在的层
+     */
+    private int height;
+
+    public IncrementalMerkleTree() {
+        this.levels = new byte[][]{new byte[DEFAULT_CAPACITY * HASH_LENGTH]};
+    }
+
+    /**
+     * 功能描述: 以已有的叶子哈希批量初始化，逐层一次性计算，共 O(n) 次哈希
+     *
+     * @param leaves 连续存放的叶子哈希，长度必须是32的整数倍
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public IncrementalMerkleTree(byte[] leaves) {
+        if (leaves.length % HASH_LENGTH != 0) {
+            throw new IllegalArgumentException("叶子哈希长度必须是" + HASH_LENGTH + "的整数倍：" + leaves.length);
+        }
+        this.leafCount = leaves.length / HASH_LENGTH;
+        if (leafCount == 0) {
+            this.levels = new byte[][]{new byte[DEFAULT_CAPACITY * HASH_LENGTH]};
+            return;
+        }
+
+        this.height = MerkleTree.levelsAboveLeaves(leafCount);
+        this.levels = new byte[height + 1][];
+        levels[0] = leaves.clone();
+        int count = leafCount;
+        for (int level = 1; level <= height; level++) {
+            levels[level] = new byte[((count + 1) >>> 1) * HASH_LENGTH];
+            count = CompactMerkleTree.reduce(levels[level - 1], count, levels[level]);
+        }
+    }
+
+    /**
+     * 功能描述: 在最右侧追加一个叶子，只重算右边界路径
+     *
+     * @param leafHash 32字节叶子哈希
+     * @return 新叶子的下标
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public int append(byte[] leafHash) {
+        checkHash(leafHash);
+        int index = leafCount++;
+        height = MerkleTree.levelsAboveLeaves(leafCount);
+        if (levels.length <= height) {
+            levels = Arrays.copyOf(levels, height + 1);
+        }
+
+        ensureCapacity(0, leafCount);
+        System.arraycopy(leafHash, 0, levels[0], index * HASH_LENGTH, HASH_LENGTH);
+        recomputePath(index);
+        return index;
+    }
+
+    /**
+     * 功能描述: 追加一笔交易，叶子哈希与{@link TreeNode}一致
+     *
+     * @param transaction 交易内容
+     * @return 新叶子的下标
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public int append(String transaction) {
+        return append(MerkleTree.leafHash(transaction));
+    }
+
+    /**
+     * 功能描述: 替换指定叶子，只重算该叶子到根的路径
+     *
+     * @param index    叶子下标
+     * @param leafHash 新的32字节叶子哈希
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public void update(int index, byte[] leafHash) {
+        checkHash(leafHash);
+        if (index < 0 || index >= leafCount) {
+            throw new IndexOutOfBoundsException("叶子下标越界：" + index + "，叶子总数：" + leafCount);
+        }
+        System.arraycopy(leafHash, 0, levels[0], index * HASH_LENGTH, HASH_LENGTH);
+        recomputePath(index);
+    }
+
+    /**
+     * 功能描述: 替换指定叶子的交易内容
+     *
+     * @param index       叶子下标
+     * @param transaction 新的交易内容
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public void update(int index, String transaction) {
+        update(index, MerkleTree.leafHash(transaction));
+    }
+
+    /**
+     * 功能描述: 当前默克尔根，直接读取缓存的根节点，不做任何哈希计算
+     *
+     * @return 32字节默克尔根的副本；没有叶子时为 null
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public byte[] root() {
+        return leafCount == 0 ? null : Arrays.copyOf(levels[height], HASH_LENGTH);
+    }
+
+    /**
+     * 功能描述: 当前默克尔根的十六进制表示
+     *
+     * @return 没有叶子时为 null
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public String rootHex() {
+        return leafCount == 0 ? null : HexUtil.encodeHexStr(root());
+    }
+
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 功能描述: 生成指定叶子在当前树中的包含证明
+     *
+     * @param leafIndex 叶子下标
+     * @return 包含证明
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    public MerkleProof getProof(int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= leafCount) {
+            throw new IndexOutOfBoundsException("叶子下标越界：" + leafIndex + "，叶子总数：" + leafCount);
+        }
+        byte[] path = new byte[height * HASH_LENGTH];
+        int size = 0;
+        int index = leafIndex;
+        int count = leafCount;
+        for (int level = 0; level < height; level++) {
+            int sibling = index ^ 1;
+            if (sibling < count) {
+                System.arraycopy(levels[level], sibling * HASH_LENGTH, path, size * HASH_LENGTH, HASH_LENGTH);
+                size++;
+            }
+            index >>>= 1;
+            count = (count + 1) >>> 1;
+        }
+        return new MerkleProof(leafIndex, leafCount, Arrays.copyOf(path, size * HASH_LENGTH));
+    }
+
+    /**
+     * 功能描述: 自底向上重算叶子 index 所在路径上的父节点
+     *
+     * @param index 叶子下标
+     * @author LM.X
+     * @date 2026/10/16 21:00
+     */
+    private void recomputePath(int index) {
+        int count = leafCount;
+        for (int level = 0; level < height; level++) {
+            int parent = index >>> 1;
+            int parentCount = (count + 1) >>> 1;
+            ensureCapacity(level + 1, parentCount);
+
+            int left = parent << 1;
+            byte[] nodes = levels[level];
+            if (left + 1 < count) {
+                MerkleTree.parentHash(nodes, left * HASH_LENGTH, nodes, (left + 1) * HASH_LENGTH,
+                        levels[level + 1], parent * HASH_LENGTH);
+            } else {
+                MerkleTree.parentHash(nodes, left * HASH_LENGTH, null, 0, levels[level + 1], parent * HASH_LENGTH);
+            }
+            index = parent;
+            count = parentCount;
+        }
+    }
+
+    /**
+     * 功能描述: 保证指定层至少能容纳 count 个节点，容量不足时倍增
+     */
+    private void ensureCapacity(int level, int count) {
+        byte[] nodes = levels[level];
+        int required = count * HASH_LENGTH;
+        if (nodes == null) {
+            levels[level] = new byte[Math.max(required, DEFAULT_CAPACITY * HASH_LENGTH)];
+        } else if (nodes.length < required) {
+            levels[level] = Arrays.copyOf(nodes, Math.max(required, nodes.length << 1));
+        }
+    }
+
+    private static void checkHash(byte[] leafHash) {
+        if (leafHash.length != HASH_LENGTH) {
+            throw new IllegalArgumentException("叶子哈希长度必须为" + HASH_LENGTH + "字节：" + leafHash.length);
+        }
+    }
+}
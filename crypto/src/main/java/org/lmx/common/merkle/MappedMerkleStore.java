@@ -0,0 +1,420 @@
+package org.lmx.common.merkle;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * 功能描述：基于内存映射文件的持久化默克尔树
+ * <pre>
+ *     用于超过堆内存、且需要跨进程重启保留的默克尔树（例如全部区块哈希组成的归档树）。
+ *
+ *     文件布局：
+ *     [0, 4096)        文件头：两个64字节的提交记录槽位，交替写入
+ *     [4096, ...)      各层节点：第 k 层预留 capacity >> k 个32字节的位置，逐层连续存放
+ *
+ *     容量（叶子数上限，2的幂）在创建时确定，文件以稀疏文件的方式一次性扩展到最终大小，未使用的部分不占磁盘。
+ *  节点区按64MB为单位在第一次访问时才做内存映射，打开文件只读取文件头，与树的大小无关；
+ *  生成一个包含证明只读取 log n 个节点，即最多 log n 个页面。
+ *
+ *     追加叶子：先写叶子和其路径上的节点并刷盘，再写入带序号与CRC校验的提交记录并刷盘。
+ *  提交记录写到与当前有效记录不同的槽位，崩溃时至多丢失尚未提交的追加；重新打开时选择校验通过且序号最大的记录，
+ *  并重算最后一个已提交叶子的路径，恢复被未提交追加覆盖的右边界节点。
+ *  合并规则与{@link MerkleTree#parentHash}相同。非线程安全。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 22:30
+ **/
+@Slf4j
+public class MappedMerkleStore implements Closeable {
+    private static final int HASH_LENGTH = CompactMerkleTree.HASH_LENGTH;
+    private static final int MAGIC = 0x4d4b4c54;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 4096;
+    private static final int SLOT_LENGTH = 64;
+    /**
+     * 映射段大小：64MB，节点32字节对齐，不会跨段
+     */
+    private static final int SEGMENT_SHIFT = 26;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel;
+    /**
+     * 容量的以2为底的对数
+     */
+    private final int capacityLog2;
+    /**
+     * 第 k 层在文件中的起始位置
+     */
+    private final long[] levelOffsets;
+    /**
+     * 按需映射的段
+     */
+    private final MappedByteBuffer[] segments;
+    /**
+     * 自上次提交以来被修改过的段
+     */
+    private final boolean[] dirty;
+
+    /**
+     * 已提交的叶子个数
+     */
+    private long leafCount;
+    /**
+     * 已提交的默克尔根
+     */
+    private byte[] root;
+    /**
+     * 最近一次提交记录的序号
+     */
+    private long sequence;
+
+    private final byte[] pair = new byte[2 * HASH_LENGTH];
+    private final byte[] node = new byte[HASH_LENGTH];
+
+    private MappedMerkleStore(FileChannel channel, int capacityLog2) {
+        this.channel = channel;
+        this.capacityLog2 = capacityLog2;
+        this.levelOffsets = new long[capacityLog2 + 1];
+        long offset = HEADER_LENGTH;
+        for (int level = 0; level <= capacityLog2; level++) {
+            levelOffsets[level] = offset;
+            offset += (1L << (capacityLog2 - level)) * HASH_LENGTH;
+        }
+        int segmentCount = (int) ((offset + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new MappedByteBuffer[segmentCount];
+        this.dirty = new boolean[segmentCount];
+    }
+
+    /**
+     * 功能描述: 创建新的默克尔树文件
+     *
+     * @param file     文件路径，必须不存在
+     * @param capacity 叶子数上限，向上取整为2的幂，至少为2
+     * @return MappedMerkleStore
+     * @throws IOException 创建失败，此时通道已关闭、文件已删除
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    public static MappedMerkleStore create(Path file, long capacity) throws IOException {
+        int capacityLog2 = Math.max(1, 64 - Long.numberOfLeadingZeros(Math.max(1, capacity - 1)));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedMerkleStore store = new MappedMerkleStore(channel, capacityLog2);
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(store.levelOffsets[capacityLog2] + HASH_LENGTH);
+            }
+            store.writeHeader();
+            log.info("创建默克尔树文件：{}，容量：{}", file, 1L << capacityLog2);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            // 关闭通道并删除未创建完成的文件，以便重试
+            channel.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * 功能描述: 打开已有的默克尔树文件，只读取文件头
+     *
+     * @param file 文件路径
+     * @return MappedMerkleStore
+     * @throws IOException 文件不存在或文件头损坏
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    public static MappedMerkleStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer[] slots = {ByteBuffer.allocate(SLOT_LENGTH), ByteBuffer.allocate(SLOT_LENGTH)};
+            ByteBuffer best = null;
+            for (int i = 0; i < slots.length; i++) {
+                channel.read(slots[i], (long) i * SLOT_LENGTH);
+                slots[i].flip();
+                if (validSlot(slots[i]) && (best == null || slots[i].getLong(8) > best.getLong(8))) {
+                    best = slots[i];
+                }
+            }
+            if (best == null) {
+                throw new IOException("默克尔树文件头损坏：" + file);
+            }
+
+            MappedMerkleStore store = new MappedMerkleStore(channel, best.getInt(16));
+            store.sequence = best.getLong(8);
+            store.leafCount = best.getLong(20);
+            if (store.leafCount > 0) {
+                store.root = new byte[HASH_LENGTH];
+                best.position(28);
+                best.get(store.root);
+                // 恢复可能被未提交的追加覆盖的右边界路径
+                store.recomputeRange(store.leafCount - 1, store.leafCount);
+                if (!Arrays.equals(store.root, store.readRoot(store.leafCount))) {
+                    throw new IOException("默克尔树文件内容与提交记录不一致：" + file);
+                }
+            }
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 功能描述: 追加一个叶子并提交
+     *
+     * @param leafHash 32字节叶子哈希
+     * @return 新叶子的下标
+     * @throws IOException 写入失败
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    public long append(byte[] leafHash) throws IOException {
+        return appendBatch(new byte[][]{leafHash});
+    }
+
+    /**
+     * 功能描述: 追加一批叶子，只提交一次
+     *
+     * @param leafHashes 32字节叶子哈希
+     * @return 第一个新叶子的下标
+     * @throws IOException 写入失败
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    public long appendBatch(byte[][] leafHashes) throws IOException {
+        long first = leafCount;
+        long count = leafCount + leafHashes.length;
+        if (count > getCapacity()) {
+            throw new IllegalStateException("超出默克尔树容量：" + getCapacity());
+        }
+        for (int i = 0; i < leafHashes.length; i++) {
+            if (leafHashes[i].length != HASH_LENGTH) {
+                throw new IllegalArgumentException("叶子哈希长度必须为" + HASH_LENGTH + "字节：" + leafHashes[i].length);
+            }
+            writeNode(0, first + i, leafHashes[i], 0);
+        }
+        recomputeRange(first, count);
+        commit(count, readRoot(count));
+        return first;
+    }
+
+    /**
+     * 功能描述: 已提交的默克尔根
+     *
+     * @return 32字节默克尔根的副本；没有叶子时为 null
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    public byte[] getRoot() {
+        return root == null ? null : root.clone();
+    }
+
+    public long getLeafCount() {
+        return leafCount;
+    }
+
+    public long getCapacity() {
+        return 1L << capacityLog2;
+    }
+
+    /**
+     * 功能描述: 读取叶子哈希
+     *
+     * @param index 叶子下标
+     * @return 32字节哈希
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    public byte[] getLeaf(long index) {
+        checkIndex(index);
+        byte[] leaf = new byte[HASH_LENGTH];
+        readNode(0, index, leaf, 0);
+        return leaf;
+    }
+
+    /**
+     * 功能描述: 生成包含证明，只读取路径上的 log n 个兄弟节点
+     *
+     * @param leafIndex 叶子下标
+     * @return 包含证明
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    public MerkleProof getProof(long leafIndex) {
+        checkIndex(leafIndex);
+        if (leafCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("MerkleProof 仅支持 int 范围内的叶子个数：" + leafCount);
+        }
+        int height = MerkleTree.levelsAboveLeaves((int) leafCount);
+        byte[] path = new byte[height * HASH_LENGTH];
+        int size = 0;
+        long index = leafIndex;
+        long count = leafCount;
+        for (int level = 0; level < height; level++) {
+            long sibling = index ^ 1;
+            if (sibling < count) {
+                readNode(level, sibling, path, size * HASH_LENGTH);
+                size++;
+            }
+            index >>>= 1;
+            count = (count + 1) >>> 1;
+        }
+        return new MerkleProof((int) leafIndex, (int) leafCount, Arrays.copyOf(path, size * HASH_LENGTH));
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushSegments();
+        channel.close();
+    }
+
+    /**
+     * 功能描述: 逐层重算叶子 [from, count) 的所有祖先节点，每层只计算受影响的父节点
+     *
+     * @param from  第一个受影响的叶子下标
+     * @param count 叶子个数
+     * @author LM.X
+     * @date 2026/10/16 22:30
+     */
+    private void recomputeRange(long from, long count) {
+        int height = height(count);
+        for (int level = 0; level < height; level++) {
+            long parentCount = (count + 1) >>> 1;
+            for (long parent = from >>> 1; parent < parentCount; parent++) {
+                long left = parent << 1;
+                readNode(level, left, pair, 0);
+                if (left + 1 < count) {
+                    readNode(level, left + 1, pair, HASH_LENGTH);
+                    MerkleTree.parentHash(pair, 0, pair, HASH_LENGTH, node, 0);
+                } else {
+                    MerkleTree.parentHash(pair, 0, null, 0, node, 0);
+                }
+                writeNode(level + 1, parent, node, 0);
+            }
+            from >>>= 1;
+            count = parentCount;
+        }
+    }
+
+    private byte[] readRoot(long count) {
+        byte[] result = new byte[HASH_LENGTH];
+        readNode(height(count), 0, result, 0);
+        return result;
+    }
+
+    /**
+     * 功能描述: 叶子层之上的层数，与{@link MerkleTree#levelsAboveLeaves(int)}一致
+     */
+    private static int height(long count) {
+        int levels = 0;
+        do {
+            count = (count + 1) >>> 1;
+            levels++;
+        } while (count > 1);
+        return levels;
+    }
+
+    /**
+     * 功能描述: 先将节点刷盘，再写入新的提交记录并刷盘
+     */
+    private void commit(long count, byte[] newRoot) throws IOException {
+        flushSegments();
+        leafCount = count;
+        root = newRoot;
+        sequence++;
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_LENGTH);
+        slot.putInt(MAGIC).putInt(VERSION).putLong(sequence).putInt(capacityLog2).putLong(leafCount);
+        slot.put(root == null ? new byte[HASH_LENGTH] : root);
+        CRC32 crc = new CRC32();
+        crc.update(slot.array(), 0, 60);
+        slot.putInt((int) crc.getValue());
+        slot.flip();
+        channel.write(slot, (sequence & 1) * SLOT_LENGTH);
+        channel.force(false);
+    }
+
+    private static boolean validSlot(ByteBuffer slot) {
+        if (slot.remaining() != SLOT_LENGTH || slot.getInt(0) != MAGIC || slot.getInt(4) != VERSION) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(slot.array(), 0, 60);
+        return (int) crc.getValue() == slot.getInt(60);
+    }
+
+    private void flushSegments() {
+        for (int i = 0; i < segments.length; i++) {
+            if (dirty[i]) {
+                segments[i].force();
+                dirty[i] = false;
+            }
+        }
+    }
+
+    private void readNode(int level, long index, byte[] dst, int offset) {
+        long position = levelOffsets[level] + index * HASH_LENGTH;
+        MappedByteBuffer segment = segment(position);
+        int p = (int) (position & SEGMENT_MASK);
+        for (int i = 0; i < HASH_LENGTH; i += 8) {
+            long v = segment.getLong(p + i);
+            for (int b = 0; b < 8; b++) {
+                dst[offset + i + b] = (byte) (v >>> (56 - (b << 3)));
+            }
+        }
+    }
+
+    private void writeNode(int level, long index, byte[] src, int offset) {
+        long position = levelOffsets[level] + index * HASH_LENGTH;
+        MappedByteBuffer segment = segment(position);
+        int p = (int) (position & SEGMENT_MASK);
+        for (int i = 0; i < HASH_LENGTH; i += 8) {
+            long v = 0;
+            for (int b = 0; b < 8; b++) {
+                v = (v << 8) | (src[offset + i + b] & 0xff);
+            }
+            segment.putLong(p + i, v);
+        }
+        dirty[(int) (position >>> SEGMENT_SHIFT)] = true;
+    }
+
+    /**
+     * 功能描述: 获取包含指定文件位置的段，第一次访问时才做内存映射
+     */
+    private MappedByteBuffer segment(long position) {
+        int i = (int) (position >>> SEGMENT_SHIFT);
+        MappedByteBuffer segment = segments[i];
+        if (segment == null) {
+            try {
+                long start = (long) i << SEGMENT_SHIFT;
+                long length = Math.min(1L << SEGMENT_SHIFT, channel.size() - start);
+                segment = segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+            } catch (IOException e) {
+                throw new IllegalStateException("映射默克尔树文件失败", e);
+            }
+        }
+        return segment;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= leafCount) {
+            throw new IndexOutOfBoundsException("叶子下标越界：" + index + "，叶子总数：" + leafCount);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.lmx.common.merkle;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * 功能描述：默克尔多叶子证明（multiproof）
+ * <pre>
+ *     同时证明多个叶子属于同一棵树。逐层向上合并时，如果某个节点的兄弟节点本身就在被证明的集合中
+ *  （或者可以由下层计算得到），就不需要再提供它的哈希，因此相邻叶子共享的路径只出现一次。
+ *  证明 k 个叶子所需的哈希数远少于 k 个独立证明之和。
+ *
+ *     证明中的哈希按“自底向上、同层从左到右”的顺序排列，生成与验证按完全相同的顺序遍历。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 20:00
+ **/
+public class MerkleMultiProof {
+    private static final int HASH_LENGTH = CompactMerkleTree.HASH_LENGTH;
+
+    /**
+     * 节点读取方式
+     */
+    @FunctionalInterface
+    interface NodeReader {
+        /**
+         * 功能描述: 读取第 level 层第 index 个节点的哈希
+         *
+         * @param level 层，0 为叶子层
+         * @param index 该层中的下标
+         * @return 32字节哈希
+         */
+        byte[] read(int level, int index);
+    }
+
+    /**
+     * 叶子总数
+     */
+    private final int leafCount;
+    /**
+     * 被证明的叶子下标，升序且不重复
+     */
+    private final int[] leafIndices;
+    /**
+     * 验证所需的补充哈希，每个32字节连续存放
+     */
+    private final byte[] hashes;
+
+    /**
+     * 功能描述: 以已有的证明数据构造
+     *
+     * @param leafCount   叶子总数
+     * @param leafIndices 被证明的叶子下标，必须严格升序且在 [0, leafCount) 内；
+     *                    不会代为排序，以免与调用方按原顺序给出的叶子哈希错位
+     * @param hashes      补充哈希，长度必须是32的整数倍
+     * @author LM.X
+     * @date 2026/10/17 04:30
+     */
+    public MerkleMultiProof(int leafCount, int[] leafIndices, byte[] hashes) {
+        if (leafIndices.length == 0) {
+            throw new IllegalArgumentException("至少需要证明一个叶子");
+        }
+        for (int j = 0; j < leafIndices.length; j++) {
+            int index = leafIndices[j];
+            if (index < 0 || index >= leafCount) {
+                throw new IllegalArgumentException("叶子下标越界：" + index + "，叶子总数：" + leafCount);
+            }
+            if (j > 0 && leafIndices[j - 1] >= index) {
+                throw new IllegalArgumentException("叶子下标必须严格升序：" + leafIndices[j - 1] + "，" + index);
+            }
+        }
+        if (hashes.length % HASH_LENGTH != 0) {
+            throw new IllegalArgumentException("补充哈希长度必须是" + HASH_LENGTH + "的整数倍：" + hashes.length);
+        }
+        this.leafCount = leafCount;
+        this.leafIndices = leafIndices.clone();
+        this.hashes = hashes.clone();
+    }
+
+    /**
+     * 功能描述: 生成多叶子证明
+     *
+     * @param leafCount   叶子总数
+     * @param leafIndices 被证明的叶子下标（任意顺序，可以重复）
+     * @param reader      节点读取方式
+     * @return MerkleMultiProof
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    static MerkleMultiProof build(int leafCount, int[] leafIndices, NodeReader reader) {
+        int[] known = normalize(leafIndices, leafCount);
+        int[] indices = known.clone();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int level = 0;
+        int count = leafCount;
+        int size = known.length;
+        do {
+            int next = 0;
+            for (int j = 0; j < size; j++) {
+                int i = known[j];
+                if ((i & 1) == 0) {
+                    if (j + 1 < size && known[j + 1] == i + 1) {
+                        // 兄弟节点同样已知，无需提供
+                        j++;
+                    } else if (i + 1 < count) {
+                        out.write(reader.read(level, i + 1), 0, HASH_LENGTH);
+                    }
+                } else {
+                    out.write(reader.read(level, i - 1), 0, HASH_LENGTH);
+                }
+                known[next++] = i >>> 1;
+            }
+            size = next;
+            level++;
+            count = (count + 1) >>> 1;
+        } while (count > 1);
+
+        return new MerkleMultiProof(leafCount, indices, out.toByteArray());
+    }
+
+    /**
+     * 功能描述: 由叶子哈希计算默克尔根
+     *
+     * @param leafHashes 与{@link #getLeafIndices()}一一对应的叶子哈希
+     * @return 默克尔根；证明不完整或有多余哈希时返回 null
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public byte[] computeRoot(byte[][] leafHashes) {
+        if (leafHashes.length != leafIndices.length) {
+            return null;
+        }
+        int size = leafIndices.length;
+        int[] known = leafIndices.clone();
+        byte[] nodes = new byte[size * HASH_LENGTH];
+        for (int j = 0; j < size; j++) {
+            System.arraycopy(leafHashes[j], 0, nodes, j * HASH_LENGTH, HASH_LENGTH);
+        }
+
+        int used = 0;
+        int count = leafCount;
+        do {
+            int next = 0;
+            for (int j = 0; j < size; j++) {
+                int i = known[j];
+                int out = next * HASH_LENGTH;
+                if ((i & 1) == 0) {
+                    if (j + 1 < size && known[j + 1] == i + 1) {
+                        MerkleTree.parentHash(nodes, j * HASH_LENGTH, nodes, (j + 1) * HASH_LENGTH, nodes, out);
+                        j++;
+                    } else if (i + 1 < count) {
+                        if (used == hashes.length) {
+                            return null;
+                        }
+                        MerkleTree.parentHash(nodes, j * HASH_LENGTH, hashes, used, nodes, out);
+                        used += HASH_LENGTH;
+                    } else {
+                        MerkleTree.parentHash(nodes, j * HASH_LENGTH, null, 0, nodes, out);
+                    }
+                } else {
+                    if (used == hashes.length) {
+                        return null;
+                    }
+                    MerkleTree.parentHash(hashes, used, nodes, j * HASH_LENGTH, nodes, out);
+                    used += HASH_LENGTH;
+                }
+                known[next++] = i >>> 1;
+            }
+            size = next;
+            count = (count + 1) >>> 1;
+        } while (count > 1);
+
+        return used == hashes.length ? Arrays.copyOf(nodes, HASH_LENGTH) : null;
+    }
+
+    /**
+     * 功能描述: 验证所有叶子都属于以 root 为根的默克尔树
+     *
+     * @param leafHashes 与{@link #getLeafIndices()}一一对应的叶子哈希
+     * @param root       32字节默克尔根
+     * @return boolean
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public boolean verify(byte[][] leafHashes, byte[] root) {
+        byte[] computed = computeRoot(leafHashes);
+        return computed != null && MessageDigest.isEqual(computed, root);
+    }
+
+    /**
+     * 功能描述: 序列化：叶子总数(4) + 叶子个数(4) + 叶子下标(4 * k) + 补充哈希
+     *
+     * @return byte[]
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + leafIndices.length * 4 + hashes.length);
+        buffer.putInt(leafCount).putInt(leafIndices.length);
+        for (int index : leafIndices) {
+            buffer.putInt(index);
+        }
+        return buffer.put(hashes).array();
+    }
+
+    /**
+     * 功能描述: 反序列化
+     *
+     * @param bytes {@link #toBytes()} 的结果
+     * @return MerkleMultiProof
+     * @throws IllegalArgumentException 数据截断、叶子个数与长度不符或下标无效
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public static MerkleMultiProof fromBytes(byte[] bytes) {
+        if (bytes.length < 8) {
+            throw new IllegalArgumentException("证明数据过短：" + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int leafCount = buffer.getInt();
+        int count = buffer.getInt();
+        // 先按剩余长度与叶子总数校验个数，再分配数组：个数来自不可信的输入
+        if (count < 1 || count > leafCount || count > buffer.remaining() / 4) {
+            throw new IllegalArgumentException("叶子个数无效：" + count + "，叶子总数：" + leafCount + "，剩余字节：" + buffer.remaining());
+        }
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = buffer.getInt();
+        }
+        byte[] hashes = new byte[buffer.remaining()];
+        buffer.get(hashes);
+        return new MerkleMultiProof(leafCount, indices, hashes);
+    }
+
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 功能描述: 被证明的叶子下标（升序）
+     *
+     * @return int[] 副本
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public int[] getLeafIndices() {
+        return leafIndices.clone();
+    }
+
+    /**
+     * 功能描述: 补充哈希个数
+     *
+     * @return int
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public int size() {
+        return hashes.length / HASH_LENGTH;
+    }
+
+    /**
+     * 功能描述: 排序、去重并校验下标范围
+     */
+    private static int[] normalize(int[] leafIndices, int leafCount) {
+        if (leafIndices.length == 0) {
+            throw new IllegalArgumentException("至少需要证明一个叶子");
+        }
+        int[] sorted = leafIndices.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int index : sorted) {
+            if (index < 0 || index >= leafCount) {
+                throw new IllegalArgumentException("叶子下标越界：" + index + "，叶子总数：" + leafCount);
+            }
+            if (size == 0 || sorted[size - 1] != index) {
+                sorted[size++] = index;
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+}
@@ -0,0 +1,245 @@
+package org.lmx.common.merkle;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 功能描述：默克尔包含证明（Merkle inclusion proof）
+ * <pre>
+ *     证明某个叶子节点属于一棵以给定默克尔根为根的树，只需要该叶子到根路径上每一层的兄弟节点哈希，
+ *  轻节点（SPV）无需下载整个区块，数据量从 n 个交易降为 log n 个哈希。
+ *
+ *     奇数个节点时最后一个节点被直接提升（见{@link MerkleTree#parentHash}），这一层没有兄弟节点，
+ *  证明中也不包含它；验证时根据叶子下标与叶子总数即可判断每一层是否有兄弟节点。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 20:00
+ **/
+public class MerkleProof {
+    private static final int HASH_LENGTH = CompactMerkleTree.HASH_LENGTH;
+    /**
+     * 批量验证时单个任务至少处理的证明个数
+     */
+    private static final int BATCH_THRESHOLD = 64;
+
+    /**
+     * 叶子下标
+     */
+    private final int leafIndex;
+    /**
+     * 叶子总数
+     */
+    private final int leafCount;
+    /**
+     * 自底向上的兄弟节点哈希，每个32字节连续存放
+     */
+    private final byte[] siblings;
+
+    public MerkleProof(int leafIndex, int leafCount, byte[] siblings) {
+        if (leafIndex < 0 || leafIndex >= leafCount) {
+            throw new IllegalArgumentException("叶子下标越界：" + leafIndex + "，叶子总数：" + leafCount);
+        }
+        if (siblings.length % HASH_LENGTH != 0) {
+            throw new IllegalArgumentException("兄弟节点哈希长度必须是" + HASH_LENGTH + "的整数倍：" + siblings.length);
+        }
+        this.leafIndex = leafIndex;
+        this.leafCount = leafCount;
+        this.siblings = siblings;
+    }
+
+    /**
+     * 功能描述: 按叶子下标自底向上计算默克尔根
+     *
+     * @param leafHash 32字节叶子哈希
+     * @return 计算得到的默克尔根；证明与叶子总数不匹配时返回 null
+     * @throws IllegalArgumentException 叶子哈希不是32字节
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public byte[] computeRoot(byte[] leafHash) {
+        if (leafHash.length != HASH_LENGTH) {
+            throw new IllegalArgumentException("叶子哈希长度必须是" + HASH_LENGTH + "：" + leafHash.length);
+        }
+        byte[] current = leafHash.clone();
+        int index = leafIndex;
+        int count = leafCount;
+        int used = 0;
+        do {
+            if ((index & 1) == 1) {
+                if (used == siblings.length) {
+                    return null;
+                }
+                MerkleTree.parentHash(siblings, used, current, 0, current, 0);
+                used += HASH_LENGTH;
+            } else if (index + 1 < count) {
+                if (used == siblings.length) {
+                    return null;
+                }
+                MerkleTree.parentHash(current, 0, siblings, used, current, 0);
+                used += HASH_LENGTH;
+            }
+            // 否则为奇数个节点中的最后一个，直接提升
+            index >>>= 1;
+            count = (count + 1) >>> 1;
+        } while (count > 1);
+
+        return used == siblings.length ? current : null;
+    }
+
+    /**
+     * 功能描述: 验证叶子是否属于以 root 为根的默克尔树
+     *
+     * @param leafHash 32字节叶子哈希
+     * @param root     32字节默克尔根
+     * @return boolean
+     * @throws IllegalArgumentException 叶子哈希不是32字节
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public boolean verify(byte[] leafHash, byte[] root) {
+        byte[] computed = computeRoot(leafHash);
+        return computed != null && MessageDigest.isEqual(computed, root);
+    }
+
+    /**
+     * 功能描述: 静态验证方法
+     *
+     * @param leafHash 32字节叶子哈希
+     * @param proof    包含证明
+     * @param root     32字节默克尔根
+     * @return boolean
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public static boolean verify(byte[] leafHash, MerkleProof proof, byte[] root) {
+        return proof.verify(leafHash, root);
+    }
+
+    /**
+     * 功能描述: 在线程池中并行验证一批证明，各证明相互独立
+     *
+     * @param proofs     证明列表
+     * @param leafHashes 与证明一一对应的叶子哈希
+     * @param root       32字节默克尔根
+     * @param pool       线程池
+     * @return 第 i 位为 true 表示第 i 个证明验证通过
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public static BitSet verifyBatch(List<MerkleProof> proofs, List<byte[]> leafHashes, byte[] root, ForkJoinPool pool) {
+        if (proofs.size() != leafHashes.size()) {
+            throw new IllegalArgumentException("证明与叶子个数不一致：" + proofs.size() + " != " + leafHashes.size());
+        }
+        boolean[] results = new boolean[proofs.size()];
+        RangeTask.run(pool, results.length, BATCH_THRESHOLD, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                results[i] = proofs.get(i).verify(leafHashes.get(i), root);
+            }
+        });
+
+        BitSet bitmap = new BitSet(results.length);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i]) {
+                bitmap.set(i);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * 功能描述: 序列化：叶子下标(4) + 叶子总数(4) + 兄弟节点哈希
+     *
+     * @return byte[]
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(8 + siblings.length).putInt(leafIndex).putInt(leafCount).put(siblings).array();
+    }
+
+    /**
+     * 功能描述: 反序列化
+     *
+     * @param bytes {@link #toBytes()} 的结果
+     * @return MerkleProof
+     * @throws IllegalArgumentException 数据截断、下标无效或兄弟节点个数与叶子下标、叶子总数不符
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public static MerkleProof fromBytes(byte[] bytes) {
+        if (bytes.length < 8) {
+            throw new IllegalArgumentException("证明数据过短：" + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int leafIndex = buffer.getInt();
+        int leafCount = buffer.getInt();
+        if (leafIndex < 0 || leafIndex >= leafCount) {
+            throw new IllegalArgumentException("叶子下标越界：" + leafIndex + "，叶子总数：" + leafCount);
+        }
+        // 路径长度由下标与叶子总数唯一确定，先校验剩余长度再分配数组：长度来自不可信的输入
+        int expected = siblingCount(leafIndex, leafCount) * HASH_LENGTH;
+        if (buffer.remaining() != expected) {
+            throw new IllegalArgumentException("兄弟节点哈希长度应为" + expected + "：" + buffer.remaining());
+        }
+        byte[] siblings = new byte[buffer.remaining()];
+        buffer.get(siblings);
+        return new MerkleProof(leafIndex, leafCount, siblings);
+    }
+
+    /**
+     * 功能描述: 叶子到根的路径上有兄弟节点的层数，被直接提升的层没有兄弟节点
+     *
+     * @param leafIndex 叶子下标
+     * @param leafCount 叶子总数
+     * @return int
+     * @author LM.X
+     * @date 2026/10/17 07:40
+     */
+    static int siblingCount(int leafIndex, int leafCount) {
+        int siblings = 0;
+        for (int index = leafIndex, count = leafCount; count > 1; index >>>= 1, count = (count + 1) >>> 1) {
+            if ((index & 1) == 1 || index + 1 < count) {
+                siblings++;
+            }
+        }
+        return siblings;
+    }
+
+    public int getLeafIndex() {
+        return leafIndex;
+    }
+
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 功能描述: 兄弟节点个数
+     *
+     * @return int
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public int size() {
+        return siblings.length / HASH_LENGTH;
+    }
+
+    /**
+     * 功能描述: 第 i 个（自底向上）兄弟节点哈希
+     *
+     * @param i 下标
+     * @return 32字节哈希的副本
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public byte[] getSibling(int i) {
+        byte[] sibling = new byte[HASH_LENGTH];
+        System.arraycopy(siblings, i * HASH_LENGTH, sibling, 0, HASH_LENGTH);
+        return sibling;
+    }
+}
@@ -1,12 +1,20 @@
 package org.lmx.common.merkle;
 
 import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.crypto.digest.DigestUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.lmx.common.crypto.Sha256;
+import org.lmx.common.crypto.Sha256Digest;
+import org.lmx.common.monitor.Monitor;
+import org.lmx.common.monitor.Operation;
+import org.lmx.common.monitor.Sample;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 功能描述：Merkle算法实现
@@ -27,8 +35,66 @@ public class MerkleTree {
      */
     private TreeNode root;
 
+    /**
+     * 叶子节点个数
+     */
+    private int leafCount;
+
+    /**
+     * 默认并行阈值：单层节点数低于该值时顺序计算
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * 并行构建使用的线程池，为 null 时顺序构建
+     */
+    private final ForkJoinPool pool;
+    /**
+     * 并行阈值
+     */
+    private final int threshold;
+
     public MerkleTree(List<String> treeNodes) {
+        this(treeNodes, null, Integer.MAX_VALUE);
+    }
+
+    private MerkleTree(List<String> treeNodes, ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+        Sample sample = Monitor.start(Operation.MERKLE_BUILD);
         createMerkleTree(treeNodes);
+        Monitor.stop(sample, leafCount);
+    }
+
+    /**
+     * 功能描述: 并行构建默克尔树，单层节点数低于{@link #DEFAULT_PARALLEL_THRESHOLD}时退化为顺序计算
+     *
+     * @param transactions 内容列表
+     * @param pool         线程池
+     * @return 与顺序构建得到相同默克尔根的树
+     * @author LM.X
+     * @date 2026/10/16 19:00
+     */
+    public static MerkleTree parallel(List<String> transactions, ForkJoinPool pool) {
+        return parallel(transactions, pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 功能描述: 并行构建默克尔树
+     * <pre>
+     *     叶子节点的哈希以及每一层的两两合并都按下标区间拆分到线程池中执行，
+     *  每个任务至少处理 threshold 个节点，单层节点数低于 threshold 时在当前线程顺序计算。
+     * </pre>
+     *
+     * @param transactions 内容列表
+     * @param pool         线程池
+     * @param threshold    并行阈值
+     * @return 与顺序构建得到相同默克尔根的树
+     * @author LM.X
+     * @date 2026/10/16 19:00
+     */
+    public static MerkleTree parallel(List<String> transactions, ForkJoinPool pool, int threshold) {
+        return new MerkleTree(transactions, pool, threshold);
     }
 
     /**
@@ -46,6 +112,7 @@ public class MerkleTree {
 
         // 初始化列表
         this.treeNodes = new ArrayList();
+        this.leafCount = transactions.size();
 
         // 格式化节点信息
         treeNodes.addAll(createLeafNode(transactions));
@@ -60,6 +127,107 @@ public class MerkleTree {
         }
     }
 
+    /**
+     * 功能描述: 默克尔根节点
+     *
+     * @return 根节点，交易列表为空时为 null
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public TreeNode getRoot() {
+        return root;
+    }
+
+    /**
+     * 功能描述: 默克尔根的十六进制哈希
+     *
+     * @return 交易列表为空时为 null
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public String getRootHash() {
+        return root == null ? null : root.getHash();
+    }
+
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 功能描述: 生成指定叶子的包含证明
+     * <pre>
+     *     从根节点出发，按叶子下标在每一层的二进制位选择左/右子节点向下走，
+     *  同时记录另一侧的兄弟节点；被提升的节点没有右子节点，这一层不产生兄弟节点。
+     * </pre>
+     *
+     * @param leafIndex 叶子下标
+     * @return 包含证明
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public MerkleProof getProof(int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= leafCount) {
+            throw new IndexOutOfBoundsException("叶子下标越界：" + leafIndex + "，叶子总数：" + leafCount);
+        }
+        int height = levelsAboveLeaves(leafCount);
+        byte[][] siblings = new byte[height][];
+        int size = 0;
+
+        TreeNode node = root;
+        for (int level = height; level > 0; level--) {
+            boolean right = ((leafIndex >>> (level - 1)) & 1) == 1;
+            TreeNode sibling = right ? node.getLeft() : node.getRight();
+            node = right ? node.getRight() : node.getLeft();
+            if (sibling != null) {
+                siblings[size++] = HexUtil.decodeHex(sibling.getHash());
+            }
+        }
+
+        // 自顶向下收集，按自底向上的顺序输出
+        byte[] path = new byte[size * Sha256Digest.DIGEST_LENGTH];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(siblings[size - 1 - i], 0, path, i * Sha256Digest.DIGEST_LENGTH, Sha256Digest.DIGEST_LENGTH);
+        }
+        return new MerkleProof(leafIndex, leafCount, path);
+    }
+
+    /**
+     * 功能描述: 生成多个叶子的合并证明，共享的兄弟节点只出现一次
+     *
+     * @param leafIndices 叶子下标
+     * @return 多叶子证明
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    public MerkleMultiProof getMultiProof(int... leafIndices) {
+        int height = levelsAboveLeaves(leafCount);
+        return MerkleMultiProof.build(leafCount, leafIndices, (level, index) -> {
+            TreeNode node = root;
+            for (int l = height; l > level; l--) {
+                node = ((index >>> (l - 1 - level)) & 1) == 1 ? node.getRight() : node.getLeft();
+            }
+            return HexUtil.decodeHex(node.getHash());
+        });
+    }
+
+    /**
+     * 功能描述: 叶子层之上的层数（单个叶子时也会被提升一次）
+     *
+     * @param leafCount 叶子个数
+     * @return int
+     * @author LM.X
+     * @date 2026/10/16 20:00
+     */
+    static int levelsAboveLeaves(int leafCount) {
+        int levels = 0;
+        int count = leafCount;
+        do {
+            count = (count + 1) >>> 1;
+            levels++;
+        } while (count > 1);
+        return levels;
+    }
+
     /**
      * 功能描述: 创建叶子节点
      *
@@ -74,9 +242,13 @@ public class MerkleTree {
             return leafs;
         }
 
-        for (String transaction : transactions) {
-            leafs.add(new TreeNode(transaction));
-        }
+        TreeNode[] nodes = new TreeNode[transactions.size()];
+        RangeTask.run(pool, nodes.length, threshold, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                nodes[i] = new TreeNode(transactions.get(i));
+            }
+        });
+        leafs.addAll(Arrays.asList(nodes));
 
         return leafs;
     }
@@ -97,16 +269,20 @@ public class MerkleTree {
 
         int len = nodes.size();
 
-        for (int i = 0; i < len - 1; i += 2) {
-            parents.add(createParentNode(nodes.get(i), nodes.get(i + 1)));
-        }
+        TreeNode[] merged = new TreeNode[(len + 1) / 2];
+        RangeTask.run(pool, len / 2, threshold, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                merged[i] = createParentNode(nodes.get(2 * i), nodes.get(2 * i + 1));
+            }
+        });
 
         // 当奇数个叶子节点时，单独处理
         if (len % 2 != 0) {
-            parents.add(createParentNode(nodes.get(len - 1), null));
+            merged[merged.length - 1] = createParentNode(nodes.get(len - 1), null);
         }
+        parents.addAll(Arrays.asList(merged));
 
-        log.info("本轮合并后，节点长度：{}", parents.size());
+        log.debug("本轮合并后，节点长度：{}", parents.size());
         return parents;
     }
 
@@ -130,13 +306,57 @@ public class MerkleTree {
 
         parent.setData(hash);
         parent.setHash(hash);
-        log.info("合并【{}，{}】，创建父节点：{}", left.getData(), ObjectUtil.isEmpty(right) ?
-                null : right.getData(), hash);
+        if (log.isDebugEnabled()) {
+            log.debug("合并【{}，{}】，创建父节点：{}", left.getData(), ObjectUtil.isEmpty(right) ?
+                    null : right.getData(), hash);
+        }
         return parent;
     }
 
+    /**
+     * 功能描述: 按{@link #createParentNode(TreeNode, TreeNode)}的规则，在字节层面合并左右子节点哈希
+     * <pre>
+     *     有右子节点时：父节点 = sha256d(左 || 右)；
+     *     没有右子节点（奇数个节点时的最后一个）：父节点直接沿用左子节点的哈希。
+     *
+     *     供{@link CompactMerkleTree}等基于 byte[] 的实现复用，保证它们与本类得到相同的默克尔根。
+     * </pre>
+     *
+     * @param left     左子节点哈希所在数组
+     * @param leftOff  左子节点哈希起始位置
+     * @param right    右子节点哈希所在数组，为 null 表示没有右子节点
+     * @param rightOff 右子节点哈希起始位置
+     * @param out      父节点哈希写入数组，可以与输入重叠
+     * @param outOff   父节点哈希写入位置
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public static void parentHash(byte[] left, int leftOff, byte[] right, int rightOff, byte[] out, int outOff) {
+        if (right == null) {
+            System.arraycopy(left, leftOff, out, outOff, Sha256Digest.DIGEST_LENGTH);
+        } else {
+            Sha256.sha256d(left, leftOff, right, rightOff, out, outOff);
+        }
+    }
+
+    /**
+     * 功能描述: 叶子节点哈希，与{@link TreeNode#TreeNode(String)}一致：SHA-256(交易内容)
+     *
+     * @param transaction 交易内容
+     * @return 32字节哈希
+     * @author LM.X
+     * @date 2026/10/16 18:00
+     */
+    public static byte[] leafHash(String transaction) {
+        return Sha256.hash(transaction.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * 功能描述: 双哈希运算
+     * <pre>
+     *     与比特币一致，对左右子节点哈希的原始字节（而不是十六进制文本）拼接后做 sha256d，
+     *  由{@link Sha256#sha256d(byte[], byte[], byte[])}直接完成，不产生拼接字符串。
+     * </pre>
      *
      * @param lh
 	 * @param rh
@@ -145,7 +365,9 @@ public class MerkleTree {
      * @date 2020/3/31 16:02
      */
     private String doubleSHA256(String lh, String rh) {
-        return DigestUtil.sha256Hex(DigestUtil.sha256Hex(lh + rh));
+        byte[] out = new byte[Sha256Digest.DIGEST_LENGTH];
+        Sha256.sha256d(HexUtil.decodeHex(lh), HexUtil.decodeHex(rh), out);
+        return HexUtil.encodeHexStr(out);
     }
 
     public static void main(String[] args) {
@@ -157,6 +379,10 @@ public class MerkleTree {
         }};
 
         MerkleTree merkleTree = new MerkleTree(txs);
-        log.info("获取到的默克尔根为：{}", merkleTree.root.getHash());
+        log.info("获取到的默克尔根为：{}", merkleTree.getRootHash());
+
+        MerkleProof proof = merkleTree.getProof(5);
+        log.info("第6笔交易的包含证明验证结果：{}", proof.verify(leafHash(txs.get(5)),
+                HexUtil.decodeHex(merkleTree.getRootHash())));
     }
 }
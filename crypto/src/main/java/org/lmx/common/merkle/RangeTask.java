@@ -0,0 +1,73 @@
+package org.lmx.common.merkle;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 功能描述：将 [from, to) 区间二分拆分到 fork-join 线程池中执行的任务
+ * <pre>
+ *     默克尔树同一层内的节点两两合并互不依赖，按节点下标拆分即可并行计算，
+ *  区间不大于阈值时不再拆分，直接在当前线程中顺序执行。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 19:00
+ **/
+final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 区间处理逻辑
+     */
+    @FunctionalInterface
+    interface Body {
+        /**
+         * 功能描述: 处理 [from, to) 区间
+         *
+         * @param from 起始下标（包含）
+         * @param to   结束下标（不含）
+         */
+        void run(int from, int to);
+    }
+
+    private final Body body;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private RangeTask(Body body, int from, int to, int threshold) {
+        this.body = body;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    /**
+     * 功能描述: 处理 [0, count) 区间：count 小于阈值或没有线程池时直接顺序执行
+     *
+     * @param pool      线程池，为 null 时顺序执行
+     * @param count     区间长度
+     * @param threshold 并行阈值，同时也是单个任务的最小区间长度
+     * @param body      区间处理逻辑
+     * @author LM.X
+     * @date 2026/10/16 19:00
+     */
+    static void run(ForkJoinPool pool, int count, int threshold, Body body) {
+        if (pool == null || count < threshold) {
+            body.run(0, count);
+            return;
+        }
+        pool.invoke(new RangeTask(body, 0, count, Math.max(1, threshold)));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            body.run(from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new RangeTask(body, from, mid, threshold), new RangeTask(body, mid, to, threshold));
+    }
+}
@@ -0,0 +1,211 @@
+package org.lmx.common.merkle;
+
+import cn.hutool.core.util.HexUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 功能描述：流式计算默克尔根
+ * <pre>
+ *     叶子逐个到达，只保留一个“边界栈”：每层最多一个尚未配对的节点。
+ *  第 k 层是否有待配对节点恰好由叶子个数的二进制第 k 位决定，新叶子到达时像二进制加法一样向上进位合并。
+ *  因此无论交易有多少，内存都只有 64 * 32 字节，适合处理无法全部放入堆内存的交易转储。
+ *
+ *     流结束时自底向上收尾：某层的待配对节点如果下方没有需要提升上来的节点，它本身就是该层的最后一个
+ *  （奇数个）节点，直接提升；否则与下方提升上来的节点合并。规则与{@link MerkleTree#parentHash}一致，
+ *  结果与内存中的{@link MerkleTree}相同。非线程安全。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 22:00
+ **/
+public class StreamingMerkleRoot {
+    private static final int HASH_LENGTH = CompactMerkleTree.HASH_LENGTH;
+    /**
+     * 最大层数：叶子个数用 long 计数
+     */
+    private static final int MAX_LEVELS = 64;
+    /**
+     * 从通道读取叶子时的缓冲区大小（叶子个数）
+     */
+    private static final int READ_LEAVES = 1024;
+
+    /**
+     * 每层待配对的节点，第 k 层位于 [k * 32, k * 32 + 32)
+     */
+    private final byte[] frontier = new byte[MAX_LEVELS * HASH_LENGTH];
+    /**
+     * 进位过程中的当前节点
+     */
+    private final byte[] carry = new byte[HASH_LENGTH];
+    /**
+     * 已加入的叶子个数，其二进制第 k 位表示第 k 层是否有待配对节点
+     */
+    private long leafCount;
+
+    /**
+     * 功能描述: 加入一个叶子
+     *
+     * @param leafHash 32字节叶子哈希
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public void add(byte[] leafHash) {
+        if (leafHash.length != HASH_LENGTH) {
+            throw new IllegalArgumentException("叶子哈希长度必须为" + HASH_LENGTH + "字节：" + leafHash.length);
+        }
+        add(leafHash, 0);
+    }
+
+    /**
+     * 功能描述: 加入一个叶子
+     *
+     * @param source 叶子哈希所在数组
+     * @param offset 叶子哈希起始位置
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public void add(byte[] source, int offset) {
+        System.arraycopy(source, offset, carry, 0, HASH_LENGTH);
+        int level = 0;
+        // 与二进制加1相同：从低位开始，遇到1则与该层待配对节点合并并进位
+        while ((leafCount >>> level & 1) != 0) {
+            MerkleTree.parentHash(frontier, level * HASH_LENGTH, carry, 0, carry, 0);
+            level++;
+        }
+        System.arraycopy(carry, 0, frontier, level * HASH_LENGTH, HASH_LENGTH);
+        leafCount++;
+    }
+
+    /**
+     * 功能描述: 加入一笔交易，叶子哈希与{@link TreeNode}一致
+     *
+     * @param transaction 交易内容
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public void addTransaction(String transaction) {
+        add(MerkleTree.leafHash(transaction), 0);
+    }
+
+    /**
+     * 功能描述: 计算当前已加入叶子的默克尔根，不影响继续加入叶子
+     *
+     * @return 32字节默克尔根；没有叶子时为 null
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public byte[] root() {
+        if (leafCount == 0) {
+            return null;
+        }
+        byte[] root = null;
+        for (int level = 0; level < MAX_LEVELS && (leafCount >>> level) != 0; level++) {
+            if ((leafCount >>> level & 1) == 0) {
+                // 该层没有待配对节点，下方提升上来的节点继续提升
+                continue;
+            }
+            if (root == null) {
+                root = new byte[HASH_LENGTH];
+                System.arraycopy(frontier, level * HASH_LENGTH, root, 0, HASH_LENGTH);
+            } else {
+                MerkleTree.parentHash(frontier, level * HASH_LENGTH, root, 0, root, 0);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * 功能描述: 当前默克尔根的十六进制表示
+     *
+     * @return 没有叶子时为 null
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public String rootHex() {
+        byte[] root = root();
+        return root == null ? null : HexUtil.encodeHexStr(root);
+    }
+
+    public long getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 功能描述: 计算叶子哈希迭代器的默克尔根
+     *
+     * @param leafHashes 32字节叶子哈希迭代器
+     * @return 默克尔根；没有叶子时为 null
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public static byte[] root(Iterator<byte[]> leafHashes) {
+        StreamingMerkleRoot streaming = new StreamingMerkleRoot();
+        while (leafHashes.hasNext()) {
+            streaming.add(leafHashes.next());
+        }
+        return streaming.root();
+    }
+
+    /**
+     * 功能描述: 计算叶子哈希流的默克尔根，流会按顺序消费
+     *
+     * @param leafHashes 32字节叶子哈希流
+     * @return 默克尔根；没有叶子时为 null
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public static byte[] root(Stream<byte[]> leafHashes) {
+        return root(leafHashes.sequential().iterator());
+    }
+
+    /**
+     * 功能描述: 计算交易内容迭代器的默克尔根
+     *
+     * @param transactions 交易内容迭代器
+     * @return 默克尔根；没有交易时为 null
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public static byte[] rootOfTransactions(Iterator<String> transactions) {
+        StreamingMerkleRoot streaming = new StreamingMerkleRoot();
+        while (transactions.hasNext()) {
+            streaming.addTransaction(transactions.next());
+        }
+        return streaming.root();
+    }
+
+    /**
+     * 功能描述: 计算通道中连续存放的32字节叶子哈希的默克尔根，读到流末尾为止
+     *
+     * @param channel 可读通道
+     * @return 默克尔根；没有叶子时为 null
+     * @throws IOException 读取失败，或数据长度不是32的整数倍
+     * @author LM.X
+     * @date 2026/10/16 22:00
+     */
+    public static byte[] root(ReadableByteChannel channel) throws IOException {
+        StreamingMerkleRoot streaming = new StreamingMerkleRoot();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_LEAVES * HASH_LENGTH);
+        byte[] array = buffer.array();
+        while (channel.read(buffer) >= 0) {
+            int complete = buffer.position() / HASH_LENGTH * HASH_LENGTH;
+            for (int offset = 0; offset < complete; offset += HASH_LENGTH) {
+                streaming.add(array, offset);
+            }
+            // 不足32字节的残余移到缓冲区开头，等待下次读取补齐
+            buffer.flip();
+            buffer.position(complete);
+            buffer.compact();
+        }
+        if (buffer.position() != 0) {
+            throw new IOException("叶子数据被截断，剩余" + buffer.position() + "字节不足" + HASH_LENGTH + "字节");
+        }
+        return streaming.root();
+    }
+}
@@ -0,0 +1,82 @@
+package org.lmx.common.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 功能描述：JFR 自定义事件，只有在确认 jdk.jfr 可用之后才会被{@link Monitor}加载
+ * <pre>
+ *     在 JDK Mission Control 的“block-chain-j”分类下按加密、默克尔树、网络三类查看，
+ *  事件的持续时间即操作耗时。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:30
+ **/
+final class JfrEvents {
+    private JfrEvents() {
+    }
+
+    static Object begin(Operation operation) {
+        OperationEvent event;
+        switch (operation.getCategory()) {
+            case CRYPTO:
+                event = new CryptoEvent();
+                break;
+            case MERKLE:
+                event = new MerkleEvent();
+                break;
+            default:
+                event = new ChannelEvent();
+                break;
+        }
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commit(Object sample, Operation operation, long amount) {
+        OperationEvent event = (OperationEvent) sample;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.amount = amount;
+            event.commit();
+        }
+    }
+
+    abstract static class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("Amount")
+        @Description("处理的字节数或叶子个数")
+        long amount;
+    }
+
+    @Name("org.lmx.Crypto")
+    @Label("Crypto Operation")
+    @Category({"block-chain-j", "Crypto"})
+    @Description("SHA-256、DES、RSA 运算")
+    static final class CryptoEvent extends OperationEvent {
+    }
+
+    @Name("org.lmx.MerkleBuild")
+    @Label("Merkle Build")
+    @Category({"block-chain-j", "Merkle"})
+    @Description("构建默克尔树，amount 为叶子个数")
+    static final class MerkleEvent extends OperationEvent {
+    }
+
+    @Name("org.lmx.Channel")
+    @Label("Channel IO")
+    @Category({"block-chain-j", "Network"})
+    @Description("Netty 通道读写一条消息")
+    static final class ChannelEvent extends OperationEvent {
+    }
+}
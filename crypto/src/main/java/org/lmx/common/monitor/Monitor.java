@@ -0,0 +1,105 @@
+package org.lmx.common.monitor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：热点路径的监控入口，同时输出 Micrometer 指标与 JFR 事件
+ * <pre>
+ *     用法：
+ *     Sample sample = Monitor.start(Operation.SHA256_HASH);
+ *     ...
+ *     Monitor.stop(sample, length);
+ *
+ *     关闭时 start 只读取一次 volatile 开关并返回 null，stop 遇到 null 直接返回，不分配对象也不读取时钟，
+ *  因此可以常驻生产环境。通过系统属性 -Dlmx.monitor.enabled=true 或{@link #setEnabled(boolean)}开启。
+ *
+ *     指标注册到{@link Metrics#globalRegistry}，Spring Boot Actuator 会把它的注册表加入全局注册表，
+ *  从而通过 /actuator/metrics 或 Prometheus 等后端导出。JFR 事件只在运行于支持 JFR 的 JVM
+ *  （8u272+ 或 11+）时产生，由 JFR 自身的录制配置决定是否记录。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:30
+ **/
+@Slf4j
+public final class Monitor {
+    private static volatile boolean enabled = Boolean.getBoolean("lmx.monitor.enabled");
+    private static final boolean JFR_AVAILABLE = jfrAvailable();
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final Timer[] TIMERS = new Timer[OPERATIONS.length];
+    private static final Counter[] AMOUNTS = new Counter[OPERATIONS.length];
+
+    static {
+        for (Operation operation : OPERATIONS) {
+            TIMERS[operation.ordinal()] = Timer.builder(operation.getMetricName())
+                    .tag("category", operation.getCategory().name().toLowerCase())
+                    .register(Metrics.globalRegistry);
+            AMOUNTS[operation.ordinal()] = Counter.builder(operation.getMetricName() + ".amount")
+                    .tag("category", operation.getCategory().name().toLowerCase())
+                    .register(Metrics.globalRegistry);
+        }
+    }
+
+    private Monitor() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Monitor.enabled = enabled;
+        log.info("监控开关：{}，JFR：{}", enabled, JFR_AVAILABLE);
+    }
+
+    /**
+     * 功能描述: 开始一次操作
+     *
+     * @param operation 操作
+     * @return 监控关闭时为 null
+     * @author LM.X
+     * @date 2026/10/16 23:30
+     */
+    public static Sample start(Operation operation) {
+        if (!enabled) {
+            return null;
+        }
+        return new Sample(operation, System.nanoTime(), JFR_AVAILABLE ? JfrEvents.begin(operation) : null);
+    }
+
+    /**
+     * 功能描述: 结束一次操作
+     *
+     * @param sample {@link #start(Operation)}的返回值，可以为 null
+     * @param amount 处理的字节数或叶子个数
+     * @author LM.X
+     * @date 2026/10/16 23:30
+     */
+    public static void stop(Sample sample, long amount) {
+        if (sample == null) {
+            return;
+        }
+        int i = sample.operation.ordinal();
+        TIMERS[i].record(System.nanoTime() - sample.startNanos, TimeUnit.NANOSECONDS);
+        AMOUNTS[i].increment(amount);
+        if (sample.event != null) {
+            JfrEvents.commit(sample.event, sample.operation, amount);
+        }
+    }
+
+    private static boolean jfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
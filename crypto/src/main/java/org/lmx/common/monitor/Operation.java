@@ -0,0 +1,87 @@
+package org.lmx.common.monitor;
+
+/**
+ * 功能描述：被监控的操作
+ * <pre>
+ *     每个操作对应一个 Micrometer 计时器（指标名为{@link #getMetricName()}）与一个计数器
+ *  （指标名加“.amount”后缀，字节数或叶子个数，监控系统按时间求速率即为吞吐），以及一种 JFR 事件。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:30
+ **/
+public enum Operation {
+    /**
+     * 内存中的SHA-256，计量字节数
+     */
+    SHA256_HASH("lmx.sha256.hash", Category.CRYPTO),
+    /**
+     * 文件的SHA-256，计量字节数
+     */
+    SHA256_FILE("lmx.sha256.file", Category.CRYPTO),
+    /**
+     * DES加密，计量字节数
+     */
+    DES_ENCRYPT("lmx.des.encrypt", Category.CRYPTO),
+    /**
+     * DES解密，计量字节数
+     */
+    DES_DECRYPT("lmx.des.decrypt", Category.CRYPTO),
+    /**
+     * RSA加密，计量字节数
+     */
+    RSA_ENCRYPT("lmx.rsa.encrypt", Category.CRYPTO),
+    /**
+     * RSA解密，计量字节数
+     */
+    RSA_DECRYPT("lmx.rsa.decrypt", Category.CRYPTO),
+    /**
+     * RSA签名，计量字节数
+     */
+    RSA_SIGN("lmx.rsa.sign", Category.CRYPTO),
+    /**
+     * RSA验签，计量字节数
+     */
+    RSA_VERIFY("lmx.rsa.verify", Category.CRYPTO),
+    /**
+     * secp256k1 ECDSA签名，计量字节数
+     */
+    ECDSA_SIGN("lmx.ecdsa.sign", Category.CRYPTO),
+    /**
+     * secp256k1 ECDSA验签，计量字节数
+     */
+    ECDSA_VERIFY("lmx.ecdsa.verify", Category.CRYPTO),
+    /**
+     * 构建默克尔树，计量叶子个数
+     */
+    MERKLE_BUILD("lmx.merkle.build", Category.MERKLE),
+    /**
+     * 通道读取一条消息，计量字节数
+     */
+    CHANNEL_READ("lmx.channel.read", Category.NETWORK),
+    /**
+     * 通道写出一条消息（从写入到写进套接字），计量字节数
+     */
+    CHANNEL_WRITE("lmx.channel.write", Category.NETWORK);
+
+    public enum Category {
+        CRYPTO, MERKLE, NETWORK
+    }
+
+    private final String metricName;
+    private final Category category;
+
+    Operation(String metricName, Category category) {
+        this.metricName = metricName;
+        this.category = category;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+}
@@ -0,0 +1,27 @@
+package org.lmx.common.monitor;
+
+/**
+ * 功能描述：一次进行中的操作，由{@link Monitor#start(Operation)}创建，{@link Monitor#stop(Sample, long)}结束
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:30
+ **/
+public final class Sample {
+    final Operation operation;
+    final long startNanos;
+    /**
+     * JFR 事件，JFR 不可用时为 null；类型为 Object 以免在不支持 JFR 的 JVM 上加载 jdk.jfr
+     */
+    final Object event;
+
+    Sample(Operation operation, long startNanos, Object event) {
+        this.operation = operation;
+        this.startNanos = startNanos;
+        this.event = event;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,55 @@
+package org.lmx.common.pow;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 功能描述：一次工作量证明搜索的结果
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 11:00
+ **/
+@Getter
+@ToString
+public class PowResult {
+    /**
+     * 是否找到满足难度目标的随机数
+     */
+    private final boolean found;
+    /**
+     * 满足难度目标的随机数（未找到时为 -1）
+     */
+    private final long nonce;
+    /**
+     * 区块头的双SHA-256结果（内部字节序，展示时需要反转），未找到时为 null
+     */
+    private final byte[] hash;
+    /**
+     * 本次搜索实际计算的哈希次数
+     */
+    private final long hashes;
+    /**
+     * 本次搜索耗时（纳秒）
+     */
+    private final long elapsedNanos;
+
+    public PowResult(boolean found, long nonce, byte[] hash, long hashes, long elapsedNanos) {
+        this.found = found;
+        this.nonce = nonce;
+        this.hash = hash;
+        this.hashes = hashes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 功能描述: 算力，单位：哈希次数/秒
+     *
+     * @return double
+     * @author LM.X
+     * @date 2026/10/16 11:00
+     */
+    public double getHashRate() {
+        return elapsedNanos == 0 ? 0 : hashes * 1_000_000_000D / elapsedNanos;
+    }
+}
@@ -0,0 +1,301 @@
+package org.lmx.common.pow;
+
+import cn.hutool.core.util.HexUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.lmx.common.crypto.Sha256;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 功能描述：工作量证明（PoW）随机数搜索
+ * <pre>
+ *     区块头固定为80字节，双SHA-256（sha256d）时会被补位成两个“块”：
+ *     第一块：区块头的前64字节（版本、前一区块哈希、默克尔根的前28字节），与随机数无关；
+ *     第二块：剩余16字节（默克尔根末4字节、时间戳、难度、随机数）+ 补位。
+ *
+ *     因此第一块的压缩结果（midstate）只需计算一次，每个随机数只需再压缩第二块，
+ *  然后对32字节的结果做一次单块的第二次哈希，每次尝试由原先的6次压缩降为2次。
+ *
+ *     随机数区间 [0, 2^32) 通过 fork-join 拆分到所有CPU核心上，任意一个任务找到解后其余任务尽快退出。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 11:00
+ **/
+@Slf4j
+public class ProofOfWork {
+    /**
+     * 区块头长度
+     */
+    public static final int HEADER_LENGTH = 80;
+    /**
+     * 随机数在区块头中的位置（little-endian 存储）
+     */
+    public static final int NONCE_OFFSET = 76;
+    /**
+     * 随机数的取值上限（不含）
+     */
+    public static final long MAX_NONCE = 1L << 32;
+
+    /**
+     * 单个任务不再拆分的随机数个数
+     */
+    private static final int TASK_NONCES = 1 << 16;
+    /**
+     * 每尝试多少个随机数检查一次是否已被其他任务找到解
+     */
+    private static final int CHECK_INTERVAL = 1 << 10;
+
+    private final ForkJoinPool pool;
+
+    public ProofOfWork() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ProofOfWork(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 功能描述: 按区块头中的难度（compact bits）搜索整个随机数空间
+     *
+     * @param header 80字节的区块头模板，随机数字段的值会被忽略
+     * @return 搜索结果
+     * @author LM.X
+     * @date 2026/10/16 11:00
+     */
+    public PowResult search(byte[] header) {
+        int bits = (header[72] & 0xff) | (header[73] & 0xff) << 8 | (header[74] & 0xff) << 16 | (header[75] & 0xff) << 24;
+        return search(header, decodeCompact(bits), 0, MAX_NONCE);
+    }
+
+    /**
+     * 功能描述: 在 [startNonce, endNonce) 区间内搜索使 sha256d(header) <= target 的随机数
+     *
+     * @param header     80字节的区块头模板，随机数字段的值会被忽略
+     * @param target     难度目标
+     * @param startNonce 起始随机数（包含）
+     * @param endNonce   结束随机数（不含）
+     * @return 搜索结果，未找到时 {@link PowResult#isFound()} 为 false
+     * @author LM.X
+     * @date 2026/10/16 11:00
+     */
+    public PowResult search(byte[] header, BigInteger target, long startNonce, long endNonce) {
+        if (header.length != HEADER_LENGTH) {
+            throw new IllegalArgumentException("区块头长度必须为" + HEADER_LENGTH + "字节：" + header.length);
+        }
+        if (startNonce < 0 || endNonce > MAX_NONCE || startNonce > endNonce) {
+            throw new IllegalArgumentException("随机数区间非法：[" + startNonce + ", " + endNonce + ")");
+        }
+
+        long begin = System.nanoTime();
+        Search search = new Search(header, target);
+        pool.invoke(new NonceTask(search, startNonce, endNonce));
+        long elapsed = System.nanoTime() - begin;
+
+        long nonce = search.solution.get();
+        long hashes = search.hashes.sum();
+        if (nonce < 0) {
+            log.info("未找到满足难度的随机数，尝试次数：{}，算力：{} H/s", hashes, (long) (hashes * 1e9 / Math.max(elapsed, 1)));
+            return new PowResult(false, -1, null, hashes, elapsed);
+        }
+
+        byte[] solved = header.clone();
+        writeNonce(solved, (int) nonce);
+        byte[] hash = Sha256.sha256d(solved);
+        PowResult result = new PowResult(true, nonce, hash, hashes, elapsed);
+        log.info("找到随机数：{}，尝试次数：{}，算力：{} H/s", nonce, hashes, (long) result.getHashRate());
+        return result;
+    }
+
+    /**
+     * 功能描述: 校验区块头是否满足难度目标
+     *
+     * @param header 80字节的区块头
+     * @param target 难度目标
+     * @return boolean
+     * @author LM.X
+     * @date 2026/10/16 11:00
+     */
+    public static boolean verify(byte[] header, BigInteger target) {
+        byte[] hash = Sha256.sha256d(header);
+        // 哈希按 little-endian 解释为256位整数
+        byte[] be = new byte[hash.length];
+        for (int i = 0; i < hash.length; i++) {
+            be[i] = hash[hash.length - 1 - i];
+        }
+        return new BigInteger(1, be).compareTo(target) <= 0;
+    }
+
+    /**
+     * 功能描述: 将区块头中的 compact 格式难度（nBits）解码为难度目标
+     *
+     * @param bits compact 难度
+     * @return 难度目标
+     * @author LM.X
+     * @date 2026/10/16 11:00
+     */
+    public static BigInteger decodeCompact(int bits) {
+        int size = bits >>> 24;
+        BigInteger mantissa = BigInteger.valueOf(bits & 0x007fffff);
+        return size <= 3 ? mantissa.shiftRight(8 * (3 - size)) : mantissa.shiftLeft(8 * (size - 3));
+    }
+
+    private static void writeNonce(byte[] header, int nonce) {
+        header[NONCE_OFFSET] = (byte) nonce;
+        header[NONCE_OFFSET + 1] = (byte) (nonce >>> 8);
+        header[NONCE_OFFSET + 2] = (byte) (nonce >>> 16);
+        header[NONCE_OFFSET + 3] = (byte) (nonce >>> 24);
+    }
+
+    private static int readWord(byte[] b, int off) {
+        return (b[off] << 24) | ((b[off + 1] & 0xff) << 16) | ((b[off + 2] & 0xff) << 8) | (b[off + 3] & 0xff);
+    }
+
+    /**
+     * 一次搜索的共享状态：midstate、第二块的固定部分、难度目标以及结果
+     */
+    private static final class Search {
+        /**
+         * 第一块压缩后的中间散列值
+         */
+        private final int[] midstate = new int[8];
+        /**
+         * 第二块中与随机数无关的3个字
+         */
+        private final int[] tail = new int[3];
+        /**
+         * 难度目标，按从高到低的顺序排列的8个字
+         */
+        private final int[] target = new int[8];
+        /**
+         * 找到的随机数，-1 表示尚未找到
+         */
+        private final AtomicLong solution = new AtomicLong(-1);
+        private final LongAdder hashes = new LongAdder();
+
+        private Search(byte[] header, BigInteger target) {
+            int[] w = new int[64];
+            for (int t = 0; t < 16; t++) {
+                w[t] = readWord(header, t << 2);
+            }
+            Sha256.initState(midstate);
+            Sha256.compress(midstate, w);
+
+            for (int t = 0; t < 3; t++) {
+                tail[t] = readWord(header, 64 + (t << 2));
+            }
+
+            byte[] raw = target.toByteArray();
+            byte[] fixed = new byte[32];
+            int n = Math.min(raw.length, 32);
+            System.arraycopy(raw, raw.length - n, fixed, 32 - n, n);
+            for (int i = 0; i < 8; i++) {
+                this.target[i] = readWord(fixed, i << 2);
+            }
+        }
+
+        /**
+         * 功能描述: 判断第二次哈希的结果是否小于等于难度目标
+         * <pre>
+         *     哈希结果按 little-endian 解释为整数，最高位的字是 state[7] 的字节反转，依次向下比较。
+         * </pre>
+         */
+        private boolean meets(int[] state) {
+            for (int i = 0; i < 8; i++) {
+                int h = Integer.reverseBytes(state[7 - i]);
+                if (h != target[i]) {
+                    return Integer.compareUnsigned(h, target[i]) < 0;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 随机数区间任务：区间足够小时直接搜索，否则一分为二
+     */
+    private static final class NonceTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final long from;
+        private final long to;
+
+        private NonceTask(Search search, long from, long to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.solution.get() >= 0) {
+                return;
+            }
+            if (to - from > TASK_NONCES) {
+                long mid = (from + to) >>> 1;
+                invokeAll(new NonceTask(search, from, mid), new NonceTask(search, mid, to));
+                return;
+            }
+            scan();
+        }
+
+        private void scan() {
+            int[] w = new int[64];
+            int[] first = new int[8];
+            int[] second = new int[8];
+            long nonce = from;
+
+            for (; nonce < to; nonce++) {
+                if ((nonce & (CHECK_INTERVAL - 1)) == 0 && search.solution.get() >= 0) {
+                    break;
+                }
+
+                // 1、从 midstate 出发压缩第二块：3个固定字 + 随机数 + 补位（消息长度 640 bit）
+                System.arraycopy(search.midstate, 0, first, 0, 8);
+                w[0] = search.tail[0];
+                w[1] = search.tail[1];
+                w[2] = search.tail[2];
+                w[3] = Integer.reverseBytes((int) nonce);
+                w[4] = 0x80000000;
+                for (int t = 5; t < 15; t++) {
+                    w[t] = 0;
+                }
+                w[15] = HEADER_LENGTH * 8;
+                Sha256.compress(first, w);
+
+                // 2、第二次哈希：32字节输入恰好是一个块（消息长度 256 bit）
+                Sha256.initState(second);
+                System.arraycopy(first, 0, w, 0, 8);
+                w[8] = 0x80000000;
+                for (int t = 9; t < 15; t++) {
+                    w[t] = 0;
+                }
+                w[15] = 256;
+                Sha256.compress(second, w);
+
+                if (search.meets(second)) {
+                    search.solution.compareAndSet(-1, nonce);
+                    nonce++;
+                    break;
+                }
+            }
+            search.hashes.add(nonce - from);
+        }
+    }
+
+    public static void main(String[] args) {
+        // 比特币创世区块头（随机数字段清零后重新搜索）
+        byte[] header = HexUtil.decodeHex("0100000000000000000000000000000000000000000000000000000000000000"
+                + "000000003ba3edfd7a7b12b27ac72c3e67768f617fc81bc3888a51323a9fb8aa"
+                + "4b1e5e4a29ab5f49ffff001d00000000");
+        PowResult result = new ProofOfWork().search(header, decodeCompact(0x1d00ffff), 2_000_000_000L, 2_100_000_000L);
+        log.info("搜索结果：{}", result);
+    }
+}
@@ -0,0 +1,30 @@
+package org.lmx.common.trie;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 功能描述：基于内存的节点存储，用于测试与演示
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:00
+ **/
+public class MemoryNodeStore implements NodeStore {
+    private final Map<ByteBuffer, byte[]> nodes = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] get(byte[] hash) {
+        return nodes.get(ByteBuffer.wrap(hash));
+    }
+
+    @Override
+    public void put(byte[] hash, byte[] encoded) {
+        nodes.put(ByteBuffer.wrap(hash.clone()), encoded);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+}
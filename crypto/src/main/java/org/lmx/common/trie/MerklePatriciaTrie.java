@@ -0,0 +1,404 @@
+package org.lmx.common.trie;
+
+import cn.hutool.core.util.HexUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.lmx.common.crypto.Sha256;
+import org.lmx.common.trie.TrieNode.Branch;
+import org.lmx.common.trie.TrieNode.Extension;
+import org.lmx.common.trie.TrieNode.Leaf;
+import org.lmx.common.trie.TrieNode.Ref;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 功能描述：默克尔帕特里夏树（账户状态树）
+ * <pre>
+ *     参考以太坊的状态树：键按半字节拆成路径，由叶子、扩展、分支三种节点组成，节点哈希使用{@link Sha256}。
+ *  状态根唯一地确定了全部账户的状态，同一组键值无论插入顺序如何，状态根都相同。
+ *
+ *     一个区块内的 put/delete 只在内存中复制路径上的节点并标记为脏节点，不计算哈希；
+ *  {@link #getRootHash()}只对脏节点计算一次哈希，未修改的子树直接复用已有哈希；
+ *  {@link #commit()}把脏节点批量写入{@link NodeStore}并放入节点缓存，之后内存中只保留根哈希。
+ *
+ *     已提交的节点按哈希放在有容量上限的 LRU 缓存（Caffeine）中，缓存命中时一次查询只需沿路径做
+ *  几次哈希表查找（千万级账户约7层），不命中才从存储读取并解码。非线程安全。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:00
+ **/
+@Slf4j
+public class MerklePatriciaTrie {
+    /**
+     * 空树的状态根：空字节串的 SHA-256
+     */
+    private static final byte[] EMPTY_ROOT = Sha256.hash(new byte[0]);
+    /**
+     * 默认缓存的节点个数
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1 << 20;
+
+    private final NodeStore store;
+    private final Cache<Ref, TrieNode> cache;
+    /**
+     * 根节点，空树为 null
+     */
+    private TrieNode root;
+
+    /**
+     * 功能描述: 空树的状态根：空字节串的 SHA-256
+     *
+     * @return 32字节状态根的副本
+     * @author LM.X
+     * @date 2026/10/17 05:30
+     */
+    public static byte[] emptyRoot() {
+        return EMPTY_ROOT.clone();
+    }
+
+    public MerklePatriciaTrie(NodeStore store) {
+        this(store, DEFAULT_CACHE_SIZE, EMPTY_ROOT);
+    }
+
+    /**
+     * 功能描述: 从指定的状态根打开状态树
+     *
+     * @param store     节点存储
+     * @param cacheSize 缓存的节点个数上限
+     * @param rootHash  状态根
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    public MerklePatriciaTrie(NodeStore store, long cacheSize, byte[] rootHash) {
+        this.store = store;
+        this.cache = Caffeine.newBuilder().maximumSize(cacheSize).recordStats().build();
+        this.root = Arrays.equals(EMPTY_ROOT, rootHash) ? null : new Ref(rootHash.clone());
+    }
+
+    /**
+     * 功能描述: 查询
+     *
+     * @param key 键
+     * @return 值，不存在时为 null
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    public byte[] get(byte[] key) {
+        byte[] path = toNibbles(key);
+        TrieNode node = root;
+        int pos = 0;
+        while (node != null) {
+            node = resolve(node);
+            if (node instanceof Leaf) {
+                Leaf leaf = (Leaf) node;
+                return matches(leaf.path, path, pos) && pos + leaf.path.length == path.length ? leaf.value : null;
+            } else if (node instanceof Extension) {
+                Extension extension = (Extension) node;
+                if (!matches(extension.path, path, pos)) {
+                    return null;
+                }
+                pos += extension.path.length;
+                node = extension.child;
+            } else {
+                Branch branch = (Branch) node;
+                if (pos == path.length) {
+                    return branch.value;
+                }
+                node = branch.children[path[pos++]];
+            }
+        }
+        return null;
+    }
+
+    public String get(String key) {
+        byte[] value = get(key.getBytes(StandardCharsets.UTF_8));
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 功能描述: 写入，值为 null 或空时等同于删除
+     *
+     * @param key   键
+     * @param value 值
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    public void put(byte[] key, byte[] value) {
+        if (value == null || value.length == 0) {
+            delete(key);
+            return;
+        }
+        root = put(root, toNibbles(key), 0, value);
+    }
+
+    public void put(String key, String value) {
+        put(key.getBytes(StandardCharsets.UTF_8), value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 功能描述: 删除
+     *
+     * @param key 键
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    public void delete(byte[] key) {
+        root = delete(root, toNibbles(key), 0);
+    }
+
+    public void delete(String key) {
+        delete(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 功能描述: 状态根，只对脏节点计算哈希，不写入存储
+     *
+     * @return 32字节状态根
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    public byte[] getRootHash() {
+        return root == null ? EMPTY_ROOT.clone() : root.hash().clone();
+    }
+
+    public String getRootHex() {
+        return HexUtil.encodeHexStr(getRootHash());
+    }
+
+    /**
+     * 功能描述: 提交本区块的修改：脏节点写入存储并放入缓存，内存中只保留根哈希
+     *
+     * @return 32字节状态根
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    public byte[] commit() {
+        if (root == null) {
+            return EMPTY_ROOT.clone();
+        }
+        int written = persist(root);
+        byte[] rootHash = root.hash();
+        root = new Ref(rootHash);
+        if (log.isDebugEnabled()) {
+            log.debug("提交状态树：{}，写入节点：{}", HexUtil.encodeHexStr(rootHash), written);
+        }
+        return rootHash.clone();
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 功能描述: 写入子树，子树没有变化时返回传入的节点本身（可能是占位节点），上层据此不复制路径
+     */
+    private TrieNode put(TrieNode original, byte[] path, int pos, byte[] value) {
+        if (original == null) {
+            return new Leaf(Arrays.copyOfRange(path, pos, path.length), value);
+        }
+        TrieNode node = resolve(original);
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int common = commonPrefix(leaf.path, path, pos);
+            if (common == leaf.path.length && pos + common == path.length) {
+                return Arrays.equals(leaf.value, value) ? original : new Leaf(leaf.path, value);
+            }
+            TrieNode[] children = new TrieNode[16];
+            byte[] branchValue = null;
+            if (common == leaf.path.length) {
+                branchValue = leaf.value;
+            } else {
+                children[leaf.path[common]] = new Leaf(Arrays.copyOfRange(leaf.path, common + 1, leaf.path.length), leaf.value);
+            }
+            if (pos + common == path.length) {
+                branchValue = value;
+            } else {
+                children[path[pos + common]] = new Leaf(Arrays.copyOfRange(path, pos + common + 1, path.length), value);
+            }
+            return withPrefix(Arrays.copyOfRange(leaf.path, 0, common), new Branch(children, branchValue));
+        } else if (node instanceof Extension) {
+            Extension extension = (Extension) node;
+            int common = commonPrefix(extension.path, path, pos);
+            if (common == extension.path.length) {
+                TrieNode child = put(extension.child, path, pos + common, value);
+                return child == extension.child ? original : new Extension(extension.path, child);
+            }
+            TrieNode[] children = new TrieNode[16];
+            byte[] branchValue = null;
+            children[extension.path[common]] = common + 1 == extension.path.length ? extension.child
+                    : new Extension(Arrays.copyOfRange(extension.path, common + 1, extension.path.length), extension.child);
+            if (pos + common == path.length) {
+                branchValue = value;
+            } else {
+                children[path[pos + common]] = new Leaf(Arrays.copyOfRange(path, pos + common + 1, path.length), value);
+            }
+            return withPrefix(Arrays.copyOfRange(extension.path, 0, common), new Branch(children, branchValue));
+        } else {
+            Branch branch = (Branch) node;
+            if (pos == path.length) {
+                return Arrays.equals(branch.value, value) ? original : new Branch(branch.children, value);
+            }
+            TrieNode child = put(branch.children[path[pos]], path, pos + 1, value);
+            if (child == branch.children[path[pos]]) {
+                return original;
+            }
+            TrieNode[] children = branch.children.clone();
+            children[path[pos]] = child;
+            return new Branch(children, branch.value);
+        }
+    }
+
+    /**
+     * 功能描述: 从子树中删除，子树没有变化时返回传入的节点本身
+     */
+    private TrieNode delete(TrieNode original, byte[] path, int pos) {
+        if (original == null) {
+            return null;
+        }
+        TrieNode node = resolve(original);
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            return matches(leaf.path, path, pos) && pos + leaf.path.length == path.length ? null : original;
+        } else if (node instanceof Extension) {
+            Extension extension = (Extension) node;
+            if (!matches(extension.path, path, pos)) {
+                return original;
+            }
+            TrieNode child = delete(extension.child, path, pos + extension.path.length);
+            if (child == extension.child) {
+                return original;
+            }
+            return child == null ? null : withPrefix(extension.path, child);
+        } else {
+            Branch branch = (Branch) node;
+            TrieNode[] children = branch.children;
+            byte[] value = branch.value;
+            if (pos == path.length) {
+                if (value == null) {
+                    return original;
+                }
+                value = null;
+            } else {
+                TrieNode child = delete(children[path[pos]], path, pos + 1);
+                if (child == children[path[pos]]) {
+                    return original;
+                }
+                children = children.clone();
+                children[path[pos]] = child;
+            }
+
+            int only = -1;
+            int count = 0;
+            for (int i = 0; i < 16; i++) {
+                if (children[i] != null) {
+                    only = i;
+                    count++;
+                }
+            }
+            if (count + (value == null ? 0 : 1) >= 2) {
+                return new Branch(children, value);
+            }
+            if (count == 0) {
+                return value == null ? null : new Leaf(TrieNode.EMPTY_PATH, value);
+            }
+            // 只剩一个子节点：与其合并，保持树的规范形式
+            return withPrefix(new byte[]{(byte) only}, children[only]);
+        }
+    }
+
+    /**
+     * 功能描述: 在节点前加上一段路径，与叶子、扩展节点的路径合并
+     */
+    private TrieNode withPrefix(byte[] prefix, TrieNode node) {
+        if (prefix.length == 0) {
+            return node;
+        }
+        TrieNode resolved = resolve(node);
+        if (resolved instanceof Leaf) {
+            return new Leaf(concat(prefix, ((Leaf) resolved).path), ((Leaf) resolved).value);
+        } else if (resolved instanceof Extension) {
+            return new Extension(concat(prefix, ((Extension) resolved).path), ((Extension) resolved).child);
+        }
+        return new Extension(prefix, node);
+    }
+
+    /**
+     * 功能描述: 将占位节点解码为完整节点：先查缓存，再查存储
+     */
+    private TrieNode resolve(TrieNode node) {
+        if (!(node instanceof Ref)) {
+            return node;
+        }
+        TrieNode resolved = cache.getIfPresent(node);
+        if (resolved == null) {
+            byte[] encoded = store.get(node.hash);
+            if (encoded == null) {
+                throw new IllegalStateException("状态树节点缺失：" + HexUtil.encodeHexStr(node.hash));
+            }
+            resolved = TrieNode.decode(node.hash, encoded);
+            cache.put((Ref) node, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * 功能描述: 自底向上写入脏节点
+     *
+     * @return 写入的节点个数
+     */
+    private int persist(TrieNode node) {
+        if (node == null || !node.dirty) {
+            return 0;
+        }
+        int written = 0;
+        if (node instanceof Extension) {
+            written += persist(((Extension) node).child);
+        } else if (node instanceof Branch) {
+            for (TrieNode child : ((Branch) node).children) {
+                written += persist(child);
+            }
+        }
+        byte[] encoded = node.encode();
+        if (node.hash == null) {
+            node.hash = Sha256.hash(encoded);
+        }
+        store.put(node.hash, encoded);
+        node.dirty = false;
+        // 缓存中的节点只通过哈希引用子节点，避免已提交的整棵树经由根节点常驻内存
+        cache.put(new Ref(node.hash), node instanceof Leaf ? node : TrieNode.decode(node.hash, encoded));
+        return written + 1;
+    }
+
+    private static byte[] toNibbles(byte[] key) {
+        byte[] nibbles = new byte[key.length << 1];
+        for (int i = 0; i < key.length; i++) {
+            nibbles[i << 1] = (byte) ((key[i] >>> 4) & 0x0f);
+            nibbles[(i << 1) + 1] = (byte) (key[i] & 0x0f);
+        }
+        return nibbles;
+    }
+
+    private static boolean matches(byte[] nodePath, byte[] path, int pos) {
+        return commonPrefix(nodePath, path, pos) == nodePath.length;
+    }
+
+    private static int commonPrefix(byte[] nodePath, byte[] path, int pos) {
+        int max = Math.min(nodePath.length, path.length - pos);
+        int i = 0;
+        while (i < max && nodePath[i] == path[pos + i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package org.lmx.common.trie;
+
+/**
+ * 功能描述：状态树节点存储，以节点哈希为键保存节点编码
+ * <pre>
+ *     节点按内容寻址，写入后不会再修改，实现可以是内存、LevelDB/RocksDB 或映射文件。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:00
+ **/
+public interface NodeStore {
+    /**
+     * 功能描述: 读取节点编码
+     *
+     * @param hash 32字节节点哈希
+     * @return 节点编码，不存在时为 null
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    byte[] get(byte[] hash);
+
+    /**
+     * 功能描述: 写入节点编码
+     *
+     * @param hash    32字节节点哈希
+     * @param encoded 节点编码
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    void put(byte[] hash, byte[] encoded);
+}
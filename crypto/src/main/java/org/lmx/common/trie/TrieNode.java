@@ -0,0 +1,242 @@
+package org.lmx.common.trie;
+
+import org.lmx.common.crypto.Sha256;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 功能描述：默克尔帕特里夏树的节点
+ * <pre>
+ *     四种节点：
+ *     Leaf       剩余路径 + 值
+ *     Extension  共享路径 + 唯一子节点
+ *     Branch     16个子节点（按半字节分叉）+ 可选的值
+ *     Ref        只有哈希的占位节点，需要时从缓存或存储中解码
+ *
+ *     节点创建后内容不再修改，更新时复制路径上的节点，因此已提交的节点可以放心地共享在缓存中。
+ *  hash 为节点编码的 SHA-256，只计算一次；dirty 表示节点尚未写入存储。
+ *
+ *     编码格式：类型(1) | 路径半字节数(2) | 打包的路径 | ...
+ *     Leaf       值长度(4) | 值
+ *     Extension  子节点哈希(32)
+ *     Branch     子节点位图(2) | 各子节点哈希(32) | 值长度(4) | 值
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:00
+ **/
+abstract class TrieNode {
+    static final int HASH_LENGTH = 32;
+    static final byte[] EMPTY_PATH = new byte[0];
+
+    private static final byte LEAF = 1;
+    private static final byte EXTENSION = 2;
+    private static final byte BRANCH = 3;
+
+    /**
+     * 节点哈希，为 null 表示尚未计算
+     */
+    byte[] hash;
+    /**
+     * 是否尚未写入存储
+     */
+    boolean dirty;
+
+    /**
+     * 功能描述: 计算节点哈希，已计算过的子树直接复用
+     *
+     * @return 32字节哈希
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    byte[] hash() {
+        if (hash == null) {
+            hash = Sha256.hash(encode());
+        }
+        return hash;
+    }
+
+    /**
+     * 功能描述: 节点编码，子节点先计算哈希
+     *
+     * @return 节点编码
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    abstract byte[] encode();
+
+    static final class Leaf extends TrieNode {
+        final byte[] path;
+        final byte[] value;
+
+        Leaf(byte[] path, byte[] value) {
+            this.path = path;
+            this.value = value;
+            this.dirty = true;
+        }
+
+        @Override
+        byte[] encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(pathLength(path) + 4 + value.length);
+            putPath(buffer, LEAF, path);
+            buffer.putInt(value.length).put(value);
+            return buffer.array();
+        }
+    }
+
+    static final class Extension extends TrieNode {
+        final byte[] path;
+        final TrieNode child;
+
+        Extension(byte[] path, TrieNode child) {
+            this.path = path;
+            this.child = child;
+            this.dirty = true;
+        }
+
+        @Override
+        byte[] encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(pathLength(path) + HASH_LENGTH);
+            putPath(buffer, EXTENSION, path);
+            buffer.put(child.hash());
+            return buffer.array();
+        }
+    }
+
+    static final class Branch extends TrieNode {
+        final TrieNode[] children;
+        final byte[] value;
+
+        Branch(TrieNode[] children, byte[] value) {
+            this.children = children;
+            this.value = value;
+            this.dirty = true;
+        }
+
+        @Override
+        byte[] encode() {
+            int bitmap = 0;
+            int count = 0;
+            for (int i = 0; i < 16; i++) {
+                if (children[i] != null) {
+                    bitmap |= 1 << i;
+                    count++;
+                }
+            }
+            int valueLength = value == null ? 0 : value.length;
+            ByteBuffer buffer = ByteBuffer.allocate(pathLength(EMPTY_PATH) + 2 + count * HASH_LENGTH + 4 + valueLength);
+            putPath(buffer, BRANCH, EMPTY_PATH);
+            buffer.putShort((short) bitmap);
+            for (TrieNode child : children) {
+                if (child != null) {
+                    buffer.put(child.hash());
+                }
+            }
+            buffer.putInt(valueLength);
+            if (value != null) {
+                buffer.put(value);
+            }
+            return buffer.array();
+        }
+    }
+
+    /**
+     * 功能描述：只有哈希的占位节点，同时作为节点缓存的键
+     */
+    static final class Ref extends TrieNode {
+        private final int hashCode;
+
+        Ref(byte[] hash) {
+            this.hash = hash;
+            this.hashCode = (hash[0] & 0xff) << 24 | (hash[1] & 0xff) << 16 | (hash[2] & 0xff) << 8 | (hash[3] & 0xff);
+        }
+
+        @Override
+        byte[] encode() {
+            throw new IllegalStateException("占位节点没有编码");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Ref && Arrays.equals(hash, ((Ref) o).hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * 功能描述: 解码节点，子节点解码为占位节点
+     *
+     * @param hash    节点哈希
+     * @param encoded 节点编码
+     * @return 已提交的节点
+     * @author LM.X
+     * @date 2026/10/16 23:00
+     */
+    static TrieNode decode(byte[] hash, byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        byte type = buffer.get();
+        byte[] path = getPath(buffer);
+        TrieNode node;
+        switch (type) {
+            case LEAF:
+                node = new Leaf(path, getBytes(buffer, buffer.getInt()));
+                break;
+            case EXTENSION:
+                node = new Extension(path, new Ref(getBytes(buffer, HASH_LENGTH)));
+                break;
+            case BRANCH:
+                int bitmap = buffer.getShort() & 0xffff;
+                TrieNode[] children = new TrieNode[16];
+                for (int i = 0; i < 16; i++) {
+                    if ((bitmap & (1 << i)) != 0) {
+                        children[i] = new Ref(getBytes(buffer, HASH_LENGTH));
+                    }
+                }
+                int valueLength = buffer.getInt();
+                node = new Branch(children, valueLength == 0 ? null : getBytes(buffer, valueLength));
+                break;
+            default:
+                throw new IllegalArgumentException("未知的节点类型：" + type);
+        }
+        node.hash = hash;
+        node.dirty = false;
+        return node;
+    }
+
+    private static int pathLength(byte[] path) {
+        return 1 + 2 + ((path.length + 1) >>> 1);
+    }
+
+    private static void putPath(ByteBuffer buffer, byte type, byte[] path) {
+        buffer.put(type).putShort((short) path.length);
+        for (int i = 0; i < path.length; i += 2) {
+            int low = i + 1 < path.length ? path[i + 1] : 0;
+            buffer.put((byte) (path[i] << 4 | low));
+        }
+    }
+
+    private static byte[] getPath(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xffff;
+        byte[] path = new byte[length];
+        for (int i = 0; i < length; i += 2) {
+            int b = buffer.get() & 0xff;
+            path[i] = (byte) (b >>> 4);
+            if (i + 1 < length) {
+                path[i + 1] = (byte) (b & 0x0f);
+            }
+        }
+        return path;
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,148 @@
+package org.lmx.common.crypto;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.crypto.AEADBadTagException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 功能描述：AesGcmEngine 往返、篡改、截断与重排
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 03:30
+ **/
+public class AesGcmEngineTest {
+    private static final int CHUNK = 1024;
+    private static final int SEALED_CHUNK = CHUNK + AesGcmEngine.TAG_LENGTH;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final byte[] key = AesGcmEngine.generateKey();
+    private final AesGcmEngine engine = new AesGcmEngine(key, CHUNK);
+
+    @Test
+    public void roundTripBytes() throws GeneralSecurityException {
+        for (int length : new int[]{0, 1, CHUNK - 1, CHUNK, CHUNK + 1, 3 * CHUNK, 5 * CHUNK + 7}) {
+            byte[] plain = random(length);
+            byte[] sealed = engine.encrypt(plain);
+            assertEquals(engine.encryptedLength(length), sealed.length);
+            assertArrayEquals(plain, engine.decrypt(sealed));
+        }
+    }
+
+    @Test
+    public void roundTripStream() throws Exception {
+        byte[] plain = random(4 * CHUNK + 100);
+        ByteArrayOutputStream sealed = new ByteArrayOutputStream();
+        engine.encrypt(new ByteArrayInputStream(plain), sealed);
+        ByteArrayOutputStream opened = new ByteArrayOutputStream();
+        engine.decrypt(new ByteArrayInputStream(sealed.toByteArray()), opened);
+        assertArrayEquals(plain, opened.toByteArray());
+    }
+
+    @Test
+    public void roundTripFileChannelInParallel() throws Exception {
+        byte[] plain = random(64 * CHUNK + 3);
+        File source = folder.newFile();
+        File sealed = folder.newFile();
+        File opened = folder.newFile();
+        Files.write(source.toPath(), plain);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            try (FileChannel in = FileChannel.open(source.toPath());
+                 FileChannel out = FileChannel.open(sealed.toPath(), StandardOpenOption.WRITE)) {
+                engine.encrypt(in, out, pool);
+            }
+            try (FileChannel in = FileChannel.open(sealed.toPath());
+                 FileChannel out = FileChannel.open(opened.toPath(), StandardOpenOption.WRITE)) {
+                engine.decrypt(in, out, pool);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        // 文件通道与内存两种方式的密文格式一致
+        assertArrayEquals(plain, engine.decrypt(Files.readAllBytes(sealed.toPath())));
+        assertArrayEquals(plain, Files.readAllBytes(opened.toPath()));
+    }
+
+    @Test
+    public void tamperedByteIsRejected() throws GeneralSecurityException {
+        byte[] sealed = engine.encrypt(random(3 * CHUNK));
+        for (int position : new int[]{0, 12, AesGcmEngine.HEADER_LENGTH, AesGcmEngine.HEADER_LENGTH + SEALED_CHUNK + 5, sealed.length - 1}) {
+            byte[] copy = sealed.clone();
+            copy[position] ^= 1;
+            assertRejected(copy);
+        }
+    }
+
+    @Test
+    public void truncationIsRejected() throws GeneralSecurityException {
+        byte[] sealed = engine.encrypt(random(3 * CHUNK));
+        // 截掉最后一块的一部分
+        assertRejected(Arrays.copyOf(sealed, sealed.length - 1));
+        // 正好截在块边界：剩下的块都是完整的，但没有"最后一块"标记
+        assertRejected(Arrays.copyOf(sealed, AesGcmEngine.HEADER_LENGTH + 2 * SEALED_CHUNK));
+        // 只剩文件头
+        assertRejected(Arrays.copyOf(sealed, AesGcmEngine.HEADER_LENGTH));
+    }
+
+    @Test
+    public void reorderedChunksAreRejected() throws GeneralSecurityException {
+        byte[] sealed = engine.encrypt(random(3 * CHUNK));
+        byte[] swapped = sealed.clone();
+        int first = AesGcmEngine.HEADER_LENGTH;
+        int second = first + SEALED_CHUNK;
+        System.arraycopy(sealed, first, swapped, second, SEALED_CHUNK);
+        System.arraycopy(sealed, second, swapped, first, SEALED_CHUNK);
+        assertRejected(swapped);
+    }
+
+    @Test
+    public void wrongKeyIsRejected() throws GeneralSecurityException {
+        byte[] sealed = engine.encrypt(random(100));
+        try {
+            new AesGcmEngine(AesGcmEngine.generateKey()).decrypt(sealed);
+            fail("密钥错误时应认证失败");
+        } catch (AEADBadTagException expected) {
+            // 预期
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyChunksIsRejected() {
+        // 块大小为1时超过 nonce 块序号的上限
+        new AesGcmEngine(key, 1).encryptedLength(1L << 32);
+    }
+
+    private void assertRejected(byte[] sealed) {
+        try {
+            engine.decrypt(sealed);
+            fail("被篡改或截断的密文不应通过认证");
+        } catch (GeneralSecurityException expected) {
+            // 预期
+        }
+    }
+
+    private static byte[] random(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,164 @@
+package org.lmx.common.crypto;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 功能描述：BloomFilter 误判率、序列化与并发读写
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 06:40
+ **/
+public class BloomFilterTest {
+
+    @Test
+    public void noFalseNegativesAndBoundedFalsePositives() {
+        int n = 10_000;
+        double fpp = 0.01;
+        BloomFilter filter = BloomFilter.create(n, fpp, 7);
+        int added = 0;
+        for (int i = 0; i < n; i++) {
+            if (filter.add(element(i))) {
+                added++;
+            }
+        }
+        // 返回 false 只可能是误判：所有位恰好都已置位
+        assertTrue(added > n - 3 * fpp * n);
+        for (int i = 0; i < n; i++) {
+            assertTrue(filter.mightContain(element(i)));
+            assertFalse(filter.add(element(i)));
+        }
+        int falsePositives = 0;
+        for (int i = n; i < 2 * n; i++) {
+            if (filter.mightContain(element(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("误判过多：" + falsePositives, falsePositives < 3 * fpp * n);
+    }
+
+    @Test
+    public void tweakChangesPositions() {
+        BloomFilter a = BloomFilter.create(100, 0.01, 1);
+        BloomFilter b = BloomFilter.create(100, 0.01, 2);
+        a.add(element(1));
+        b.add(element(1));
+        assertFalse(Arrays.equals(a.toByteArray(), b.toByteArray()));
+    }
+
+    @Test
+    public void byteArrayRoundTrip() {
+        BloomFilter filter = BloomFilter.create(1000, 0.001, 0x12345678);
+        for (int i = 0; i < 1000; i += 3) {
+            filter.add(element(i));
+        }
+        BloomFilter decoded = BloomFilter.fromByteArray(filter.toByteArray());
+        assertEquals(filter.getNumBits(), decoded.getNumBits());
+        assertEquals(filter.getNumHashFuncs(), decoded.getNumHashFuncs());
+        assertEquals(filter.getTweak(), decoded.getTweak());
+        assertEquals(filter.bitCount(), decoded.bitCount());
+        assertArrayEquals(filter.toByteArray(), decoded.toByteArray());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(filter.mightContain(element(i)), decoded.mightContain(element(i)));
+        }
+    }
+
+    @Test
+    public void badByteArraysAreRejected() {
+        byte[] valid = BloomFilter.create(100, 0.01, 1).toByteArray();
+        // 不足文件头
+        assertInvalid(new byte[8]);
+        // 位数组被截断、多出字节
+        assertInvalid(Arrays.copyOf(valid, valid.length - 1));
+        assertInvalid(Arrays.copyOf(valid, valid.length + 8));
+        // 位数组长度为0、不是8的整数倍
+        assertInvalid(ByteBuffer.allocate(9).put((byte) 3).putInt(1).putInt(0).array());
+        assertInvalid(ByteBuffer.allocate(13).put((byte) 3).putInt(1).putInt(4).array());
+        // 哈希函数个数为0、超过上限
+        byte[] noHash = valid.clone();
+        noHash[0] = 0;
+        assertInvalid(noHash);
+        byte[] tooManyHashes = valid.clone();
+        tooManyHashes[0] = (byte) (BloomFilter.MAX_HASH_FUNCS + 1);
+        assertInvalid(tooManyHashes);
+    }
+
+    @Test
+    public void concurrentAddAndMightContain() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        BloomFilter filter = BloomFilter.create((long) threads * perThread, 0.001, 3);
+        ExecutorService pool = Executors.newFixedThreadPool(threads * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                writers.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int i = base; i < base + perThread; i++) {
+                        filter.add(element(i));
+                        // 自己写入的元素立刻可见，并发写入同一字的 CAS 不会丢位
+                        assertTrue(filter.mightContain(element(i)));
+                        if ((i & 63) == 0) {
+                            assertTrue(filter.mightContain(element(base + (i - base) / 2)));
+                        }
+                    }
+                    return null;
+                }));
+                readers.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    while (writing.get()) {
+                        filter.mightContain(element(base));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        for (int i = 0; i < threads * perThread; i++) {
+            assertTrue(filter.mightContain(element(i)));
+        }
+    }
+
+    private static void assertInvalid(byte[] bytes) {
+        try {
+            BloomFilter.fromByteArray(bytes);
+            fail("格式错误的数据应被拒绝");
+        } catch (IllegalArgumentException expected) {
+            // 预期
+        }
+    }
+
+    static byte[] element(int i) {
+        return ByteBuffer.allocate(8).putInt(i).putInt(~i).array();
+    }
+}
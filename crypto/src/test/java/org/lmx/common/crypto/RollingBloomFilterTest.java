@@ -0,0 +1,122 @@
+package org.lmx.common.crypto;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.lmx.common.crypto.BloomFilterTest.element;
+
+/**
+ * 功能描述：RollingBloomFilter 轮换后仍记得最近 capacity 个元素
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 06:40
+ **/
+public class RollingBloomFilterTest {
+    private static final int CAPACITY = 1000;
+
+    @Test
+    public void recentItemsSurviveRollover() {
+        RollingBloomFilter filter = new RollingBloomFilter(CAPACITY, 1e-6);
+        ArrayDeque<Integer> recent = new ArrayDeque<>();
+        for (int i = 0; i < 20 * CAPACITY; i++) {
+            filter.add(element(i));
+            recent.addLast(i);
+            if (recent.size() > CAPACITY) {
+                recent.removeFirst();
+            }
+            if (i % 97 == 0) {
+                for (int r : recent) {
+                    assertTrue("第 " + i + " 次加入后忘记了 " + r, filter.mightContain(element(r)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 重复加入已在上一代的元素时也要写入当前代，否则下一次轮换后会被忘记
+     */
+    @Test
+    public void reAddedItemsSurviveRollover() {
+        RollingBloomFilter filter = new RollingBloomFilter(CAPACITY, 1e-6);
+        Random random = new Random(20261017);
+        ArrayDeque<Integer> recent = new ArrayDeque<>();
+        int fresh = 1_000_000;
+        for (int step = 0; step < 20 * CAPACITY; step++) {
+            // 约一半是最近出现过的元素
+            int value = random.nextBoolean() && !recent.isEmpty()
+                    ? new ArrayList<>(recent).get(random.nextInt(recent.size())) : fresh++;
+            filter.add(element(value));
+            recent.addLast(value);
+            if (recent.size() > CAPACITY) {
+                recent.removeFirst();
+            }
+            if (step % 101 == 0) {
+                for (int r : recent) {
+                    assertTrue("第 " + step + " 步后忘记了 " + r, filter.mightContain(element(r)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void oldItemsAreEventuallyForgotten() {
+        RollingBloomFilter filter = new RollingBloomFilter(CAPACITY, 1e-6);
+        assertTrue(filter.add(element(-1)));
+        assertFalse(filter.add(element(-1)));
+        for (int i = 0; i < 3 * CAPACITY; i++) {
+            filter.add(element(i));
+        }
+        assertFalse(filter.mightContain(element(-1)));
+        assertTrue(filter.add(element(-1)));
+    }
+
+    @Test
+    public void concurrentAddsAreRemembered() throws Exception {
+        int threads = 8;
+        int perThread = 20 * CAPACITY;
+        RollingBloomFilter filter = new RollingBloomFilter(CAPACITY, 1e-6);
+        AtomicLong order = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                futures.add(pool.submit((Callable<Void>) () -> {
+                    long[] addedAt = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        // 序号在加入之前取得：此后开始的加入都排在它后面
+                        addedAt[i] = order.incrementAndGet();
+                        filter.add(element(base + i));
+                        if ((i & 127) != 0) {
+                            continue;
+                        }
+                        // 全局最近 capacity / 2 次加入中属于本线程的元素一定还在，留一半余量给并发加入的先后误差；
+                        // 查询之后再读一次序号，排除查询期间线程被挂起、元素确实已经过期的情况
+                        for (int r = i; r >= 0 && order.get() - addedAt[r] < CAPACITY / 2; r--) {
+                            boolean present = filter.mightContain(element(base + r));
+                            assertTrue(present || order.get() - addedAt[r] >= CAPACITY / 2);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
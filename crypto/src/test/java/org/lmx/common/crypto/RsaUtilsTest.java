@@ -0,0 +1,157 @@
+package org.lmx.common.crypto;
+
+import cn.hutool.core.codec.Base64;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 功能描述：RsaUtils 签名、验签、批量验签与加解密
+ * <pre>
+ *     验证通过的签名会进入全局的 SignatureCache，每个用例使用各自的消息，互不影响。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 08:30
+ **/
+public class RsaUtilsTest {
+    private static KeyPair keys;
+    private static KeyPair otherKeys;
+
+    @BeforeClass
+    public static void generateKeys() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keys = generator.generateKeyPair();
+        otherKeys = generator.generateKeyPair();
+    }
+
+    @Test
+    public void validSignatureVerifies() throws GeneralSecurityException {
+        byte[] message = message("valid");
+        byte[] signature = RsaUtils.sign(message, keys.getPrivate());
+        assertTrue(RsaUtils.verify(message, signature, keys.getPublic()));
+        // 第二次命中验签缓存，结果不变
+        assertTrue(RsaUtils.verify(message, signature, keys.getPublic()));
+
+        String privateKey = Base64.encode(keys.getPrivate().getEncoded());
+        String publicKey = Base64.encode(keys.getPublic().getEncoded());
+        assertTrue(RsaUtils.verify(message, RsaUtils.sign(message, privateKey), publicKey));
+    }
+
+    @Test
+    public void tamperedMessageOrSignatureFails() throws GeneralSecurityException {
+        byte[] message = message("tampered");
+        byte[] signature = RsaUtils.sign(message, keys.getPrivate());
+        assertTrue(RsaUtils.verify(message, signature, keys.getPublic()));
+
+        byte[] otherMessage = message.clone();
+        otherMessage[0] ^= 1;
+        assertFalse(RsaUtils.verify(otherMessage, signature, keys.getPublic()));
+        byte[] otherSignature = signature.clone();
+        otherSignature[signature.length / 2] ^= 1;
+        assertFalse(RsaUtils.verify(message, otherSignature, keys.getPublic()));
+    }
+
+    @Test
+    public void malformedSignatureFails() throws GeneralSecurityException {
+        byte[] message = message("malformed");
+        byte[] signature = RsaUtils.sign(message, keys.getPrivate());
+        assertFalse(RsaUtils.verify(message, new byte[0], keys.getPublic()));
+        assertFalse(RsaUtils.verify(message, Arrays.copyOf(signature, signature.length - 1), keys.getPublic()));
+        assertFalse(RsaUtils.verify(message, Arrays.copyOf(signature, signature.length + 1), keys.getPublic()));
+        byte[] garbage = new byte[signature.length];
+        Arrays.fill(garbage, (byte) 0xff);
+        assertFalse(RsaUtils.verify(message, garbage, keys.getPublic()));
+    }
+
+    @Test
+    public void wrongKeyFails() throws GeneralSecurityException {
+        byte[] message = message("wrong key");
+        byte[] signature = RsaUtils.sign(message, keys.getPrivate());
+        assertFalse(RsaUtils.verify(message, signature, otherKeys.getPublic()));
+        assertFalse(RsaUtils.verify(message, RsaUtils.sign(message, otherKeys.getPrivate()), keys.getPublic()));
+        // 用错误的公钥验证失败后，正确的公钥仍能通过
+        assertTrue(RsaUtils.verify(message, signature, keys.getPublic()));
+    }
+
+    @Test
+    public void batchMatchesSingleVerification() throws GeneralSecurityException {
+        List<byte[]> messages = new ArrayList<>();
+        List<byte[]> signatures = new ArrayList<>();
+        List<PublicKey> publicKeys = new ArrayList<>();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 40; i++) {
+            byte[] message = message("batch-" + i);
+            byte[] signature = RsaUtils.sign(message, keys.getPrivate());
+            PublicKey publicKey = keys.getPublic();
+            switch (i % 4) {
+                case 0:
+                    expected.set(i);
+                    break;
+                case 1:
+                    signature[0] ^= 1;
+                    break;
+                case 2:
+                    signature = Arrays.copyOf(signature, 10);
+                    break;
+                default:
+                    publicKey = otherKeys.getPublic();
+                    break;
+            }
+            messages.add(message);
+            signatures.add(signature);
+            publicKeys.add(publicKey);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, RsaUtils.verifyBatch(messages, signatures, publicKeys, pool));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected, RsaUtils.verifyBatch(messages, signatures, publicKeys));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchRejectsMismatchedSizes() {
+        RsaUtils.verifyBatch(Arrays.asList(new byte[1], new byte[1]), Arrays.asList(new byte[1]),
+                Arrays.asList(keys.getPublic(), keys.getPublic()));
+    }
+
+    @Test
+    public void encryptAndDecryptWithAlternatingKeys() throws GeneralSecurityException {
+        String text = "这是一段RSA加密明文。";
+        String publicKey = Base64.encode(keys.getPublic().getEncoded());
+        String privateKey = Base64.encode(keys.getPrivate().getEncoded());
+        // 同一线程交替使用两对密钥，不会沿用上一次的密钥
+        for (int i = 0; i < 3; i++) {
+            assertEquals(text, RsaUtils.rsaDeCrypt(RsaUtils.rsaEnCrypt(text, keys.getPublic()), keys.getPrivate()));
+            assertEquals(text, RsaUtils.rsaDeCrypt(RsaUtils.rsaEnCrypt(text, otherKeys.getPublic()), otherKeys.getPrivate()));
+            assertEquals(text, RsaUtils.rsaDeCrypt(RsaUtils.rsaEnCrypt(text, publicKey), privateKey));
+        }
+    }
+
+    @Test(expected = GeneralSecurityException.class)
+    public void invalidBase64KeyIsRejected() throws GeneralSecurityException {
+        RsaUtils.verify(message("invalid key"), new byte[256], Base64.encode(new byte[]{1, 2, 3}));
+    }
+
+    private static byte[] message(String text) {
+        return ("RsaUtilsTest/" + text).getBytes(StandardCharsets.UTF_8);
+    }
+}
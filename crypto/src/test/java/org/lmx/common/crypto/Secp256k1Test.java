@@ -0,0 +1,174 @@
+package org.lmx.common.crypto;
+
+import cn.hutool.core.util.HexUtil;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 功能描述：Secp256k1 已知答案（RFC 6979，SHA-256，low-S）与签名、验签、恢复往返
+ * <pre>
+ *     已知答案与 BouncyCastle（HMacDSAKCalculator + SHA-256，s 取 low-S）的输出一致，签名以 r || s || recId 表示。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 04:50
+ **/
+public class Secp256k1Test {
+    private static final String G_X = "79be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798";
+    private static final String G_Y = "483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8";
+    private static final String N_MINUS_1 = "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140";
+
+    /**
+     * 私钥、消息（签名其 SHA-256）、签名
+     */
+    private static final String[][] VECTORS = {
+            {"0000000000000000000000000000000000000000000000000000000000000001",
+                    "Satoshi Nakamoto",
+                    "934b1ea10a4b3c1757e2b0c017d0b6143ce3c9a7e6a4a49860d7a6ab210ee3d8"
+                            + "2442ce9d2b916064108014783e923ec36b49743e2ffa1c4496f01a512aafd9e5" + "01"},
+            {"0000000000000000000000000000000000000000000000000000000000000001",
+                    "All those moments will be lost in time, like tears in rain. Time to die...",
+                    "8600dbd41e348fe5c9465ab92d23e3db8b98b873beecd930736488696438cb6b"
+                            + "547fe64427496db33bf66019dacbf0039c04199abb0122918601db38a72cfc21" + "00"},
+            {N_MINUS_1,
+                    "Satoshi Nakamoto",
+                    "fd567d121db66e382991534ada77a6bd3106f0a1098c231e47993447cd6af2d0"
+                            + "6b39cd0eb1bc8603e159ef5c20a5c8ad685a45b06ce9bebed3f153d10d93bed5" + "00"},
+            {"69ec59eaa1f4f2e36b639716b7c30ca86d9a5375c7b38d8918bd9c0ebc80ba64",
+                    "Computer science is no more about computers than astronomy is about telescopes.",
+                    "7186363571d65e084e7f02b0b77c3ec44fb1b257dee26274c38c928986fea45d"
+                            + "0de0b38e06807e46bda1f1e293f4f6323e854c86d58abdd00c46c16441085df6" + "00"},
+    };
+
+    @Test
+    public void publicKeyOfKnownScalars() {
+        byte[] one = HexUtil.decodeHex(VECTORS[0][0]);
+        assertEquals("02" + G_X, HexUtil.encodeHexStr(Secp256k1.publicKey(one, true)));
+        assertEquals("04" + G_X + G_Y, HexUtil.encodeHexStr(Secp256k1.publicKey(one, false)));
+        // (n - 1) * G = -G，y 取反后为奇数
+        assertEquals("03" + G_X, HexUtil.encodeHexStr(Secp256k1.publicKey(HexUtil.decodeHex(N_MINUS_1), true)));
+    }
+
+    @Test
+    public void knownAnswerSignatures() {
+        for (String[] vector : VECTORS) {
+            byte[] privateKey = HexUtil.decodeHex(vector[0]);
+            byte[] hash = Sha256.hash(vector[1].getBytes(StandardCharsets.UTF_8));
+            assertEquals(vector[1], vector[2], HexUtil.encodeHexStr(Secp256k1.sign(hash, privateKey)));
+        }
+    }
+
+    @Test
+    public void knownAnswerVerifyAndRecover() {
+        for (String[] vector : VECTORS) {
+            byte[] hash = Sha256.hash(vector[1].getBytes(StandardCharsets.UTF_8));
+            byte[] signature = HexUtil.decodeHex(vector[2]);
+            for (boolean compressed : new boolean[]{true, false}) {
+                byte[] publicKey = Secp256k1.publicKey(HexUtil.decodeHex(vector[0]), compressed);
+                assertTrue(Secp256k1.verify(hash, signature, publicKey));
+                assertTrue(Secp256k1.verify(hash, Arrays.copyOf(signature, 64), publicKey));
+                assertArrayEquals(publicKey, Secp256k1.recover(hash, signature, compressed));
+            }
+        }
+    }
+
+    @Test
+    public void signVerifyRecoverRoundTrip() {
+        Random random = new Random(20261017);
+        byte[] hash = new byte[32];
+        for (int i = 0; i < 50; i++) {
+            byte[] privateKey = Secp256k1.generatePrivateKey();
+            byte[] publicKey = Secp256k1.publicKey(privateKey, true);
+            random.nextBytes(hash);
+            byte[] signature = Secp256k1.sign(hash, privateKey);
+            assertEquals(Secp256k1.SIGNATURE_LENGTH, signature.length);
+            // 确定性签名
+            assertArrayEquals(signature, Secp256k1.sign(hash, privateKey));
+            assertTrue(isLowS(signature));
+            assertTrue(Secp256k1.verify(hash, signature, publicKey));
+            assertArrayEquals(publicKey, Secp256k1.recover(hash, signature, true));
+            assertArrayEquals(Secp256k1.publicKey(privateKey, false), Secp256k1.recover(hash, signature, false));
+        }
+    }
+
+    @Test
+    public void tamperedInputIsRejected() {
+        byte[] privateKey = HexUtil.decodeHex(VECTORS[3][0]);
+        byte[] publicKey = Secp256k1.publicKey(privateKey, true);
+        byte[] hash = Sha256.hash(VECTORS[3][1].getBytes(StandardCharsets.UTF_8));
+        byte[] signature = HexUtil.decodeHex(VECTORS[3][2]);
+
+        byte[] otherHash = hash.clone();
+        otherHash[0] ^= 1;
+        assertFalse(Secp256k1.verify(otherHash, signature, publicKey));
+        for (int position : new int[]{0, 31, 32, 63}) {
+            byte[] tampered = signature.clone();
+            tampered[position] ^= 1;
+            assertFalse(Secp256k1.verify(hash, tampered, publicKey));
+            byte[] recovered = Secp256k1.recover(hash, tampered, true);
+            assertFalse(recovered != null && Arrays.equals(recovered, publicKey));
+        }
+        assertFalse(Secp256k1.verify(hash, signature, Secp256k1.publicKey(HexUtil.decodeHex(VECTORS[0][0]), true)));
+        // recId 翻转后恢复出的是另一个公钥
+        byte[] flipped = signature.clone();
+        flipped[64] ^= 1;
+        assertFalse(Arrays.equals(publicKey, Secp256k1.recover(hash, flipped, true)));
+    }
+
+    @Test
+    public void malformedInputIsRejected() {
+        byte[] hash = Sha256.hash(VECTORS[0][1].getBytes(StandardCharsets.UTF_8));
+        byte[] publicKey = Secp256k1.publicKey(HexUtil.decodeHex(VECTORS[0][0]), true);
+        byte[] signature = HexUtil.decodeHex(VECTORS[0][2]);
+
+        // r = 0、s = n 均不在 [1, n) 内
+        byte[] zeroR = signature.clone();
+        Arrays.fill(zeroR, 0, 32, (byte) 0);
+        assertFalse(Secp256k1.verify(hash, zeroR, publicKey));
+        assertNull(Secp256k1.recover(hash, zeroR, true));
+        byte[] sEqualsN = signature.clone();
+        System.arraycopy(HexUtil.decodeHex("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141"), 0, sEqualsN, 32, 32);
+        assertFalse(Secp256k1.verify(hash, sEqualsN, publicKey));
+
+        byte[] badRecId = signature.clone();
+        badRecId[64] = 4;
+        assertNull(Secp256k1.recover(hash, badRecId, true));
+
+        assertFalse(Secp256k1.verify(hash, Arrays.copyOf(signature, 63), publicKey));
+        // 不在曲线上的点
+        assertFalse(Secp256k1.verify(hash, signature, HexUtil.decodeHex("04" + G_X + G_X)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroPrivateKeyIsRejected() {
+        Secp256k1.sign(new byte[32], new byte[32]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void privateKeyEqualToOrderIsRejected() {
+        Secp256k1.publicKey(HexUtil.decodeHex("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141"), true);
+    }
+
+    private static boolean isLowS(byte[] signature) {
+        byte[] s = Arrays.copyOfRange(signature, 32, 64);
+        byte[] halfN = HexUtil.decodeHex("7fffffffffffffffffffffffffffffff5d576e7357a4501ddfe92f46681b20a0");
+        for (int i = 0; i < 32; i++) {
+            int a = s[i] & 0xff;
+            int b = halfN[i] & 0xff;
+            if (a != b) {
+                return a < b;
+            }
+        }
+        return true;
+    }
+}
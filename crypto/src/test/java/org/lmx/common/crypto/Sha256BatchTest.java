@@ -0,0 +1,89 @@
+package org.lmx.common.crypto;
+
+import org.junit.Test;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 功能描述：直接调用 Sha256Batch，与 JDK 的 SHA-256 比较
+ * <pre>
+ *     Sha256.hashBatch 只在部分 JDK 上使用多通道实现，这里绕过开关，保证它在任何 JDK 上都被测试到。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 08:20
+ **/
+public class Sha256BatchTest {
+    /**
+     * 补位边界附近的长度：55 字节是单块能容纳的最长消息，56 需要两块
+     */
+    private static final int[] BOUNDARY_LENGTHS = {0, 1, 3, 31, 32, 55, 56, 57, 63, 64, 65, 119, 120, 127, 128, 1000, 4097};
+
+    private final Random random = new Random(20261017);
+
+    @Test
+    public void mixedLengthsMatchMessageDigest() throws NoSuchAlgorithmException {
+        Sha256Batch batch = new Sha256Batch();
+        // 不足一组、恰好一组、跨多组且最后一组不满
+        for (int count : new int[]{1, 5, Sha256Batch.LANES, Sha256Batch.LANES + 1, 3 * Sha256Batch.LANES + 7}) {
+            byte[][] inputs = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                int length = i < BOUNDARY_LENGTHS.length ? BOUNDARY_LENGTHS[i] : random.nextInt(300);
+                inputs[i] = new byte[length];
+                random.nextBytes(inputs[i]);
+            }
+            // 打乱顺序，结果应按原下标写回
+            shuffle(inputs);
+            byte[][] outputs = new byte[count][];
+            batch.hash(inputs, outputs);
+            assertDigests(inputs, outputs);
+        }
+    }
+
+    @Test
+    public void sameLengthBoundaryMessages() throws NoSuchAlgorithmException {
+        Sha256Batch batch = new Sha256Batch();
+        for (int length : BOUNDARY_LENGTHS) {
+            byte[][] inputs = new byte[Sha256Batch.LANES + 3][length];
+            for (byte[] input : inputs) {
+                random.nextBytes(input);
+            }
+            byte[][] outputs = new byte[inputs.length][];
+            batch.hash(inputs, outputs);
+            assertDigests(inputs, outputs);
+        }
+    }
+
+    @Test
+    public void existingOutputArraysAreFilled() throws NoSuchAlgorithmException {
+        byte[][] inputs = {"abc".getBytes(), new byte[0], new byte[200]};
+        byte[][] outputs = new byte[inputs.length][];
+        byte[] reused = new byte[Sha256Digest.DIGEST_LENGTH];
+        outputs[1] = reused;
+        new Sha256Batch().hash(inputs, outputs);
+        assertSame(reused, outputs[1]);
+        assertDigests(inputs, outputs);
+    }
+
+    private static void assertDigests(byte[][] inputs, byte[][] outputs) throws NoSuchAlgorithmException {
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        for (int i = 0; i < inputs.length; i++) {
+            assertArrayEquals("长度 " + inputs[i].length, sha256.digest(inputs[i]), outputs[i]);
+        }
+    }
+
+    private void shuffle(byte[][] inputs) {
+        for (int i = inputs.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte[] t = inputs[i];
+            inputs[i] = inputs[j];
+            inputs[j] = t;
+        }
+    }
+}
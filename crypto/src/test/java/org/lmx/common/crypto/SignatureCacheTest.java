@@ -0,0 +1,186 @@
+package org.lmx.common.crypto;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 功能描述：SignatureCache 命中、未命中、关闭、组内淘汰与并发读写
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 07:00
+ **/
+public class SignatureCacheTest {
+    private static final byte[] DIGEST = bytes(1, 32);
+    private static final byte[] PUBLIC_KEY = bytes(2, 33);
+    private static final byte[] SIGNATURE = bytes(3, 64);
+
+    @Test
+    public void hitAfterAdd() {
+        SignatureCache cache = new SignatureCache(1024);
+        assertFalse(cache.contains(DIGEST, PUBLIC_KEY, SIGNATURE));
+        cache.add(DIGEST, PUBLIC_KEY, SIGNATURE);
+        assertTrue(cache.contains(DIGEST, PUBLIC_KEY, SIGNATURE));
+        // 内容相同的另一个数组同样命中
+        assertTrue(cache.contains(DIGEST.clone(), PUBLIC_KEY.clone(), SIGNATURE.clone()));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.clear();
+        assertFalse(cache.contains(DIGEST, PUBLIC_KEY, SIGNATURE));
+    }
+
+    @Test
+    public void missWhenAnyPartDiffers() {
+        SignatureCache cache = new SignatureCache(1024);
+        cache.add(DIGEST, PUBLIC_KEY, SIGNATURE);
+        assertFalse(cache.contains(flip(DIGEST), PUBLIC_KEY, SIGNATURE));
+        assertFalse(cache.contains(DIGEST, flip(PUBLIC_KEY), SIGNATURE));
+        assertFalse(cache.contains(DIGEST, PUBLIC_KEY, flip(SIGNATURE)));
+        // 各段带长度前缀，挪动分界不会拼出同一个键
+        byte[] ab = {'a', 'b'};
+        byte[] c = {'c'};
+        byte[] a = {'a'};
+        byte[] bc = {'b', 'c'};
+        cache.add(ab, c, SIGNATURE);
+        assertTrue(cache.contains(ab, c, SIGNATURE));
+        assertFalse(cache.contains(a, bc, SIGNATURE));
+    }
+
+    @Test
+    public void zeroCapacityDisablesCache() {
+        SignatureCache cache = new SignatureCache(0);
+        assertEquals(0, cache.getCapacity());
+        cache.add(DIGEST, PUBLIC_KEY, SIGNATURE);
+        assertFalse(cache.contains(DIGEST, PUBLIC_KEY, SIGNATURE));
+        cache.clear();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void capacityIsRoundedAndChecked() {
+        assertEquals(4, new SignatureCache(1).getCapacity());
+        assertEquals(1024, new SignatureCache(1000).getCapacity());
+        assertEquals(1024, new SignatureCache(1024).getCapacity());
+        for (int capacity : new int[]{-1, SignatureCache.MAX_CAPACITY + 1}) {
+            try {
+                new SignatureCache(capacity);
+                throw new AssertionError("容量 " + capacity + " 应被拒绝");
+            } catch (IllegalArgumentException expected) {
+                // 预期
+            }
+        }
+    }
+
+    @Test
+    public void fullBucketEvictsInsteadOfGrowing() {
+        // 容量4只有一组，所有键落在同一组
+        SignatureCache cache = new SignatureCache(4);
+        int n = 200;
+        for (int i = 0; i < n; i++) {
+            cache.add(digest(i), PUBLIC_KEY, SIGNATURE);
+            // 刚写入的总能命中
+            assertTrue(cache.contains(digest(i), PUBLIC_KEY, SIGNATURE));
+        }
+        assertEquals(4, countContained(cache, n));
+
+        SignatureCache small = new SignatureCache(64);
+        for (int i = 0; i < n; i++) {
+            small.add(digest(i), PUBLIC_KEY, SIGNATURE);
+        }
+        assertTrue(countContained(small, n) <= small.getCapacity());
+    }
+
+    @Test(timeout = 60_000)
+    public void concurrentAddAndContains() throws Exception {
+        int threads = 4;
+        int perThread = 1000;
+        int stable = 256;
+        // 负载很低，任何一组都不会满，测试中的键不会被淘汰
+        SignatureCache cache = new SignatureCache(1 << 20);
+        for (int i = 0; i < stable; i++) {
+            cache.add(digest(-1 - i), PUBLIC_KEY, SIGNATURE);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                writers.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int i = base; i < base + perThread; i++) {
+                        cache.add(digest(i), PUBLIC_KEY, SIGNATURE);
+                        assertTrue(cache.contains(digest(i), PUBLIC_KEY, SIGNATURE));
+                    }
+                    return null;
+                }));
+                int offset = t;
+                readers.add(pool.submit((Callable<Void>) () -> {
+                    start.await();
+                    // 乐观读与写入交错时要么读到完整的指纹，要么校验失败后改走读锁，不会读到半写的项
+                    for (int i = offset; writing.get(); i++) {
+                        assertTrue(cache.contains(digest(-1 - i % stable), PUBLIC_KEY, SIGNATURE));
+                        assertFalse(cache.contains(digest(-1 - i % stable), PUBLIC_KEY, DIGEST));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(threads * perThread, countContained(cache, threads * perThread));
+    }
+
+    private static int countContained(SignatureCache cache, int n) {
+        int contained = 0;
+        for (int i = 0; i < n; i++) {
+            if (cache.contains(digest(i), PUBLIC_KEY, SIGNATURE)) {
+                contained++;
+            }
+        }
+        return contained;
+    }
+
+    private static byte[] digest(int i) {
+        return ByteBuffer.allocate(32).putInt(i).putInt(~i).array();
+    }
+
+    private static byte[] bytes(int seed, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (seed * 31 + i);
+        }
+        return bytes;
+    }
+
+    private static byte[] flip(byte[] bytes) {
+        byte[] copy = bytes.clone();
+        copy[copy.length - 1] ^= 1;
+        return copy;
+    }
+}
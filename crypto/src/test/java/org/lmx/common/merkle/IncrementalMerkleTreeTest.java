@@ -0,0 +1,100 @@
+package org.lmx.common.merkle;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 功能描述：IncrementalMerkleTree 与 CompactMerkleTree 的等价性
+ * <pre>
+ *     对每个叶子个数 n（奇偶都覆盖），逐个追加与批量构造得到的根、修改叶子后的根、每个叶子的证明
+ *  都应与用相同叶子重新构建的 CompactMerkleTree 一致。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 08:00
+ **/
+@RunWith(Parameterized.class)
+public class IncrementalMerkleTreeTest {
+    private static final int HASH_LENGTH = CompactMerkleTree.HASH_LENGTH;
+    private static final int MAX_LEAVES = 300;
+
+    private final int n;
+    private final Random random;
+
+    public IncrementalMerkleTreeTest(int n) {
+        this.n = n;
+        this.random = new Random(n);
+    }
+
+    @Parameterized.Parameters(name = "n={0}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (int n = 1; n <= MAX_LEAVES; n++) {
+            parameters.add(new Object[]{n});
+        }
+        return parameters;
+    }
+
+    @Test
+    public void appendedTreeMatchesCompactTree() {
+        byte[] leaves = leaves();
+        IncrementalMerkleTree tree = new IncrementalMerkleTree();
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, tree.append(Arrays.copyOfRange(leaves, i * HASH_LENGTH, (i + 1) * HASH_LENGTH)));
+        }
+        assertEquals(n, tree.getLeafCount());
+        assertMatches(tree, leaves);
+    }
+
+    @Test
+    public void batchTreeMatchesCompactTree() {
+        byte[] leaves = leaves();
+        IncrementalMerkleTree tree = new IncrementalMerkleTree(leaves);
+        assertEquals(n, tree.getLeafCount());
+        assertMatches(tree, leaves);
+    }
+
+    @Test
+    public void updatedTreeMatchesRebuiltCompactTree() {
+        byte[] leaves = leaves();
+        IncrementalMerkleTree tree = new IncrementalMerkleTree(leaves);
+        // 首、尾（奇数时是被提升的节点）与若干随机叶子
+        int[] indices = {0, n - 1, random.nextInt(n), random.nextInt(n)};
+        for (int index : indices) {
+            byte[] leaf = new byte[HASH_LENGTH];
+            random.nextBytes(leaf);
+            tree.update(index, leaf);
+            System.arraycopy(leaf, 0, leaves, index * HASH_LENGTH, HASH_LENGTH);
+            assertArrayEquals(new CompactMerkleTree(leaves).getRoot(), tree.root());
+        }
+        assertMatches(tree, leaves);
+    }
+
+    private void assertMatches(IncrementalMerkleTree tree, byte[] leaves) {
+        CompactMerkleTree compact = new CompactMerkleTree(leaves);
+        byte[] root = compact.getRoot();
+        assertArrayEquals(root, tree.root());
+        for (int i = 0; i < n; i++) {
+            MerkleProof proof = tree.getProof(i);
+            assertArrayEquals("叶子 " + i + " 的证明不一致", compact.getProof(i).toBytes(), proof.toBytes());
+            assertTrue(proof.verify(Arrays.copyOfRange(leaves, i * HASH_LENGTH, (i + 1) * HASH_LENGTH), root));
+        }
+    }
+
+    private byte[] leaves() {
+        byte[] leaves = new byte[n * HASH_LENGTH];
+        random.nextBytes(leaves);
+        return leaves;
+    }
+}
@@ -0,0 +1,145 @@
+package org.lmx.common.merkle;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 功能描述：MappedMerkleStore 创建、重新打开、提交记录恢复
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 05:10
+ **/
+public class MappedMerkleStoreTest {
+    private static final int SLOT_LENGTH = 64;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Random random = new Random(20261017);
+
+    @Test
+    public void reopenKeepsCommittedLeaves() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("tree.mkl");
+        byte[][] leaves = leaves(100);
+        try (MappedMerkleStore store = MappedMerkleStore.create(file, 128)) {
+            assertNull(store.getRoot());
+            store.appendBatch(Arrays.copyOfRange(leaves, 0, 60));
+            store.append(leaves[60]);
+        }
+        try (MappedMerkleStore store = MappedMerkleStore.open(file)) {
+            assertEquals(128, store.getCapacity());
+            assertEquals(61, store.getLeafCount());
+            assertArrayEquals(new CompactMerkleTree(Arrays.copyOf(leaves, 61)).getRoot(), store.getRoot());
+            // 重新打开后继续追加
+            store.appendBatch(Arrays.copyOfRange(leaves, 61, 100));
+        }
+        try (MappedMerkleStore store = MappedMerkleStore.open(file)) {
+            byte[] root = new CompactMerkleTree(leaves).getRoot();
+            assertEquals(100, store.getLeafCount());
+            assertArrayEquals(root, store.getRoot());
+            for (int i = 0; i < leaves.length; i++) {
+                assertArrayEquals(leaves[i], store.getLeaf(i));
+                assertTrue(store.getProof(i).verify(leaves[i], root));
+            }
+        }
+    }
+
+    @Test
+    public void reopenFallsBackToPreviousCommit() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("tree.mkl");
+        byte[][] leaves = leaves(10);
+        long sequence;
+        try (MappedMerkleStore store = MappedMerkleStore.create(file, 16)) {
+            store.appendBatch(Arrays.copyOf(leaves, 7));
+            store.appendBatch(Arrays.copyOfRange(leaves, 7, 10));
+            // 创建时写入序号0，之后每次提交加1
+            sequence = 2;
+        }
+        // 损坏最新的提交记录，相当于提交记录写到一半时崩溃
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), (sequence & 1) * SLOT_LENGTH + 30);
+        }
+        try (MappedMerkleStore store = MappedMerkleStore.open(file)) {
+            assertEquals(7, store.getLeafCount());
+            assertArrayEquals(new CompactMerkleTree(Arrays.copyOf(leaves, 7)).getRoot(), store.getRoot());
+            // 未提交的叶子被覆盖后根仍然正确
+            store.append(leaves[9]);
+            byte[][] expected = Arrays.copyOf(leaves, 8);
+            expected[7] = leaves[9];
+            assertArrayEquals(new CompactMerkleTree(expected).getRoot(), store.getRoot());
+        }
+    }
+
+    @Test
+    public void corruptHeaderIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("tree.mkl");
+        MappedMerkleStore.create(file, 4).close();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(2 * SLOT_LENGTH), 0);
+        }
+        try {
+            MappedMerkleStore.open(file).close();
+            fail("文件头损坏时应拒绝打开");
+        } catch (IOException expected) {
+            // 预期
+        }
+    }
+
+    @Test
+    public void createDoesNotOverwriteExistingFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[]{42});
+        try {
+            MappedMerkleStore.create(file, 4).close();
+            fail("文件已存在时应创建失败");
+        } catch (IOException expected) {
+            // 预期
+        }
+        assertArrayEquals(new byte[]{42}, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void appendBeyondCapacityIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("tree.mkl");
+        try (MappedMerkleStore store = MappedMerkleStore.create(file, 4)) {
+            store.appendBatch(leaves(4));
+            try {
+                store.append(leaves(1)[0]);
+                fail("超出容量时应拒绝追加");
+            } catch (IllegalStateException expected) {
+                // 预期
+            }
+            assertEquals(4, store.getLeafCount());
+        }
+        try (MappedMerkleStore store = MappedMerkleStore.open(file)) {
+            assertEquals(4, store.getLeafCount());
+            assertNotNull(store.getRoot());
+        }
+    }
+
+    private byte[][] leaves(int count) {
+        byte[][] leaves = new byte[count][32];
+        for (byte[] leaf : leaves) {
+            random.nextBytes(leaf);
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,152 @@
+package org.lmx.common.merkle;
+
+import cn.hutool.core.util.HexUtil;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 功能描述：MerkleMultiProof 生成、验证、序列化往返与不可信输入
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 04:30
+ **/
+public class MerkleMultiProofTest {
+    private final Random random = new Random(20261017);
+
+    @Test
+    public void roundTripForEveryTreeShape() {
+        for (int leafCount = 1; leafCount <= 33; leafCount++) {
+            byte[][] leaves = leaves(leafCount);
+            CompactMerkleTree tree = new CompactMerkleTree(leaves);
+            for (int round = 0; round < 20; round++) {
+                int[] indices = subset(leafCount);
+                MerkleMultiProof proof = tree.getMultiProof(indices);
+                assertTrue(proof.verify(select(leaves, proof.getLeafIndices()), tree.getRoot()));
+
+                MerkleMultiProof decoded = MerkleMultiProof.fromBytes(proof.toBytes());
+                assertEquals(proof.getLeafCount(), decoded.getLeafCount());
+                assertArrayEquals(proof.getLeafIndices(), decoded.getLeafIndices());
+                assertArrayEquals(proof.toBytes(), decoded.toBytes());
+                assertTrue(decoded.verify(select(leaves, decoded.getLeafIndices()), tree.getRoot()));
+            }
+        }
+    }
+
+    @Test
+    public void sameProofAsTreeNodeVersion() {
+        List<String> transactions = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            transactions.add("tx-" + i);
+        }
+        MerkleTree tree = new MerkleTree(transactions);
+        CompactMerkleTree compact = CompactMerkleTree.fromTransactions(transactions);
+        MerkleMultiProof proof = tree.getMultiProof(12, 0, 5, 4, 5);
+        assertArrayEquals(compact.getMultiProof(0, 4, 5, 12).toBytes(), proof.toBytes());
+
+        byte[][] leafHashes = new byte[proof.getLeafIndices().length][];
+        for (int j = 0; j < leafHashes.length; j++) {
+            leafHashes[j] = MerkleTree.leafHash(transactions.get(proof.getLeafIndices()[j]));
+        }
+        assertTrue(proof.verify(leafHashes, HexUtil.decodeHex(tree.getRootHash())));
+    }
+
+    @Test
+    public void wrongLeafOrHashFails() {
+        byte[][] leaves = leaves(10);
+        CompactMerkleTree tree = new CompactMerkleTree(leaves);
+        MerkleMultiProof proof = tree.getMultiProof(1, 6, 7);
+        byte[][] proven = select(leaves, proof.getLeafIndices());
+
+        byte[][] wrongLeaf = proven.clone();
+        wrongLeaf[1] = leaves[5];
+        assertFalse(proof.verify(wrongLeaf, tree.getRoot()));
+
+        byte[] bytes = proof.toBytes();
+        bytes[bytes.length - 1] ^= 1;
+        assertFalse(MerkleMultiProof.fromBytes(bytes).verify(proven, tree.getRoot()));
+
+        // 少一个或多一个补充哈希
+        byte[] encoded = proof.toBytes();
+        assertFalse(MerkleMultiProof.fromBytes(Arrays.copyOf(encoded, encoded.length - 32)).verify(proven, tree.getRoot()));
+        assertFalse(MerkleMultiProof.fromBytes(Arrays.copyOf(encoded, encoded.length + 32)).verify(proven, tree.getRoot()));
+    }
+
+    @Test
+    public void hugeLeafCountIsRejectedBeforeAllocation() {
+        byte[] bytes = ByteBuffer.allocate(12).putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE).putInt(0).array();
+        assertInvalid(bytes);
+    }
+
+    @Test
+    public void malformedBytesAreRejected() {
+        // 截断的头部
+        assertInvalid(new byte[7]);
+        // 个数为0
+        assertInvalid(ByteBuffer.allocate(8).putInt(4).putInt(0).array());
+        // 个数超过叶子总数
+        assertInvalid(ByteBuffer.allocate(20).putInt(2).putInt(3).putInt(0).putInt(1).putInt(1).array());
+        // 下标越界
+        assertInvalid(ByteBuffer.allocate(12).putInt(4).putInt(1).putInt(4).array());
+        // 下标重复或未排序
+        assertInvalid(ByteBuffer.allocate(16).putInt(4).putInt(2).putInt(1).putInt(1).array());
+        assertInvalid(ByteBuffer.allocate(16).putInt(4).putInt(2).putInt(2).putInt(1).array());
+        // 补充哈希不是32字节的整数倍
+        assertInvalid(ByteBuffer.allocate(13).putInt(4).putInt(1).putInt(0).array());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorRejectsUnsortedIndices() {
+        new MerkleMultiProof(8, new int[]{3, 1}, new byte[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorRejectsDuplicateIndices() {
+        new MerkleMultiProof(8, new int[]{1, 1}, new byte[0]);
+    }
+
+    private static void assertInvalid(byte[] bytes) {
+        try {
+            MerkleMultiProof.fromBytes(bytes);
+            fail("无效的证明数据应被拒绝");
+        } catch (IllegalArgumentException expected) {
+            // 预期
+        }
+    }
+
+    private byte[][] leaves(int count) {
+        byte[][] leaves = new byte[count][32];
+        for (byte[] leaf : leaves) {
+            random.nextBytes(leaf);
+        }
+        return leaves;
+    }
+
+    private int[] subset(int leafCount) {
+        int[] indices = new int[1 + random.nextInt(leafCount)];
+        for (int j = 0; j < indices.length; j++) {
+            // 允许重复与乱序，由 getMultiProof 整理
+            indices[j] = random.nextInt(leafCount);
+        }
+        return indices;
+    }
+
+    private static byte[][] select(byte[][] leaves, int[] indices) {
+        byte[][] selected = new byte[indices.length][];
+        for (int j = 0; j < indices.length; j++) {
+            selected[j] = leaves[indices[j]];
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,107 @@
+package org.lmx.common.merkle;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 功能描述：MerkleProof 验证、序列化往返与不可信输入
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 07:40
+ **/
+public class MerkleProofTest {
+    private final Random random = new Random(20261017);
+
+    @Test
+    public void roundTripForEveryTreeShape() {
+        for (int leafCount = 1; leafCount <= 33; leafCount++) {
+            byte[][] leaves = leaves(leafCount);
+            CompactMerkleTree tree = new CompactMerkleTree(leaves);
+            for (int i = 0; i < leafCount; i++) {
+                MerkleProof proof = tree.getProof(i);
+                assertEquals(MerkleProof.siblingCount(i, leafCount), proof.size());
+                assertTrue(proof.verify(leaves[i], tree.getRoot()));
+
+                MerkleProof decoded = MerkleProof.fromBytes(proof.toBytes());
+                assertEquals(i, decoded.getLeafIndex());
+                assertEquals(leafCount, decoded.getLeafCount());
+                assertArrayEquals(proof.toBytes(), decoded.toBytes());
+                assertTrue(decoded.verify(leaves[i], tree.getRoot()));
+            }
+        }
+    }
+
+    @Test
+    public void wrongLeafOrSiblingFails() {
+        byte[][] leaves = leaves(10);
+        CompactMerkleTree tree = new CompactMerkleTree(leaves);
+        MerkleProof proof = tree.getProof(6);
+        assertFalse(proof.verify(leaves[5], tree.getRoot()));
+
+        byte[] bytes = proof.toBytes();
+        bytes[bytes.length - 1] ^= 1;
+        assertFalse(MerkleProof.fromBytes(bytes).verify(leaves[6], tree.getRoot()));
+    }
+
+    @Test
+    public void leafHashMustBe32Bytes() {
+        byte[][] leaves = leaves(4);
+        MerkleProof proof = new CompactMerkleTree(leaves).getProof(1);
+        for (int length : new int[]{0, 31, 33, 64}) {
+            try {
+                proof.computeRoot(Arrays.copyOf(leaves[1], length));
+                fail("长度为 " + length + " 的叶子哈希应被拒绝");
+            } catch (IllegalArgumentException expected) {
+                // 预期
+            }
+        }
+    }
+
+    @Test
+    public void malformedBytesAreRejected() {
+        byte[] encoded = new CompactMerkleTree(leaves(10)).getProof(6).toBytes();
+        // 截断的头部
+        assertInvalid(new byte[0]);
+        assertInvalid(new byte[7]);
+        // 少一个或多一个兄弟节点，或长度不是32字节的整数倍
+        assertInvalid(Arrays.copyOf(encoded, encoded.length - 32));
+        assertInvalid(Arrays.copyOf(encoded, encoded.length + 32));
+        assertInvalid(Arrays.copyOf(encoded, encoded.length - 1));
+        // 下标越界或叶子总数无效
+        assertInvalid(ByteBuffer.allocate(8).putInt(4).putInt(4).array());
+        assertInvalid(ByteBuffer.allocate(8).putInt(-1).putInt(4).array());
+        assertInvalid(ByteBuffer.allocate(8).putInt(0).putInt(0).array());
+        // 叶子总数很大时路径长度为31层，剩余字节不足同样拒绝
+        assertInvalid(ByteBuffer.allocate(40).putInt(0).putInt(Integer.MAX_VALUE).array());
+        // 单叶子的树没有兄弟节点
+        assertEquals(1, MerkleProof.fromBytes(ByteBuffer.allocate(8).putInt(0).putInt(1).array()).getLeafCount());
+        assertInvalid(ByteBuffer.allocate(40).putInt(0).putInt(1).array());
+    }
+
+    private static void assertInvalid(byte[] bytes) {
+        try {
+            MerkleProof.fromBytes(bytes);
+            fail("无效的证明数据应被拒绝");
+        } catch (IllegalArgumentException expected) {
+            // 预期
+        }
+    }
+
+    private byte[][] leaves(int count) {
+        byte[][] leaves = new byte[count][32];
+        for (byte[] leaf : leaves) {
+            random.nextBytes(leaf);
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,49 @@
+package org.lmx.common.merkle;
+
+import cn.hutool.core.util.HexUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 功能描述：MerkleTree 空输入与默克尔根
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 06:00
+ **/
+public class MerkleTreeTest {
+
+    @Test
+    public void nullTransactionsBuildEmptyTree() {
+        MerkleTree tree = new MerkleTree(null);
+        assertNull(tree.getRoot());
+        assertNull(tree.getRootHash());
+        assertEquals(0, tree.getLeafCount());
+        assertNull(MerkleTree.parallel(null, ForkJoinPool.commonPool()).getRoot());
+    }
+
+    @Test
+    public void emptyTransactionsBuildEmptyTree() {
+        MerkleTree tree = new MerkleTree(Collections.emptyList());
+        assertNull(tree.getRoot());
+        assertEquals(0, tree.getLeafCount());
+    }
+
+    @Test
+    public void sameRootAsCompactTree() {
+        List<String> transactions = new ArrayList<>();
+        for (int i = 1; i <= 17; i++) {
+            transactions.add("tx-" + i);
+            String expected = HexUtil.encodeHexStr(CompactMerkleTree.fromTransactions(transactions).getRoot());
+            assertEquals(expected, new MerkleTree(transactions).getRootHash());
+            assertEquals(expected, MerkleTree.parallel(transactions, ForkJoinPool.commonPool(), 2).getRootHash());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.lmx.common.merkle;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 功能描述：StreamingMerkleRoot 与 CompactMerkleTree 的等价性
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 08:10
+ **/
+public class StreamingMerkleRootTest {
+    private static final int HASH_LENGTH = CompactMerkleTree.HASH_LENGTH;
+    private static final int MAX_LEAVES = 1100;
+
+    private final Random random = new Random(20261017);
+
+    @Test
+    public void sameRootAsCompactTreeForEveryPrefix() {
+        byte[] leaves = new byte[MAX_LEAVES * HASH_LENGTH];
+        random.nextBytes(leaves);
+        StreamingMerkleRoot streaming = new StreamingMerkleRoot();
+        assertNull(streaming.root());
+        for (int n = 1; n <= MAX_LEAVES; n++) {
+            streaming.add(leaves, (n - 1) * HASH_LENGTH);
+            assertEquals(n, streaming.getLeafCount());
+            // root() 不影响后续加入，每个前缀都与重新构建的树比较
+            assertArrayEquals("n=" + n, CompactMerkleTree.computeRoot(Arrays.copyOf(leaves, n * HASH_LENGTH)), streaming.root());
+        }
+    }
+
+    @Test
+    public void channelAndIteratorMatchCompactTree() throws IOException {
+        // 通道按1024个叶子一次读取，覆盖跨缓冲区的情况
+        for (int n : new int[]{1, 2, 3, 1023, 1024, 1025, 2049}) {
+            byte[] leaves = new byte[n * HASH_LENGTH];
+            random.nextBytes(leaves);
+            byte[] expected = new CompactMerkleTree(leaves).getRoot();
+            assertArrayEquals(expected, StreamingMerkleRoot.root(Channels.newChannel(new ByteArrayInputStream(leaves))));
+
+            List<byte[]> list = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                list.add(Arrays.copyOfRange(leaves, i * HASH_LENGTH, (i + 1) * HASH_LENGTH));
+            }
+            assertArrayEquals(expected, StreamingMerkleRoot.root(list.iterator()));
+            assertArrayEquals(expected, StreamingMerkleRoot.root(list.stream()));
+        }
+    }
+
+    @Test
+    public void transactionsMatchCompactTree() {
+        List<String> transactions = new ArrayList<>();
+        for (int n = 1; n <= 40; n++) {
+            transactions.add("tx-" + n);
+            assertArrayEquals(CompactMerkleTree.fromTransactions(transactions).getRoot(),
+                    StreamingMerkleRoot.rootOfTransactions(transactions.iterator()));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedChannelIsRejected() throws IOException {
+        StreamingMerkleRoot.root(Channels.newChannel(new ByteArrayInputStream(new byte[HASH_LENGTH + 1])));
+    }
+}
@@ -0,0 +1,115 @@
+package org.lmx.common.trie;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 功能描述：MerklePatriciaTrie 状态根、提交后重新打开与未修改时不重写节点
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 05:30
+ **/
+public class MerklePatriciaTrieTest {
+
+    @Test
+    public void rootIsIndependentOfInsertionOrder() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            keys.add(i);
+        }
+        MerklePatriciaTrie first = new MerklePatriciaTrie(new MemoryNodeStore());
+        keys.forEach(i -> first.put("account-" + i, "balance-" + i));
+        Collections.shuffle(keys, new Random(20261017));
+        MerklePatriciaTrie second = new MerklePatriciaTrie(new MemoryNodeStore());
+        keys.forEach(i -> second.put("account-" + i, "balance-" + i));
+        assertArrayEquals(first.getRootHash(), second.getRootHash());
+        assertArrayEquals(first.getRootHash(), first.commit());
+    }
+
+    @Test
+    public void deletingEverythingGivesEmptyRoot() {
+        MerklePatriciaTrie trie = new MerklePatriciaTrie(new MemoryNodeStore());
+        assertArrayEquals(MerklePatriciaTrie.emptyRoot(), trie.getRootHash());
+        for (int i = 0; i < 100; i++) {
+            trie.put("k" + i, "v" + i);
+        }
+        trie.commit();
+        for (int i = 0; i < 100; i++) {
+            trie.delete("k" + i);
+        }
+        assertArrayEquals(MerklePatriciaTrie.emptyRoot(), trie.getRootHash());
+    }
+
+    @Test
+    public void reopenFromCommittedRoot() {
+        MemoryNodeStore store = new MemoryNodeStore();
+        MerklePatriciaTrie trie = new MerklePatriciaTrie(store);
+        for (int i = 0; i < 200; i++) {
+            trie.put("k" + i, "v" + i);
+        }
+        byte[] root = trie.commit();
+        MerklePatriciaTrie reopened = new MerklePatriciaTrie(store, 16, root);
+        for (int i = 0; i < 200; i++) {
+            assertEquals("v" + i, reopened.get("k" + i));
+        }
+        assertNull(reopened.get("k200"));
+        assertArrayEquals(root, reopened.getRootHash());
+    }
+
+    @Test
+    public void unchangedWritesDoNotRewriteNodes() {
+        CountingNodeStore store = new CountingNodeStore();
+        MerklePatriciaTrie trie = new MerklePatriciaTrie(store);
+        for (int i = 0; i < 300; i++) {
+            trie.put("k" + i, "v" + i);
+        }
+        byte[] root = trie.commit();
+        int written = store.writes;
+
+        // 写入相同的值、删除不存在的键：状态根不变，提交时不应写入任何节点
+        for (int i = 0; i < 300; i += 7) {
+            trie.put("k" + i, "v" + i);
+        }
+        trie.delete("k300");
+        trie.delete("k");
+        assertArrayEquals(root, trie.commit());
+        assertEquals(written, store.writes);
+
+        // 真正修改时只重写路径上的节点
+        trie.put("k0", "changed");
+        assertFalse(Arrays.equals(root, trie.commit()));
+        assertEquals("changed", trie.get("k0"));
+    }
+
+    @Test
+    public void emptyRootIsACopy() {
+        byte[] emptyRoot = MerklePatriciaTrie.emptyRoot();
+        emptyRoot[0] ^= 1;
+        assertFalse(Arrays.equals(emptyRoot, MerklePatriciaTrie.emptyRoot()));
+        assertArrayEquals(MerklePatriciaTrie.emptyRoot(), new MerklePatriciaTrie(new MemoryNodeStore()).commit());
+    }
+
+    /**
+     * 功能描述：记录写入次数的节点存储
+     */
+    private static final class CountingNodeStore extends MemoryNodeStore {
+        int writes;
+
+        @Override
+        public void put(byte[] hash, byte[] encoded) {
+            writes++;
+            super.put(hash, encoded);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.lmx.cron.net.netty;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.lmx.common.monitor.Monitor;
+import org.lmx.common.monitor.Operation;
+import org.lmx.common.monitor.Sample;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 功能描述：通道读写监控，应放在 pipeline 的最前面（紧挨套接字），统计的是编码后的字节数
+ * <pre>
+ *     读：从收到消息到后续处理器处理完成的耗时与字节数；
+ *     写：从写入到写进套接字（写 promise 完成）的耗时与字节数；
+ *     仪表：已写入但尚未写进套接字的消息数（lmx.channel.inflight）与字节数（lmx.channel.pending.bytes）。
+ *
+ *     所有通道共享同一个实例，仪表是全部通道的合计。监控关闭时只多一次 volatile 读取。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-16 23:30
+ **/
+@ChannelHandler.Sharable
+public final class ChannelMetricsHandler extends ChannelDuplexHandler {
+    public static final ChannelMetricsHandler INSTANCE = new ChannelMetricsHandler();
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    private ChannelMetricsHandler() {
+        Gauge.builder("lmx.channel.inflight", inFlight, AtomicLong::get).register(Metrics.globalRegistry);
+        Gauge.builder("lmx.channel.pending.bytes", pendingBytes, AtomicLong::get).register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        Sample sample = Monitor.start(Operation.CHANNEL_READ);
+        if (sample == null) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        // 后续处理器可能释放消息，先取大小
+        long size = sizeOf(msg);
+        ctx.fireChannelRead(msg);
+        Monitor.stop(sample, size);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        Sample sample = Monitor.start(Operation.CHANNEL_WRITE);
+        if (sample == null) {
+            ctx.write(msg, promise);
+            return;
+        }
+        long size = sizeOf(msg);
+        inFlight.incrementAndGet();
+        pendingBytes.addAndGet(size);
+        ChannelPromise tracked = promise.unvoid();
+        tracked.addListener(future -> {
+            inFlight.decrementAndGet();
+            pendingBytes.addAndGet(-size);
+            Monitor.stop(sample, size);
+        });
+        ctx.write(msg, tracked);
+    }
+
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    private static long sizeOf(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return ((ByteBuf) msg).readableBytes();
+        }
+        if (msg instanceof ByteBufHolder) {
+            return ((ByteBufHolder) msg).content().readableBytes();
+        }
+        return 0;
+    }
+}
@@ -5,11 +5,11 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.string.StringDecoder;
-import io.netty.handler.codec.string.StringEncoder;
+import org.lmx.cron.net.protocol.Message;
+import org.lmx.cron.net.protocol.MessageDecoder;
+import org.lmx.cron.net.protocol.MessageEncoder;
 
 /**
  * 功能描述：客户端
@@ -24,24 +24,26 @@ public class HelloWorldClient {
     private static final int SIZE = 256;
 
     public static void main(String[] args) {
-        NioEventLoopGroup group = new NioEventLoopGroup();
+        Transport transport = Transport.detect();
+        EventLoopGroup group = transport.newEventLoopGroup(1, "lmx-client");
 
         Bootstrap bootstrap = new Bootstrap()
                 .group(group)
-                .channel(NioSocketChannel.class)
+                .channel(transport.channelClass())
                 .option(ChannelOption.TCP_NODELAY, true)
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) throws Exception {
                         ChannelPipeline pipeline = ch.pipeline();
-                        pipeline.addLast("decoder", new StringDecoder());
-                        pipeline.addLast("encoder", new StringEncoder());
+                        pipeline.addLast("metrics", ChannelMetricsHandler.INSTANCE);
+                        pipeline.addLast("decoder", new MessageDecoder());
+                        pipeline.addLast("encoder", MessageEncoder.INSTANCE);
                         pipeline.addLast(new HelloWorldClientHandler());
                     }
                 });
         try {
             ChannelFuture future = bootstrap.connect(HOST, PORT).sync();
-            future.channel().writeAndFlush("您好 Netty 服务端，我是客户端!");
+            future.channel().writeAndFlush(Message.text(future.channel().alloc(), "您好 Netty 服务端，我是客户端!"));
             future.channel().closeFuture().sync();
         } catch (InterruptedException e) {
             e.printStackTrace();
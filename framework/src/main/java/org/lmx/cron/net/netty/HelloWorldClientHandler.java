@@ -1,8 +1,9 @@
 package org.lmx.cron.net.netty;
 
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.SimpleChannelInboundHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.lmx.cron.net.protocol.Message;
 
 /**
  * 功能描述: 客户端管道处理器
@@ -11,7 +12,7 @@ import lombok.extern.slf4j.Slf4j;
  * @date 2020/4/7 12:04
  */
 @Slf4j
-public class HelloWorldClientHandler extends ChannelInboundHandlerAdapter {
+public class HelloWorldClientHandler extends SimpleChannelInboundHandler<Message> {
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) {
@@ -19,8 +20,8 @@ public class HelloWorldClientHandler extends ChannelInboundHandlerAdapter {
     }
 
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        log.info("客户端管道处理器 收到消息：{}", msg);
+    protected void channelRead0(ChannelHandlerContext ctx, Message msg) {
+        log.info("客户端管道处理器 收到消息：{} {}", msg.command(), msg.text());
     }
 
 
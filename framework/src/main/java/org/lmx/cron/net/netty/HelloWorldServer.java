@@ -1,21 +1,34 @@
 package org.lmx.cron.net.netty;
 
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.channel.ChannelFuture;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollMode;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.string.StringDecoder;
-import io.netty.handler.codec.string.StringEncoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
 import lombok.extern.slf4j.Slf4j;
+import org.lmx.cron.net.protocol.MessageDecoder;
+import org.lmx.cron.net.protocol.MessageEncoder;
 
-import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 功能描述：Server端
+ * <pre>
+ *     传输实现与线程拓扑见{@link ServerConfig}：EPOLL 下按 acceptorThreads 绑定多个 SO_REUSEPORT 监听套接字，
+ *  配置了 handlerThreads 时业务处理器运行在独立的线程组上，不占用 I/O 线程。
+ *
+ *     出站：处理器只 write，在一批读取结束（channelReadComplete）时 flush 一次，再经 FlushConsolidationHandler
+ *  合并为尽量少的系统调用；慢对端由{@link OutboundQueueHandler}限容、暂停读取并在必要时断开。
+ * </pre>
  *
  * @program: block-chain-j
  * @author: LM.X
@@ -23,38 +36,112 @@ import java.net.InetSocketAddress;
  **/
 @Slf4j
 public class HelloWorldServer {
-    private final int port;
+    private final ServerConfig config;
+    private final List<Channel> serverChannels = new ArrayList<>();
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private EventExecutorGroup handlerGroup;
 
     public HelloWorldServer(int port) {
-        this.port = port;
+        this(new ServerConfig().setPort(port));
     }
 
-    public void start() {
-        EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
-        try {
-            ServerBootstrap sbs = new ServerBootstrap().group(bossGroup, workerGroup).channel(NioServerSocketChannel.class).localAddress(new InetSocketAddress(port))
-                    .childHandler(new ChannelInitializer<SocketChannel>() {
+    public HelloWorldServer(ServerConfig config) {
+        this.config = config;
+    }
 
-                        @Override
-                        protected void initChannel(SocketChannel ch) throws Exception {
-//                            ch.pipeline().addLast("framer", new DelimiterBasedFrameDecoder(8192, Delimiters.lineDelimiter()));
-                            ch.pipeline().addLast("decoder", new StringDecoder());
-                            ch.pipeline().addLast("encoder", new StringEncoder());
-                            ch.pipeline().addLast(new HelloWorldServerHandler());
-                        }
+    /**
+     * 功能描述: 绑定端口后立即返回
+     *
+     * @throws InterruptedException 等待绑定时被中断
+     * @author LM.X
+     * @date 2026/10/17 01:20
+     */
+    public synchronized void bind() throws InterruptedException {
+        if (bossGroup != null) {
+            throw new IllegalStateException("服务端已启动");
+        }
+        Transport transport = config.getTransport();
+        int listeners = config.listenerCount();
+        bossGroup = transport.newEventLoopGroup(listeners, "lmx-boss");
+        workerGroup = transport.newEventLoopGroup(config.getWorkerThreads(), "lmx-worker");
+        if (config.getHandlerThreads() > 0) {
+            handlerGroup = new DefaultEventExecutorGroup(config.getHandlerThreads(), new DefaultThreadFactory("lmx-handler"));
+        }
+
+        ServerBootstrap sbs = new ServerBootstrap().group(bossGroup, workerGroup).channel(transport.serverChannelClass())
+                .childHandler(new ChannelInitializer<SocketChannel>() {
 
-                    }).option(ChannelOption.SO_BACKLOG, 128)
-                    .childOption(ChannelOption.SO_KEEPALIVE, true);
+                    @Override
+                    protected void initChannel(SocketChannel ch) throws Exception {
+                        ch.pipeline().addLast("metrics", ChannelMetricsHandler.INSTANCE);
+                        // 业务处理器在独立线程组上时也合并 flush
+                        ch.pipeline().addLast("flush", new FlushConsolidationHandler(config.getExplicitFlushAfterFlushes(), handlerGroup != null));
+                        ch.pipeline().addLast("outbound", config.newOutboundQueueHandler());
+                        ch.pipeline().addLast("decoder", new MessageDecoder());
+                        ch.pipeline().addLast("encoder", MessageEncoder.INSTANCE);
+                        ch.pipeline().addLast(handlerGroup, "handler", new HelloWorldServerHandler());
+                    }
+
+                }).option(ChannelOption.SO_BACKLOG, config.getBacklog())
+                .childOption(ChannelOption.SO_KEEPALIVE, config.isKeepAlive())
+                .childOption(ChannelOption.TCP_NODELAY, config.isTcpNoDelay())
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                        new WriteBufferWaterMark(config.getWriteBufferLowWaterMark(), config.getWriteBufferHighWaterMark()));
+        if (transport == Transport.EPOLL) {
+            sbs.option(EpollChannelOption.SO_REUSEPORT, listeners > 1)
+                    .childOption(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED);
+        }
 
-            // 绑定端口，开始接收进来的连接
-            ChannelFuture future = sbs.bind(port).sync();
+        try {
+            // 每次 bind 创建一个监听套接字，依次注册到 bossGroup 的不同线程上
+            for (int i = 0; i < listeners; i++) {
+                serverChannels.add(sbs.bind(config.getPort()).sync().channel());
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            stop();
+            throw e;
+        }
+        log.info("服务端启动成功：{}", config);
+    }
 
-            log.info("服务端启动成功：{}", port);
-            future.channel().closeFuture().sync();
+    /**
+     * 功能描述: 启动并阻塞，直到服务端被关闭
+     *
+     * @author LM.X
+     * @date 2020/4/7 12:00
+     */
+    public void start() {
+        try {
+            bind();
+            serverChannels.get(0).closeFuture().sync();
         } catch (Exception e) {
+            log.error("服务端异常退出：{}", config.getPort(), e);
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * 功能描述: 关闭监听套接字并释放所有线程，可重复调用
+     *
+     * @author LM.X
+     * @date 2026/10/17 01:20
+     */
+    public synchronized void stop() {
+        for (Channel channel : serverChannels) {
+            channel.close().syncUninterruptibly();
+        }
+        serverChannels.clear();
+        if (bossGroup != null) {
             bossGroup.shutdownGracefully();
             workerGroup.shutdownGracefully();
+            if (handlerGroup != null) {
+                handlerGroup.shutdownGracefully();
+            }
+            bossGroup = null;
+            workerGroup = null;
+            handlerGroup = null;
         }
     }
 
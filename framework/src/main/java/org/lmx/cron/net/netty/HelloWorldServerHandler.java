@@ -1,9 +1,14 @@
 package org.lmx.cron.net.netty;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.SimpleChannelInboundHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.lmx.cron.net.protocol.Command;
+import org.lmx.cron.net.protocol.Message;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * 功能描述：HelloWorld
@@ -13,11 +18,12 @@ import lombok.extern.slf4j.Slf4j;
  * @create: 2020-04-07 11:39
  **/
 @Slf4j
-public class HelloWorldServerHandler extends SimpleChannelInboundHandler {
-    @Override
-    protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
-
-    }
+public class HelloWorldServerHandler extends SimpleChannelInboundHandler<Message> {
+    /**
+     * 回复文本的前缀，只编码一次，各回复共享
+     */
+    private static final ByteBuf REPLY_PREFIX = Unpooled.unreleasableBuffer(
+            Unpooled.directBuffer().writeBytes("Server端 收到消息：".getBytes(StandardCharsets.UTF_8)));
 
     /**
      * 功能描述: 表示Server处于活动状态，建立连接时调用
@@ -33,22 +39,37 @@ public class HelloWorldServerHandler extends SimpleChannelInboundHandler {
     }
 
     /**
-     * 功能描述: 接收到消息时调用
+     * 功能描述: 接收到消息时调用；PING 回复 PONG，文本消息加上前缀原样返回，负载均不复制。
+     * 这里只 write，一批读取结束后在{@link #channelReadComplete}中统一 flush
      *
      * @param ctx 通道上下文
-     * @param msg 消息内容
+     * @param msg 消息，返回后由父类释放
      * @return void
      * @author LM.X
      * @date 2020/4/7 11:55
      */
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
-        final String data = String.format("Server端 收到消息：%s", msg);
+    protected void channelRead0(ChannelHandlerContext ctx, Message msg) throws Exception {
+        switch (msg.command()) {
+            case PING:
+                ctx.write(new Message(Command.PONG, msg.content().retain()));
+                break;
+            case MESSAGE:
+                ctx.write(Message.composite(ctx.alloc(), Command.MESSAGE, REPLY_PREFIX.duplicate(), msg.content().retain()));
+                break;
+            default:
+                break;
+        }
 
-        ctx.write(data);
-        ctx.flush();
+        if (log.isDebugEnabled()) {
+            log.debug("Server端 收到消息：{}", msg);
+        }
+    }
 
-        log.info(data);
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        ctx.flush();
+        ctx.fireChannelReadComplete();
     }
 
     @Override
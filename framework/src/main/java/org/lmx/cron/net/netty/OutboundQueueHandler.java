@@ -0,0 +1,228 @@
+package org.lmx.cron.net.netty;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 功能描述：每个对端一个有界发送队列，配合写缓冲区水位实现背压
+ * <pre>
+ *     通道可写（出站缓冲区低于高水位）时写入直接下传；不可写时先进入本队列，同时暂停读取该对端
+ *  （autoRead = false），对端不收我们的数据，我们也不再处理它的请求。重新可写后按顺序排空队列并恢复读取。
+ *
+ *     队列按字节数限容，超限时按{@link OverflowPolicy}丢弃新消息或断开连接；持续不可写超过 slowPeerTimeout
+ *  的对端视为慢节点，直接断开，防止出站缓冲无限增长耗尽堆内存。
+ *
+ *     应放在编码器之后（更靠近套接字），统计的是编码后的字节数。所有通道排队字节数的合计为仪表
+ *  lmx.channel.queued.bytes，被丢弃的消息数为计数器 lmx.channel.dropped。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:40
+ **/
+@Slf4j
+public class OutboundQueueHandler extends ChannelDuplexHandler {
+    private static final AtomicLong TOTAL_QUEUED_BYTES = new AtomicLong();
+    private static final Counter DROPPED = Counter.builder("lmx.channel.dropped").register(Metrics.globalRegistry);
+    private static final QueueOverflowException OVERFLOW = new QueueOverflowException();
+
+    static {
+        Gauge.builder("lmx.channel.queued.bytes", TOTAL_QUEUED_BYTES, AtomicLong::get).register(Metrics.globalRegistry);
+    }
+
+    /**
+     * 队列满时的处理方式
+     */
+    public enum OverflowPolicy {
+        /**
+         * 丢弃新消息，写 promise 以{@link QueueOverflowException}失败
+         */
+        DROP,
+        /**
+         * 断开连接
+         */
+        DISCONNECT
+    }
+
+    private final long maxQueuedBytes;
+    private final OverflowPolicy policy;
+    private final long slowPeerTimeoutMillis;
+
+    private final ArrayDeque<PendingWrite> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    private ScheduledFuture<?> slowPeerCheck;
+
+    /**
+     * @param maxQueuedBytes        队列字节上限
+     * @param policy                超限处理方式
+     * @param slowPeerTimeoutMillis 持续不可写多久后断开，0 表示不限
+     */
+    public OutboundQueueHandler(long maxQueuedBytes, OverflowPolicy policy, long slowPeerTimeoutMillis) {
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.policy = policy;
+        this.slowPeerTimeoutMillis = slowPeerTimeoutMillis;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (queue.isEmpty() && ctx.channel().isWritable()) {
+            ctx.write(msg, promise);
+            return;
+        }
+        long size = sizeOf(msg);
+        if (queuedBytes + size > maxQueuedBytes) {
+            overflow(ctx, msg, promise);
+            return;
+        }
+        queue.addLast(new PendingWrite(msg, promise, size));
+        queuedBytes += size;
+        TOTAL_QUEUED_BYTES.addAndGet(size);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        drain(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            cancelSlowPeerCheck();
+            drain(ctx);
+            ctx.flush();
+            // 排空过程中可能再次变为不可写，此时保持暂停读取
+            if (ctx.channel().isWritable()) {
+                ctx.channel().config().setAutoRead(true);
+            }
+        } else {
+            ctx.channel().config().setAutoRead(false);
+            scheduleSlowPeerCheck(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        discardAll();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        discardAll();
+    }
+
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * 功能描述: 所有通道排队中的字节数合计
+     */
+    public static long getTotalQueuedBytes() {
+        return TOTAL_QUEUED_BYTES.get();
+    }
+
+    private void drain(ChannelHandlerContext ctx) {
+        while (!queue.isEmpty() && ctx.channel().isWritable()) {
+            PendingWrite pending = queue.pollFirst();
+            queuedBytes -= pending.size;
+            TOTAL_QUEUED_BYTES.addAndGet(-pending.size);
+            ctx.write(pending.msg, pending.promise);
+        }
+    }
+
+    private void overflow(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        ReferenceCountUtil.release(msg);
+        promise.tryFailure(OVERFLOW);
+        DROPPED.increment();
+        if (policy == OverflowPolicy.DISCONNECT) {
+            log.warn("对端 {} 发送队列已满（{} 字节），断开连接", ctx.channel().remoteAddress(), queuedBytes);
+            ctx.close();
+        }
+    }
+
+    private void scheduleSlowPeerCheck(ChannelHandlerContext ctx) {
+        if (slowPeerTimeoutMillis <= 0 || slowPeerCheck != null) {
+            return;
+        }
+        slowPeerCheck = ctx.executor().schedule(() -> {
+            slowPeerCheck = null;
+            if (!ctx.channel().isWritable()) {
+                log.warn("对端 {} 持续 {} ms 不可写，断开连接", ctx.channel().remoteAddress(), slowPeerTimeoutMillis);
+                ctx.close();
+            }
+        }, slowPeerTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelSlowPeerCheck() {
+        if (slowPeerCheck != null) {
+            slowPeerCheck.cancel(false);
+            slowPeerCheck = null;
+        }
+    }
+
+    private void discardAll() {
+        cancelSlowPeerCheck();
+        PendingWrite pending;
+        while ((pending = queue.pollFirst()) != null) {
+            TOTAL_QUEUED_BYTES.addAndGet(-pending.size);
+            ReferenceCountUtil.release(pending.msg);
+            pending.promise.tryFailure(OVERFLOW);
+        }
+        queuedBytes = 0;
+    }
+
+    private static long sizeOf(Object msg) {
+        if (msg instanceof ByteBuf) {
+            return ((ByteBuf) msg).readableBytes();
+        }
+        if (msg instanceof ByteBufHolder) {
+            return ((ByteBufHolder) msg).content().readableBytes();
+        }
+        return 0;
+    }
+
+    private static final class PendingWrite {
+        final Object msg;
+        final ChannelPromise promise;
+        final long size;
+
+        PendingWrite(Object msg, ChannelPromise promise, long size) {
+            this.msg = msg;
+            this.promise = promise;
+            this.size = size;
+        }
+    }
+
+    /**
+     * 功能描述：消息因发送队列满或连接关闭未能发出；共享一个实例，不填充调用栈
+     */
+    public static final class QueueOverflowException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private QueueOverflowException() {
+            super("发送队列已满或连接已关闭，消息未发出");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.lmx.cron.net.netty;
+
+/**
+ * 功能描述：服务端线程与套接字配置
+ * <pre>
+ *     acceptorThreads：监听线程数。EPOLL 下每个线程各持有一个 SO_REUSEPORT 监听套接字，
+ *  由内核分摊新连接；NIO 下只能有一个监听套接字，多余的线程不起作用。
+ *     workerThreads：I/O 线程数，0 表示 Netty 默认（CPU 核数 * 2）。
+ *     handlerThreads：业务处理器（验签等耗 CPU 的操作）独立线程组的大小，0 表示直接在 I/O 线程上执行。
+ *
+ *     出站背压见{@link OutboundQueueHandler}：出站缓冲超过 writeBufferHighWaterMark 时通道不可写，
+ *  之后的消息进入至多 maxQueuedBytes 的队列并暂停读取，降到 writeBufferLowWaterMark 以下后恢复；
+ *  explicitFlushAfterFlushes 为合并 flush 时最多攒几次 flush 才真正写套接字。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:20
+ **/
+public class ServerConfig {
+    private int port = 8080;
+    private Transport transport = Transport.detect();
+    private int acceptorThreads = 1;
+    private int workerThreads;
+    private int handlerThreads;
+    private int backlog = 128;
+    private boolean tcpNoDelay = true;
+    private boolean keepAlive = true;
+    private int writeBufferLowWaterMark = 32 * 1024;
+    private int writeBufferHighWaterMark = 64 * 1024;
+    private long maxQueuedBytes = 4 * 1024 * 1024;
+    private OutboundQueueHandler.OverflowPolicy overflowPolicy = OutboundQueueHandler.OverflowPolicy.DISCONNECT;
+    private long slowPeerTimeoutMillis = 30_000;
+    private int explicitFlushAfterFlushes = 256;
+
+    public int getPort() {
+        return port;
+    }
+
+    public ServerConfig setPort(int port) {
+        this.port = port;
+        return this;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public ServerConfig setTransport(Transport transport) {
+        if (!transport.isAvailable()) {
+            throw new IllegalArgumentException("当前环境不支持 " + transport);
+        }
+        this.transport = transport;
+        return this;
+    }
+
+    public int getAcceptorThreads() {
+        return acceptorThreads;
+    }
+
+    public ServerConfig setAcceptorThreads(int acceptorThreads) {
+        if (acceptorThreads < 1) {
+            throw new IllegalArgumentException("acceptorThreads 至少为1：" + acceptorThreads);
+        }
+        this.acceptorThreads = acceptorThreads;
+        return this;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public ServerConfig setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+        return this;
+    }
+
+    public int getHandlerThreads() {
+        return handlerThreads;
+    }
+
+    public ServerConfig setHandlerThreads(int handlerThreads) {
+        this.handlerThreads = handlerThreads;
+        return this;
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    public ServerConfig setBacklog(int backlog) {
+        this.backlog = backlog;
+        return this;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public ServerConfig setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public ServerConfig setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    public ServerConfig setWriteBufferWaterMark(int low, int high) {
+        if (low < 0 || high < low) {
+            throw new IllegalArgumentException("水位设置错误：low=" + low + "，high=" + high);
+        }
+        this.writeBufferLowWaterMark = low;
+        this.writeBufferHighWaterMark = high;
+        return this;
+    }
+
+    public long getMaxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    public ServerConfig setMaxQueuedBytes(long maxQueuedBytes) {
+        this.maxQueuedBytes = maxQueuedBytes;
+        return this;
+    }
+
+    public OutboundQueueHandler.OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public ServerConfig setOverflowPolicy(OutboundQueueHandler.OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    public long getSlowPeerTimeoutMillis() {
+        return slowPeerTimeoutMillis;
+    }
+
+    public ServerConfig setSlowPeerTimeoutMillis(long slowPeerTimeoutMillis) {
+        this.slowPeerTimeoutMillis = slowPeerTimeoutMillis;
+        return this;
+    }
+
+    public int getExplicitFlushAfterFlushes() {
+        return explicitFlushAfterFlushes;
+    }
+
+    public ServerConfig setExplicitFlushAfterFlushes(int explicitFlushAfterFlushes) {
+        this.explicitFlushAfterFlushes = explicitFlushAfterFlushes;
+        return this;
+    }
+
+    /**
+     * 功能描述: 新建该通道的发送队列处理器，每个通道一个
+     */
+    public OutboundQueueHandler newOutboundQueueHandler() {
+        return new OutboundQueueHandler(maxQueuedBytes, overflowPolicy, slowPeerTimeoutMillis);
+    }
+
+    /**
+     * 功能描述: 实际使用的监听套接字个数
+     */
+    int listenerCount() {
+        return transport.supportsReusePort() ? acceptorThreads : 1;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerConfig{port=" + port + ", transport=" + transport + ", acceptorThreads=" + acceptorThreads
+                + ", workerThreads=" + workerThreads + ", handlerThreads=" + handlerThreads + ", backlog=" + backlog
+                + ", tcpNoDelay=" + tcpNoDelay + ", keepAlive=" + keepAlive
+                + ", writeBufferWaterMark=" + writeBufferLowWaterMark + "/" + writeBufferHighWaterMark
+                + ", maxQueuedBytes=" + maxQueuedBytes + ", overflowPolicy=" + overflowPolicy
+                + ", slowPeerTimeoutMillis=" + slowPeerTimeoutMillis + '}';
+    }
+}
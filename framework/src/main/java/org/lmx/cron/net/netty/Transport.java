@@ -0,0 +1,106 @@
+package org.lmx.cron.net.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * 功能描述：网络传输实现
+ * <pre>
+ *     Linux 上有 epoll 原生库时使用 EPOLL（边缘触发，支持 SO_REUSEPORT 多个监听套接字），否则退回 NIO。
+ *  可通过 -Dlmx.net.transport=nio 强制使用 NIO。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:20
+ **/
+public enum Transport {
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, String name) {
+            return new EpollEventLoopGroup(threads, new DefaultThreadFactory(name));
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> channelClass() {
+            return EpollSocketChannel.class;
+        }
+    },
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads, String name) {
+            return new NioEventLoopGroup(threads, new DefaultThreadFactory(name));
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> channelClass() {
+            return NioSocketChannel.class;
+        }
+    };
+
+    /**
+     * 功能描述: 当前环境可用的最优传输
+     *
+     * @return 有 epoll 且未被 -Dlmx.net.transport=nio 禁用时为 EPOLL，否则为 NIO
+     * @author LM.X
+     * @date 2026/10/17 01:20
+     */
+    public static Transport detect() {
+        String forced = System.getProperty("lmx.net.transport");
+        if (NIO.name().equalsIgnoreCase(forced)) {
+            return NIO;
+        }
+        return EPOLL.isAvailable() ? EPOLL : NIO;
+    }
+
+    public abstract boolean isAvailable();
+
+    /**
+     * 功能描述: 创建事件循环组
+     *
+     * @param threads 线程数，0 表示 Netty 默认（CPU 核数 * 2）
+     * @param name    线程名前缀
+     * @return EventLoopGroup
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int threads, String name);
+
+    public abstract Class<? extends ServerChannel> serverChannelClass();
+
+    public abstract Class<? extends SocketChannel> channelClass();
+
+    /**
+     * 功能描述: 是否支持多个监听套接字绑定同一端口，由内核在它们之间分配新连接
+     */
+    public boolean supportsReusePort() {
+        return this == EPOLL;
+    }
+}
@@ -0,0 +1,169 @@
+package org.lmx.cron.net.p2p;
+
+import org.lmx.cron.net.netty.ServerConfig;
+
+/**
+ * 功能描述：广播层配置
+ * <pre>
+ *     server：监听端口、传输、线程数与出站背压，入站与出站连接共用同一组 I/O 线程；handlerThreads 不生效，
+ *  对端状态只在其通道的事件循环上访问。
+ *     inbound/outboundTrickleMillis：交易通告攒批的平均间隔，实际间隔服从指数分布，使对端难以根据到达时间
+ *  推断交易来源。出站连接是自己选的对端，间隔更短；区块不攒批，立即通告。
+ *     maxInvPerMessage：每条 INV 最多携带的条目数，超出的留到下一次；收到的 INV / GETDATA / NOTFOUND 超过该条数时断开对端。
+ *     knownCapacity：每个对端的已知条目集合至少记得的条数；seenCapacity：本节点已收条目（去重）集合至少记得的条数，
+ *  两者都是滚动 Bloom 过滤器，见{@link KnownInventory}。
+ *     relayWindowMillis / relayPoolMaxBytes：收到的数据保留多久、最多多少字节，用于应答 GETDATA。
+ *     getDataTimeoutMillis：向一个对端请求数据后，多久未收到就改向下一个通告者请求。
+ *     maxRequested：同时进行中的 GETDATA 条目数上限，超出的通告暂不请求。
+ *     reconnectDelayMillis / maxReconnectDelayMillis：出站连接断开后的重连间隔，每次失败翻倍。
+ *     maxInboundPeers：入站连接数上限。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+public class GossipConfig {
+    private ServerConfig server = new ServerConfig();
+    private long inboundTrickleMillis = 500;
+    private long outboundTrickleMillis = 200;
+    private int maxInvPerMessage = 1000;
+    private int knownCapacity = 10_000;
+    private int seenCapacity = 200_000;
+    private long relayWindowMillis = 15 * 60 * 1000;
+    private long relayPoolMaxBytes = 64 * 1024 * 1024;
+    private long getDataTimeoutMillis = 10_000;
+    private int maxRequested = 50_000;
+    private long reconnectDelayMillis = 1000;
+    private long maxReconnectDelayMillis = 60_000;
+    private int maxInboundPeers = 125;
+
+    public ServerConfig getServer() {
+        return server;
+    }
+
+    public GossipConfig setServer(ServerConfig server) {
+        this.server = server;
+        return this;
+    }
+
+    public long getInboundTrickleMillis() {
+        return inboundTrickleMillis;
+    }
+
+    public GossipConfig setInboundTrickleMillis(long inboundTrickleMillis) {
+        this.inboundTrickleMillis = inboundTrickleMillis;
+        return this;
+    }
+
+    public long getOutboundTrickleMillis() {
+        return outboundTrickleMillis;
+    }
+
+    public GossipConfig setOutboundTrickleMillis(long outboundTrickleMillis) {
+        this.outboundTrickleMillis = outboundTrickleMillis;
+        return this;
+    }
+
+    public int getMaxInvPerMessage() {
+        return maxInvPerMessage;
+    }
+
+    public GossipConfig setMaxInvPerMessage(int maxInvPerMessage) {
+        if (maxInvPerMessage < 1) {
+            throw new IllegalArgumentException("maxInvPerMessage 至少为1：" + maxInvPerMessage);
+        }
+        this.maxInvPerMessage = maxInvPerMessage;
+        return this;
+    }
+
+    public int getKnownCapacity() {
+        return knownCapacity;
+    }
+
+    public GossipConfig setKnownCapacity(int knownCapacity) {
+        this.knownCapacity = knownCapacity;
+        return this;
+    }
+
+    public int getSeenCapacity() {
+        return seenCapacity;
+    }
+
+    public GossipConfig setSeenCapacity(int seenCapacity) {
+        this.seenCapacity = seenCapacity;
+        return this;
+    }
+
+    public long getRelayWindowMillis() {
+        return relayWindowMillis;
+    }
+
+    public GossipConfig setRelayWindowMillis(long relayWindowMillis) {
+        this.relayWindowMillis = relayWindowMillis;
+        return this;
+    }
+
+    public long getRelayPoolMaxBytes() {
+        return relayPoolMaxBytes;
+    }
+
+    public GossipConfig setRelayPoolMaxBytes(long relayPoolMaxBytes) {
+        this.relayPoolMaxBytes = relayPoolMaxBytes;
+        return this;
+    }
+
+    public long getGetDataTimeoutMillis() {
+        return getDataTimeoutMillis;
+    }
+
+    public GossipConfig setGetDataTimeoutMillis(long getDataTimeoutMillis) {
+        this.getDataTimeoutMillis = getDataTimeoutMillis;
+        return this;
+    }
+
+    public int getMaxRequested() {
+        return maxRequested;
+    }
+
+    public GossipConfig setMaxRequested(int maxRequested) {
+        this.maxRequested = maxRequested;
+        return this;
+    }
+
+    public long getReconnectDelayMillis() {
+        return reconnectDelayMillis;
+    }
+
+    public GossipConfig setReconnectDelayMillis(long reconnectDelayMillis) {
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        return this;
+    }
+
+    public long getMaxReconnectDelayMillis() {
+        return maxReconnectDelayMillis;
+    }
+
+    public GossipConfig setMaxReconnectDelayMillis(long maxReconnectDelayMillis) {
+        this.maxReconnectDelayMillis = maxReconnectDelayMillis;
+        return this;
+    }
+
+    public int getMaxInboundPeers() {
+        return maxInboundPeers;
+    }
+
+    public GossipConfig setMaxInboundPeers(int maxInboundPeers) {
+        this.maxInboundPeers = maxInboundPeers;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "GossipConfig{server=" + server + ", trickleMillis=" + inboundTrickleMillis + "/" + outboundTrickleMillis
+                + ", maxInvPerMessage=" + maxInvPerMessage + ", knownCapacity=" + knownCapacity
+                + ", seenCapacity=" + seenCapacity + ", relayWindowMillis=" + relayWindowMillis
+                + ", relayPoolMaxBytes=" + relayPoolMaxBytes + ", getDataTimeoutMillis=" + getDataTimeoutMillis + ", maxRequested=" + maxRequested
+                + ", maxInboundPeers=" + maxInboundPeers + '}';
+    }
+}
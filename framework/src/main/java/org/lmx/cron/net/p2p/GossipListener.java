@@ -0,0 +1,25 @@
+package org.lmx.cron.net.p2p;
+
+/**
+ * 功能描述：收到新的交易或区块时回调
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+@FunctionalInterface
+public interface GossipListener {
+
+    /**
+     * 功能描述: 每个条目只回调一次，重复收到的不再回调（以已收集合记得的范围为限，见 seenCapacity）。
+     * 在 I/O 线程上执行，耗时的校验应转交其他线程后返回 false，校验通过后再调用{@link GossipNode#broadcast(InvType, byte[])}
+     *
+     * @param item    条目
+     * @param payload 数据，不应修改
+     * @param from    发来数据的对端
+     * @return 是否转发给其他对端
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    boolean onReceived(InvItem item, byte[] payload, Peer from);
+}
@@ -0,0 +1,548 @@
+package org.lmx.cron.net.p2p;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.lmx.cron.net.netty.ChannelMetricsHandler;
+import org.lmx.cron.net.netty.ServerConfig;
+import org.lmx.cron.net.netty.Transport;
+import org.lmx.cron.net.protocol.MessageDecoder;
+import org.lmx.cron.net.protocol.MessageEncoder;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 功能描述：交易与区块的广播节点
+ * <pre>
+ *     持有一个监听端口（入站对端）和若干常驻出站连接（断开后按退避间隔重连），两者使用同一套 pipeline：
+ *  监控、flush 合并、有界发送队列、编解码、{@link PeerHandler}。
+ *
+ *     数据只在对端请求时发送一次：新数据先以 INV 通告（33字节/条），对端没见过才发 GETDATA 取回。
+ *  每个对端维护已知集合，对端通告过、请求过或发来过的条目不再向它通告；本节点维护已收集合，重复数据直接丢弃。
+ *  同一条目只向一个通告者请求，其余通告者记为备选，请求超时、NOTFOUND 或对端断开时改向下一个；
+ *  没有请求过的 TX / BLOCK 一律丢弃。
+ *  交易通告按随机间隔攒批（见{@link Peer}），向 N 个对端广播只是把条目交给 N 个事件循环，
+ *  因此每笔交易在每条连接上的开销是常数：一次通告，至多一次负载。
+ *
+ *     收到的数据在转发池中保留 relayWindowMillis，用于应答其他对端的 GETDATA。
+ *  {@link #main(String[])}在本机回环地址上启动若干节点组成随机网络，统计传播延迟。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+@Slf4j
+public class GossipNode {
+    private static final Counter RECEIVED = Counter.builder("lmx.p2p.received").register(Metrics.globalRegistry);
+    private static final Counter DUPLICATE = Counter.builder("lmx.p2p.duplicate").register(Metrics.globalRegistry);
+    private static final Counter UNSOLICITED = Counter.builder("lmx.p2p.unsolicited").register(Metrics.globalRegistry);
+    private static final Counter RETRIED = Counter.builder("lmx.p2p.getdata.retried").register(Metrics.globalRegistry);
+    private static final AtomicInteger TOTAL_PEERS = new AtomicInteger();
+    /**
+     * 每个条目最多记住的备选通告者
+     */
+    private static final int MAX_ANNOUNCERS = 8;
+
+    static {
+        Gauge.builder("lmx.p2p.peers", TOTAL_PEERS, AtomicInteger::get).register(Metrics.globalRegistry);
+    }
+
+    private final GossipConfig config;
+    private final Set<Peer> peers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inboundPeers = new AtomicInteger();
+    /**
+     * 本节点已收条目
+     */
+    private final KnownInventory seen;
+    /**
+     * 已发出 GETDATA 尚未收到的条目，至多 maxRequested 条
+     */
+    private final Map<InvItem, Request> requests = new ConcurrentHashMap<>();
+    private final Cache<InvItem, byte[]> relayPool;
+    /**
+     * 常驻出站地址 -> 下一次重连间隔
+     */
+    private final Map<InetSocketAddress, Long> outbound = new ConcurrentHashMap<>();
+    private volatile GossipListener listener = (item, payload, from) -> true;
+    private volatile boolean running;
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private Bootstrap bootstrap;
+    private Channel serverChannel;
+
+    public GossipNode(GossipConfig config) {
+        this.config = config;
+        this.seen = new KnownInventory(config.getSeenCapacity());
+        this.relayPool = Caffeine.newBuilder()
+                .expireAfterWrite(config.getRelayWindowMillis(), TimeUnit.MILLISECONDS)
+                .maximumWeight(config.getRelayPoolMaxBytes())
+                .<InvItem, byte[]>weigher((item, payload) -> payload.length)
+                .build();
+    }
+
+    /**
+     * 功能描述: 绑定监听端口，并连接此前登记的常驻出站地址
+     *
+     * @throws InterruptedException 等待绑定时被中断
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public synchronized void start() throws InterruptedException {
+        if (running) {
+            throw new IllegalStateException("节点已启动");
+        }
+        ServerConfig server = config.getServer();
+        Transport transport = server.getTransport();
+        bossGroup = transport.newEventLoopGroup(1, "lmx-p2p-boss");
+        workerGroup = transport.newEventLoopGroup(server.getWorkerThreads(), "lmx-p2p-worker");
+        WriteBufferWaterMark waterMark = new WriteBufferWaterMark(server.getWriteBufferLowWaterMark(), server.getWriteBufferHighWaterMark());
+
+        ServerBootstrap sbs = new ServerBootstrap().group(bossGroup, workerGroup).channel(transport.serverChannelClass())
+                .childHandler(new PeerChannelInitializer(true))
+                .option(ChannelOption.SO_BACKLOG, server.getBacklog())
+                .childOption(ChannelOption.SO_KEEPALIVE, server.isKeepAlive())
+                .childOption(ChannelOption.TCP_NODELAY, server.isTcpNoDelay())
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark);
+        bootstrap = new Bootstrap().group(workerGroup).channel(transport.channelClass())
+                .handler(new PeerChannelInitializer(false))
+                .option(ChannelOption.SO_KEEPALIVE, server.isKeepAlive())
+                .option(ChannelOption.TCP_NODELAY, server.isTcpNoDelay())
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark);
+        try {
+            serverChannel = sbs.bind(server.getPort()).sync().channel();
+        } catch (InterruptedException | RuntimeException e) {
+            stop();
+            throw e;
+        }
+        running = true;
+        long period = Math.max(100, config.getGetDataTimeoutMillis() / 4);
+        workerGroup.scheduleAtFixedRate(this::sweepRequests, period, period, TimeUnit.MILLISECONDS);
+        for (InetSocketAddress address : outbound.keySet()) {
+            doConnect(address);
+        }
+        log.info("节点启动成功：{}，监听端口 {}", config, getPort());
+    }
+
+    /**
+     * 功能描述: 断开所有连接并释放线程，可重复调用
+     *
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public synchronized void stop() {
+        running = false;
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+            serverChannel = null;
+        }
+        for (Peer peer : peers) {
+            peer.getChannel().close();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+            workerGroup.shutdownGracefully();
+            bossGroup = null;
+            workerGroup = null;
+        }
+        requests.clear();
+    }
+
+    /**
+     * 功能描述: 登记常驻出站地址；节点运行中立即连接，断开后自动重连，直到{@link #disconnect(InetSocketAddress)}
+     *
+     * @param address 对端地址
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public void connect(InetSocketAddress address) {
+        if (outbound.putIfAbsent(address, config.getReconnectDelayMillis()) == null && running) {
+            doConnect(address);
+        }
+    }
+
+    /**
+     * 功能描述: 取消常驻出站地址并断开到它的出站连接
+     *
+     * @param address 对端地址
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public void disconnect(InetSocketAddress address) {
+        outbound.remove(address);
+        for (Peer peer : peers) {
+            if (!peer.isInbound() && address.equals(peer.getRemoteAddress())) {
+                peer.getChannel().close();
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 广播本节点产生或校验通过的数据
+     *
+     * @param type    数据类型
+     * @param payload 序列化字节，之后不应修改
+     * @return 数据的通告条目
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public InvItem broadcast(InvType type, byte[] payload) {
+        InvItem item = InvItem.of(type, payload);
+        seen.add(item);
+        requests.remove(item);
+        relayPool.put(item, payload);
+        relay(item);
+        return item;
+    }
+
+    public void setListener(GossipListener listener) {
+        this.listener = listener;
+    }
+
+    public GossipConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 功能描述: 实际监听的端口，配置端口为0时由系统分配
+     */
+    public int getPort() {
+        Channel channel = serverChannel;
+        return channel == null ? -1 : ((InetSocketAddress) channel.localAddress()).getPort();
+    }
+
+    public List<Peer> getPeers() {
+        return new ArrayList<>(peers);
+    }
+
+    /**
+     * 功能描述: 转发池中的数据，已过期或未收到时返回 null
+     */
+    public byte[] getData(InvItem item) {
+        return relayPool.getIfPresent(item);
+    }
+
+    boolean register(Peer peer) {
+        if (peer.isInbound() && inboundPeers.incrementAndGet() > config.getMaxInboundPeers()) {
+            inboundPeers.decrementAndGet();
+            return false;
+        }
+        peers.add(peer);
+        TOTAL_PEERS.incrementAndGet();
+        return true;
+    }
+
+    void unregister(Peer peer) {
+        if (peers.remove(peer)) {
+            TOTAL_PEERS.decrementAndGet();
+            if (peer.isInbound()) {
+                inboundPeers.decrementAndGet();
+            }
+        }
+        // 正在向它请求的条目立即改向其他通告者
+        for (Map.Entry<InvItem, Request> entry : requests.entrySet()) {
+            if (entry.getValue().current == peer) {
+                failover(entry.getKey(), peer);
+            }
+        }
+    }
+
+    /**
+     * 功能描述: 收到通告时登记请求
+     * <pre>
+     *     本节点没见过且没有在请求的条目，登记为向该对端请求并返回 true，由调用方发 GETDATA；
+     *  已在向其他对端请求时，把该对端记为备选通告者（至多{@value #MAX_ANNOUNCERS}个），
+     *  当前请求失败（NOTFOUND、超时、断开）时依次改向备选者请求。
+     *  已收过的判断放在同一把桶锁内，与{@link #receive}中的认领互斥，不会重复请求。
+     * </pre>
+     */
+    boolean request(InvItem item, Peer peer) {
+        if (seen.contains(item)) {
+            return false;
+        }
+        boolean[] granted = new boolean[1];
+        requests.compute(item, (key, request) -> {
+            if (request == null) {
+                if (seen.contains(key) || requests.size() >= config.getMaxRequested()) {
+                    return null;
+                }
+                granted[0] = true;
+                return new Request(peer, deadline());
+            }
+            request.addAnnouncer(peer);
+            return request;
+        });
+        return granted[0];
+    }
+
+    /**
+     * 功能描述: 对端回复 NOTFOUND，改向下一个通告者请求
+     */
+    void notFound(InvItem item, Peer peer) {
+        failover(item, peer);
+    }
+
+    /**
+     * 功能描述: 收到数据：只接受向该对端请求过的条目，认领请求后回调，监听器同意后放入转发池并通告给其他对端
+     * <pre>
+     *     认领（移除请求）与记为已收在同一把桶锁内完成，同一条目只有一个线程认领成功，监听器只回调一次。
+     * </pre>
+     */
+    void receive(InvItem item, byte[] payload, Peer from) {
+        boolean[] claimed = new boolean[1];
+        requests.computeIfPresent(item, (key, request) -> {
+            if (!request.asked(from)) {
+                return request;
+            }
+            seen.add(key);
+            claimed[0] = true;
+            return null;
+        });
+        if (!claimed[0]) {
+            if (seen.contains(item)) {
+                DUPLICATE.increment();
+            } else {
+                UNSOLICITED.increment();
+                log.debug("{} 发来未请求的数据 {}，丢弃", from, item);
+            }
+            return;
+        }
+        RECEIVED.increment();
+        if (listener.onReceived(item, payload, from)) {
+            relayPool.put(item, payload);
+            relay(item);
+        }
+    }
+
+    /**
+     * 功能描述: 当前请求的对端失败时改向下一个仍在线的备选通告者请求，没有备选者则撤销请求
+     *
+     * @param item   条目
+     * @param failed 失败的对端，只有它仍是当前请求对象时才切换
+     */
+    private void failover(InvItem item, Peer failed) {
+        Peer[] next = new Peer[1];
+        requests.computeIfPresent(item, (key, request) -> {
+            if (request.current != failed) {
+                return request;
+            }
+            Peer alternate = request.nextAnnouncer();
+            if (alternate == null) {
+                return null;
+            }
+            request.retry(alternate, deadline());
+            next[0] = alternate;
+            return request;
+        });
+        if (next[0] != null) {
+            RETRIED.increment();
+            next[0].getData(item);
+        }
+    }
+
+    /**
+     * 功能描述: 定时检查超时或对端已断开的请求
+     */
+    private void sweepRequests() {
+        long now = System.nanoTime();
+        for (Map.Entry<InvItem, Request> entry : requests.entrySet()) {
+            Request request = entry.getValue();
+            Peer current = request.current;
+            if (now - request.deadline > 0 || !current.getChannel().isActive()) {
+                failover(entry.getKey(), current);
+            }
+        }
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getGetDataTimeoutMillis());
+    }
+
+    private void relay(InvItem item) {
+        for (Peer peer : peers) {
+            peer.announce(item);
+        }
+    }
+
+    private void doConnect(InetSocketAddress address) {
+        bootstrap.connect(address).addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                outbound.replace(address, config.getReconnectDelayMillis());
+                future.channel().closeFuture().addListener(f -> scheduleReconnect(address, false));
+            } else {
+                log.debug("连接 {} 失败：{}", address, future.cause().toString());
+                scheduleReconnect(address, true);
+            }
+        });
+    }
+
+    private void scheduleReconnect(InetSocketAddress address, boolean failed) {
+        Long delay = outbound.get(address);
+        EventLoopGroup group = workerGroup;
+        if (!running || delay == null || group == null) {
+            return;
+        }
+        if (failed) {
+            outbound.replace(address, delay, Math.min(delay * 2, config.getMaxReconnectDelayMillis()));
+        }
+        group.schedule(() -> {
+            if (running && outbound.containsKey(address)) {
+                doConnect(address);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 一个进行中的 GETDATA；字段只在 requests 的桶锁内修改，current、deadline 供定时检查无锁读取
+     */
+    private static final class Request {
+        private final List<Peer> asked = new ArrayList<>(2);
+        private final ArrayDeque<Peer> announcers = new ArrayDeque<>(2);
+        private volatile Peer current;
+        private volatile long deadline;
+
+        Request(Peer peer, long deadline) {
+            this.current = peer;
+            this.deadline = deadline;
+            asked.add(peer);
+        }
+
+        boolean asked(Peer peer) {
+            return asked.contains(peer);
+        }
+
+        void addAnnouncer(Peer peer) {
+            if (!asked.contains(peer) && !announcers.contains(peer) && announcers.size() < MAX_ANNOUNCERS) {
+                announcers.addLast(peer);
+            }
+        }
+
+        Peer nextAnnouncer() {
+            Peer peer;
+            while ((peer = announcers.pollFirst()) != null) {
+                if (peer.getChannel().isActive()) {
+                    return peer;
+                }
+            }
+            return null;
+        }
+
+        void retry(Peer peer, long deadline) {
+            asked.add(peer);
+            this.current = peer;
+            this.deadline = deadline;
+        }
+    }
+
+    private class PeerChannelInitializer extends ChannelInitializer<SocketChannel> {
+        private final boolean inbound;
+
+        PeerChannelInitializer(boolean inbound) {
+            this.inbound = inbound;
+        }
+
+        @Override
+        protected void initChannel(SocketChannel ch) throws Exception {
+            ServerConfig server = config.getServer();
+            ch.pipeline().addLast("metrics", ChannelMetricsHandler.INSTANCE);
+            ch.pipeline().addLast("flush", new FlushConsolidationHandler(server.getExplicitFlushAfterFlushes()));
+            ch.pipeline().addLast("outbound", server.newOutboundQueueHandler());
+            ch.pipeline().addLast("decoder", new MessageDecoder());
+            ch.pipeline().addLast("encoder", MessageEncoder.INSTANCE);
+            ch.pipeline().addLast("handler", new PeerHandler(GossipNode.this, inbound));
+        }
+    }
+
+    /**
+     * 功能描述: 在回环地址上启动若干节点，每个节点连接若干个更早启动的节点，从随机节点广播交易并统计传播延迟
+     *
+     * @param args 节点数（默认8）、交易数（默认200）、每个节点的出站连接数（默认3）
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public static void main(String[] args) throws Exception {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int txCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int degree = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        CountDownLatch delivered = new CountDownLatch((nodeCount - 1) * txCount);
+        Map<InvItem, Long> sentAt = new ConcurrentHashMap<>();
+        LongAdder latencyNanos = new LongAdder();
+        List<GossipNode> nodes = new ArrayList<>();
+        Random random = new Random(1);
+        int expectedLinks = 0;
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                GossipNode node = new GossipNode(new GossipConfig()
+                        .setServer(new ServerConfig().setPort(0).setWorkerThreads(1)));
+                node.setListener((item, payload, from) -> {
+                    latencyNanos.add(System.nanoTime() - sentAt.get(item));
+                    delivered.countDown();
+                    return true;
+                });
+                node.start();
+                List<GossipNode> targets = new ArrayList<>(nodes);
+                Collections.shuffle(targets, random);
+                for (GossipNode target : targets.subList(0, Math.min(i, degree))) {
+                    node.connect(new InetSocketAddress("127.0.0.1", target.getPort()));
+                    expectedLinks++;
+                }
+                nodes.add(node);
+            }
+            // 每条连接两端各算一个对端
+            long deadline = System.currentTimeMillis() + 5000;
+            while (TOTAL_PEERS.get() < expectedLinks * 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            log.info("{} 个节点，{} 条连接", nodeCount, TOTAL_PEERS.get() / 2);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < txCount; i++) {
+                byte[] tx = new byte[250];
+                ThreadLocalRandom.current().nextBytes(tx);
+                InvItem item = InvItem.of(InvType.TX, tx);
+                sentAt.put(item, System.nanoTime());
+                nodes.get(random.nextInt(nodeCount)).broadcast(InvType.TX, tx);
+            }
+            boolean complete = delivered.await(60, TimeUnit.SECONDS);
+            long elapsed = System.nanoTime() - start;
+            long deliveries = (long) (nodeCount - 1) * txCount - delivered.getCount();
+            log.info("送达 {}/{}{}，总耗时 {} ms，平均传播延迟 {} ms，重复负载 {} 条",
+                    deliveries, (long) (nodeCount - 1) * txCount, complete ? "" : "（超时）",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    deliveries == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyNanos.sum() / deliveries),
+                    (long) DUPLICATE.count());
+        } finally {
+            for (GossipNode node : nodes) {
+                node.stop();
+            }
+        }
+    }
+}
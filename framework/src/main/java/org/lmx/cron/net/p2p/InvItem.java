@@ -0,0 +1,139 @@
+package org.lmx.cron.net.p2p;
+
+import cn.hutool.core.util.HexUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.CorruptedFrameException;
+import org.lmx.common.crypto.Sha256;
+import org.lmx.common.crypto.Sha256Digest;
+import org.lmx.cron.net.protocol.Command;
+import org.lmx.cron.net.protocol.Message;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 功能描述：一条通告：数据类型 + 数据的双SHA-256
+ * <pre>
+ *     INV、GETDATA、NOTFOUND 的负载都是若干条连续的 类型(1) + 哈希(32)，没有条数前缀，条数由负载长度得出。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+public final class InvItem {
+    public static final int ENCODED_LENGTH = 1 + Sha256Digest.DIGEST_LENGTH;
+
+    private final InvType type;
+    private final byte[] hash;
+    private final int hashCode;
+
+    public InvItem(InvType type, byte[] hash) {
+        if (hash.length != Sha256Digest.DIGEST_LENGTH) {
+            throw new IllegalArgumentException("哈希长度错误：" + hash.length);
+        }
+        this.type = type;
+        this.hash = hash;
+        // 哈希本身是均匀的，取前4字节即可
+        this.hashCode = (hash[0] & 0xff) << 24 | (hash[1] & 0xff) << 16 | (hash[2] & 0xff) << 8 | (hash[3] & 0xff);
+    }
+
+    /**
+     * 功能描述: 计算数据的通告条目
+     *
+     * @param type    数据类型
+     * @param payload 交易或区块的序列化字节
+     * @return InvItem
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public static InvItem of(InvType type, byte[] payload) {
+        return new InvItem(type, Sha256.sha256d(payload));
+    }
+
+    public InvType getType() {
+        return type;
+    }
+
+    /**
+     * 功能描述: 32字节哈希，调用方不应修改
+     */
+    public byte[] getHash() {
+        return hash;
+    }
+
+    /**
+     * 功能描述: 将若干条目编码为一条消息
+     *
+     * @param alloc   分配器
+     * @param command INV、GETDATA 或 NOTFOUND
+     * @param items   条目
+     * @return Message
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public static Message encode(ByteBufAllocator alloc, Command command, Collection<InvItem> items) {
+        ByteBuf payload = alloc.buffer(items.size() * ENCODED_LENGTH);
+        for (InvItem item : items) {
+            payload.writeByte(item.type.getCode());
+            payload.writeBytes(item.hash);
+        }
+        return new Message(command, payload);
+    }
+
+    /**
+     * 功能描述: 解码 INV、GETDATA、NOTFOUND 的负载，未知类型的条目跳过
+     *
+     * @param payload  负载，不改变其读位置
+     * @param maxItems 条目数上限，在分配任何对象之前检查
+     * @return 条目列表
+     * @throws CorruptedFrameException 负载长度不是条目长度的整数倍，或条目数超过上限
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public static List<InvItem> decode(ByteBuf payload, int maxItems) {
+        int length = payload.readableBytes();
+        if (length % ENCODED_LENGTH != 0) {
+            throw new CorruptedFrameException("通告负载长度错误：" + length);
+        }
+        if (length / ENCODED_LENGTH > maxItems) {
+            throw new CorruptedFrameException("通告条目数超过上限 " + maxItems + "：" + length / ENCODED_LENGTH);
+        }
+        List<InvItem> items = new ArrayList<>(length / ENCODED_LENGTH);
+        for (int i = payload.readerIndex(), end = i + length; i < end; i += ENCODED_LENGTH) {
+            InvType type = InvType.valueOf(payload.getUnsignedByte(i));
+            if (type == null) {
+                continue;
+            }
+            byte[] hash = new byte[Sha256Digest.DIGEST_LENGTH];
+            payload.getBytes(i + 1, hash);
+            items.add(new InvItem(type, hash));
+        }
+        return items;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvItem)) {
+            return false;
+        }
+        InvItem other = (InvItem) o;
+        return hashCode == other.hashCode && type == other.type && Arrays.equals(hash, other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + HexUtil.encodeHexStr(hash);
+    }
+}
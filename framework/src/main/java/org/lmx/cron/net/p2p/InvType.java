@@ -0,0 +1,68 @@
+package org.lmx.cron.net.p2p;
+
+import org.lmx.cron.net.protocol.Command;
+
+/**
+ * 功能描述：通告条目的数据类型，对应条目中的1字节类型码
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+public enum InvType {
+    TX(1, Command.TX),
+    BLOCK(2, Command.BLOCK);
+
+    private final int code;
+    private final Command command;
+
+    InvType(int code, Command command) {
+        this.code = code;
+        this.command = command;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * 功能描述: 发送该类型数据所用的命令
+     */
+    public Command getCommand() {
+        return command;
+    }
+
+    /**
+     * 功能描述: 按类型码查找
+     *
+     * @param code 类型码
+     * @return 未知类型码返回 null
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public static InvType valueOf(int code) {
+        for (InvType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 功能描述: 按数据消息的命令查找
+     *
+     * @param command TX 或 BLOCK
+     * @return 其他命令返回 null
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public static InvType of(Command command) {
+        for (InvType type : values()) {
+            if (type.command == command) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
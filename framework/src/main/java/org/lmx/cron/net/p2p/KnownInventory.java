@@ -0,0 +1,44 @@
+package org.lmx.cron.net.p2p;
+
+import org.lmx.common.crypto.RollingBloomFilter;
+
+/**
+ * 功能描述：滚动的"已知条目"集合
+ * <pre>
+ *     基于{@link RollingBloomFilter}：至少记得最近 capacity 条，内存固定（每条约30位），不需要逐条过期。
+ *  误判率{@value #FPP}：误判为已知时，该条目不再通告给这个对端，或被当作重复数据丢弃，
+ *  在多个对端都会通告的网络里影响可以忽略。
+ *
+ *     用于记录每个对端已经知道的条目（不再向它通告）以及本节点已经收过的条目（去重）。
+ *  线程安全，add 不加锁；并发加入同一条目时 add 可能都返回 true，需要恰好一次的地方（节点收数据）由{@link GossipNode}的请求认领保证。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+public class KnownInventory {
+    public static final double FPP = 1e-6;
+
+    private final RollingBloomFilter filter;
+
+    public KnownInventory(int capacity) {
+        this.filter = new RollingBloomFilter(capacity, FPP);
+    }
+
+    public boolean contains(InvItem item) {
+        return filter.mightContain(item.getHash());
+    }
+
+    /**
+     * 功能描述: 记录条目
+     *
+     * @param item 条目
+     * @return 此前不在集合中时返回 true
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public boolean add(InvItem item) {
+        return filter.add(item.getHash());
+    }
+}
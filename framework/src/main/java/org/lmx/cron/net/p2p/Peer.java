@@ -0,0 +1,168 @@
+package org.lmx.cron.net.p2p;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.lmx.cron.net.protocol.Command;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 功能描述：一个已连接的对端
+ * <pre>
+ *     除{@link #announce(InvItem)}外的状态只在该通道的事件循环上访问，不需要加锁；announce 可在任意线程调用，
+ *  会转交到事件循环执行，因此向所有对端广播时各对端的通告在各自的 I/O 线程上并行进行。
+ *
+ *     交易通告先进入待发集合，按指数分布的随机间隔（trickle）攒成一条 INV 发出；发出前再按已知集合过滤，
+ *  等待期间对端自己通告过的条目不会再发回去。区块通告不攒批。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+public final class Peer {
+    private final Channel channel;
+    private final boolean inbound;
+    private final long trickleMillis;
+    private final int maxInvPerMessage;
+    private final KnownInventory known;
+    private final LinkedHashSet<InvItem> pendingInv = new LinkedHashSet<>();
+    private ScheduledFuture<?> trickle;
+
+    Peer(Channel channel, boolean inbound, GossipConfig config) {
+        this.channel = channel;
+        this.inbound = inbound;
+        this.trickleMillis = inbound ? config.getInboundTrickleMillis() : config.getOutboundTrickleMillis();
+        this.maxInvPerMessage = config.getMaxInvPerMessage();
+        this.known = new KnownInventory(config.getKnownCapacity());
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+
+    public SocketAddress getRemoteAddress() {
+        return channel.remoteAddress();
+    }
+
+    /**
+     * 功能描述: 是否为对方发起的连接
+     */
+    public boolean isInbound() {
+        return inbound;
+    }
+
+    /**
+     * 功能描述: 向该对端通告条目，对端已知的条目忽略；可在任意线程调用
+     *
+     * @param item 条目
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    public void announce(InvItem item) {
+        EventLoop loop = channel.eventLoop();
+        if (loop.inEventLoop()) {
+            announce0(item);
+        } else {
+            loop.execute(() -> announce0(item));
+        }
+    }
+
+    /**
+     * 功能描述: 向该对端请求条目（另一个通告者请求失败后改向它请求）；可在任意线程调用
+     *
+     * @param item 条目
+     * @author LM.X
+     * @date 2026/10/17 02:10
+     */
+    void getData(InvItem item) {
+        EventLoop loop = channel.eventLoop();
+        if (loop.inEventLoop()) {
+            getData0(item);
+        } else {
+            loop.execute(() -> getData0(item));
+        }
+    }
+
+    /**
+     * 功能描述: 记录对端已有该条目（对端通告过、请求过或发来过）
+     */
+    void markKnown(InvItem item) {
+        known.add(item);
+    }
+
+    /**
+     * 功能描述: 通道关闭时取消定时通告
+     */
+    void close() {
+        if (trickle != null) {
+            trickle.cancel(false);
+            trickle = null;
+        }
+        pendingInv.clear();
+    }
+
+    private void announce0(InvItem item) {
+        if (!channel.isActive() || known.contains(item)) {
+            return;
+        }
+        if (item.getType() == InvType.BLOCK) {
+            known.add(item);
+            channel.writeAndFlush(InvItem.encode(channel.alloc(), Command.INV, Collections.singletonList(item)));
+            return;
+        }
+        pendingInv.add(item);
+        scheduleTrickle();
+    }
+
+    private void getData0(InvItem item) {
+        if (channel.isActive()) {
+            channel.writeAndFlush(InvItem.encode(channel.alloc(), Command.GETDATA, Collections.singletonList(item)));
+        }
+    }
+
+    private void scheduleTrickle() {
+        if (trickle != null) {
+            return;
+        }
+        // 泊松过程的到达间隔
+        long delay = (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * trickleMillis);
+        trickle = channel.eventLoop().schedule(this::trickle, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void trickle() {
+        trickle = null;
+        if (!channel.isActive()) {
+            pendingInv.clear();
+            return;
+        }
+        List<InvItem> batch = new ArrayList<>(Math.min(pendingInv.size(), maxInvPerMessage));
+        Iterator<InvItem> it = pendingInv.iterator();
+        while (it.hasNext() && batch.size() < maxInvPerMessage) {
+            InvItem item = it.next();
+            it.remove();
+            if (known.add(item)) {
+                batch.add(item);
+            }
+        }
+        if (!batch.isEmpty()) {
+            channel.writeAndFlush(InvItem.encode(channel.alloc(), Command.INV, batch));
+        }
+        if (!pendingInv.isEmpty()) {
+            scheduleTrickle();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Peer(" + (inbound ? "in " : "out ") + channel.remoteAddress() + ")";
+    }
+}
@@ -0,0 +1,136 @@
+package org.lmx.cron.net.p2p;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.lmx.cron.net.protocol.Command;
+import org.lmx.cron.net.protocol.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 功能描述：对端消息处理，每个通道一个
+ * <pre>
+ *     INV：记为对端已知，本节点没见过且没有在向别人请求的条目发 GETDATA，正在请求的记该对端为备选通告者；
+ *     GETDATA：从转发池中取数据发回（负载直接包装已有数组，不复制），找不到的汇总成一条 NOTFOUND；
+ *     NOTFOUND：改向下一个备选通告者请求；
+ *     TX / BLOCK：计算哈希，交给节点认领请求、回调并转发，未请求过的数据丢弃。
+ *  INV / GETDATA / NOTFOUND 超过 maxInvPerMessage 条时视为协议错误，断开连接。
+ *  只 write，一批读取结束时统一 flush。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 02:10
+ **/
+@Slf4j
+class PeerHandler extends SimpleChannelInboundHandler<Message> {
+    private final GossipNode node;
+    private final boolean inbound;
+    private final int maxItems;
+    private Peer peer;
+
+    PeerHandler(GossipNode node, boolean inbound) {
+        this.node = node;
+        this.inbound = inbound;
+        this.maxItems = node.getConfig().getMaxInvPerMessage();
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        peer = new Peer(ctx.channel(), inbound, node.getConfig());
+        if (!node.register(peer)) {
+            log.info("入站连接数已达上限，拒绝 {}", ctx.channel().remoteAddress());
+            ctx.close();
+            return;
+        }
+        log.debug("{} 已连接", peer);
+        ctx.fireChannelActive();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (peer != null) {
+            node.unregister(peer);
+            peer.close();
+            log.debug("{} 已断开", peer);
+        }
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Message msg) throws Exception {
+        switch (msg.command()) {
+            case PING:
+                ctx.write(new Message(Command.PONG, msg.content().retain()));
+                break;
+            case INV:
+                onInv(ctx, InvItem.decode(msg.content(), maxItems));
+                break;
+            case GETDATA:
+                onGetData(ctx, InvItem.decode(msg.content(), maxItems));
+                break;
+            case NOTFOUND:
+                for (InvItem item : InvItem.decode(msg.content(), maxItems)) {
+                    node.notFound(item, peer);
+                }
+                break;
+            case TX:
+            case BLOCK:
+                byte[] payload = ByteBufUtil.getBytes(msg.content());
+                InvItem item = InvItem.of(InvType.of(msg.command()), payload);
+                peer.markKnown(item);
+                node.receive(item, payload, peer);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        ctx.flush();
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        log.warn("{} 异常，断开连接", peer, cause);
+        ctx.close();
+    }
+
+    private void onInv(ChannelHandlerContext ctx, List<InvItem> items) {
+        List<InvItem> wanted = new ArrayList<>();
+        for (InvItem item : items) {
+            peer.markKnown(item);
+            if (node.request(item, peer)) {
+                wanted.add(item);
+            }
+        }
+        if (!wanted.isEmpty()) {
+            ctx.write(InvItem.encode(ctx.alloc(), Command.GETDATA, wanted));
+        }
+    }
+
+    private void onGetData(ChannelHandlerContext ctx, List<InvItem> items) {
+        List<InvItem> notFound = null;
+        for (InvItem item : items) {
+            peer.markKnown(item);
+            byte[] data = node.getData(item);
+            if (data != null) {
+                ctx.write(new Message(item.getType().getCommand(), Unpooled.wrappedBuffer(data)));
+            } else {
+                if (notFound == null) {
+                    notFound = new ArrayList<>();
+                }
+                notFound.add(item);
+            }
+        }
+        if (notFound != null) {
+            ctx.write(InvItem.encode(ctx.alloc(), Command.NOTFOUND, notFound));
+        }
+    }
+}
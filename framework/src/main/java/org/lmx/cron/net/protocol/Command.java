@@ -0,0 +1,75 @@
+package org.lmx.cron.net.protocol;
+
+/**
+ * 功能描述：消息类型，对应报文头中的2字节命令码
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:00
+ **/
+public enum Command {
+    /**
+     * 心跳请求，负载原样出现在 PONG 中
+     */
+    PING(1),
+    PONG(2),
+    /**
+     * UTF-8 文本
+     */
+    MESSAGE(3),
+    /**
+     * 通告：若干条 类型(1) + 哈希(32)
+     */
+    INV(4),
+    /**
+     * 请求通告过的数据，格式同 INV
+     */
+    GETDATA(5),
+    /**
+     * GETDATA 中找不到的数据，格式同 INV
+     */
+    NOTFOUND(6),
+    /**
+     * 一笔交易
+     */
+    TX(7),
+    /**
+     * 一个区块：区块头 + 若干交易
+     */
+    BLOCK(8);
+
+    private static final Command[] BY_CODE;
+
+    static {
+        int max = 0;
+        for (Command command : values()) {
+            max = Math.max(max, command.code);
+        }
+        BY_CODE = new Command[max + 1];
+        for (Command command : values()) {
+            BY_CODE[command.code] = command;
+        }
+    }
+
+    private final int code;
+
+    Command(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * 功能描述: 按命令码查找
+     *
+     * @param code 命令码
+     * @return 未知命令码返回 null
+     * @author LM.X
+     * @date 2026/10/17 01:00
+     */
+    public static Command valueOf(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
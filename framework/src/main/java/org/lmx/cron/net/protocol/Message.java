@@ -0,0 +1,136 @@
+package org.lmx.cron.net.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 功能描述：一条协议消息：命令 + 负载
+ * <pre>
+ *     负载是引用计数的 ByteBuf，解码时是接收缓冲区的切片，编码时原样接在报文头之后，全程不复制。
+ *  与其他 ByteBufHolder 一样，谁最后持有谁负责 release。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:00
+ **/
+public final class Message extends DefaultByteBufHolder {
+    private final Command command;
+
+    /**
+     * @param command 命令
+     * @param payload 负载，所有权转移给消息；超过上限时在抛出异常前释放
+     */
+    public Message(Command command, ByteBuf payload) {
+        super(checkLength(payload));
+        this.command = command;
+    }
+
+    /**
+     * 功能描述: UTF-8 文本消息，字符直接编码进池化缓冲区
+     *
+     * @param alloc 分配器，通常为 ctx.alloc()
+     * @param text  文本
+     * @return Message
+     * @author LM.X
+     * @date 2026/10/17 01:00
+     */
+    public static Message text(ByteBufAllocator alloc, CharSequence text) {
+        ByteBuf payload = alloc.buffer(ByteBufUtil.utf8MaxBytes(text));
+        ByteBufUtil.writeUtf8(payload, text);
+        return new Message(Command.MESSAGE, payload);
+    }
+
+    /**
+     * 功能描述: 由多段负载组成的消息，例如区块头 + 各笔交易；各段的所有权转移给消息
+     *
+     * @param alloc   分配器
+     * @param command 命令
+     * @param parts   负载各段
+     * @return Message
+     * @author LM.X
+     * @date 2026/10/17 01:00
+     */
+    public static Message composite(ByteBufAllocator alloc, Command command, ByteBuf... parts) {
+        CompositeByteBuf payload = alloc.compositeBuffer(parts.length);
+        payload.addComponents(true, parts);
+        return new Message(command, payload);
+    }
+
+    public Command command() {
+        return command;
+    }
+
+    /**
+     * 功能描述: 将负载按 UTF-8 解码，仅用于日志与调试
+     */
+    public String text() {
+        return content().toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 功能描述: 在交给父类构造之前检查长度，拒绝时释放负载，调用方不必再处理异常路径上的引用计数
+     */
+    private static ByteBuf checkLength(ByteBuf payload) {
+        int length = payload.readableBytes();
+        if (length > Protocol.MAX_PAYLOAD_LENGTH) {
+            payload.release();
+            throw new IllegalArgumentException("负载超过上限：" + length);
+        }
+        return payload;
+    }
+
+    @Override
+    public Message replace(ByteBuf content) {
+        return new Message(command, content);
+    }
+
+    @Override
+    public Message copy() {
+        return (Message) super.copy();
+    }
+
+    @Override
+    public Message duplicate() {
+        return (Message) super.duplicate();
+    }
+
+    @Override
+    public Message retainedDuplicate() {
+        return (Message) super.retainedDuplicate();
+    }
+
+    @Override
+    public Message retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public Message retain(int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public Message touch() {
+        super.touch();
+        return this;
+    }
+
+    @Override
+    public Message touch(Object hint) {
+        super.touch(hint);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "Message(" + command + ", " + content().readableBytes() + "B)";
+    }
+}
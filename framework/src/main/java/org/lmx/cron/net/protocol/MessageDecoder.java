@@ -0,0 +1,63 @@
+package org.lmx.cron.net.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * 功能描述：报文解码器，输出{@link Message}
+ * <pre>
+ *     按报文头中的长度字段切帧（{@link LengthFieldBasedFrameDecoder}），帧是接收缓冲区的引用计数切片，
+ *  负载再从帧上切出，不复制任何字节。魔数在收到前4字节时即检查，错误的连接不必等到整帧到齐。
+ *  魔数、命令码或校验和错误时抛出 CorruptedFrameException，由后续处理器关闭连接。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:00
+ **/
+public class MessageDecoder extends LengthFieldBasedFrameDecoder {
+
+    public MessageDecoder() {
+        this(Protocol.MAX_PAYLOAD_LENGTH);
+    }
+
+    /**
+     * @param maxPayloadLength 负载上限，超过时抛出 TooLongFrameException
+     */
+    public MessageDecoder(int maxPayloadLength) {
+        // 长度字段之后还有4字节校验和，帧长 = 报文头 + 负载
+        super(Protocol.HEADER_LENGTH + maxPayloadLength, Protocol.LENGTH_FIELD_OFFSET, Protocol.LENGTH_FIELD_LENGTH,
+                Protocol.HEADER_LENGTH - Protocol.LENGTH_FIELD_OFFSET - Protocol.LENGTH_FIELD_LENGTH, 0);
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+        if (in.readableBytes() >= 4 && in.getInt(in.readerIndex()) != Protocol.MAGIC) {
+            in.skipBytes(in.readableBytes());
+            throw new CorruptedFrameException("魔数错误");
+        }
+        ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+        if (frame == null) {
+            return null;
+        }
+        try {
+            int base = frame.readerIndex();
+            Command command = Command.valueOf(frame.getUnsignedShort(base + 4));
+            if (command == null) {
+                throw new CorruptedFrameException("未知命令：" + frame.getUnsignedShort(base + 4));
+            }
+            int length = frame.getInt(base + Protocol.LENGTH_FIELD_OFFSET);
+            int checksum = frame.getInt(base + Protocol.LENGTH_FIELD_OFFSET + Protocol.LENGTH_FIELD_LENGTH);
+            ByteBuf payload = frame.retainedSlice(base + Protocol.HEADER_LENGTH, length);
+            if (Protocol.checksum(payload) != checksum) {
+                payload.release();
+                throw new CorruptedFrameException("校验和错误：" + command);
+            }
+            return new Message(command, payload);
+        } finally {
+            frame.release();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.lmx.cron.net.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
+
+/**
+ * 功能描述：报文编码器
+ * <pre>
+ *     报文头写进一个14字节的池化直接缓冲区，与负载组合成 CompositeByteBuf 交给套接字（gathering write），
+ *  负载不复制。无状态，所有通道共享{@link #INSTANCE}。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:00
+ **/
+@ChannelHandler.Sharable
+public final class MessageEncoder extends MessageToMessageEncoder<Message> {
+    public static final MessageEncoder INSTANCE = new MessageEncoder();
+
+    private MessageEncoder() {
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Message msg, List<Object> out) {
+        ByteBuf payload = msg.content();
+        ByteBuf header = ctx.alloc().ioBuffer(Protocol.HEADER_LENGTH);
+        Protocol.writeHeader(header, msg.command(), payload);
+        // 父类在 encode 之后 release 消息，负载需多持有一次
+        CompositeByteBuf frame = ctx.alloc().compositeDirectBuffer(2);
+        frame.addComponents(true, header, payload.retain());
+        out.add(frame);
+    }
+}
@@ -0,0 +1,78 @@
+package org.lmx.cron.net.protocol;
+
+import io.netty.buffer.ByteBuf;
+import org.lmx.common.crypto.Sha256;
+import org.lmx.common.crypto.Sha256Digest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 功能描述：二进制报文格式
+ * <pre>
+ *     报文 = 报文头(14) + 负载，多字节整数均为大端序：
+ *        magic(4)    固定为{@link #MAGIC}，用于识别协议与尽早拒绝错误的连接
+ *        command(2)  {@link Command}
+ *        length(4)   负载长度，不超过{@link #MAX_PAYLOAD_LENGTH}
+ *        checksum(4) sha256d(负载) 的前4字节
+ *
+ *     校验和直接在 ByteBuf 的 NIO 视图上计算（组合缓冲区逐段计算），不把负载复制成 byte[]。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 01:00
+ **/
+public final class Protocol {
+    public static final int MAGIC = 0x4c4d5801;
+    public static final int HEADER_LENGTH = 14;
+    public static final int LENGTH_FIELD_OFFSET = 6;
+    public static final int LENGTH_FIELD_LENGTH = 4;
+    /**
+     * 负载上限 32 MiB，足够容纳一个区块
+     */
+    public static final int MAX_PAYLOAD_LENGTH = 32 * 1024 * 1024;
+
+    private static final ThreadLocal<Sha256Digest> DIGEST = ThreadLocal.withInitial(Sha256Digest::new);
+    private static final ThreadLocal<byte[]> HASH = ThreadLocal.withInitial(() -> new byte[Sha256Digest.DIGEST_LENGTH]);
+
+    private Protocol() {
+    }
+
+    /**
+     * 功能描述: 负载可读部分的校验和，不改变读写下标
+     *
+     * @param payload 负载
+     * @return sha256d(负载) 的前4字节
+     * @author LM.X
+     * @date 2026/10/17 01:00
+     */
+    public static int checksum(ByteBuf payload) {
+        Sha256Digest digest = DIGEST.get();
+        digest.reset();
+        if (payload.isReadable()) {
+            for (ByteBuffer buffer : payload.nioBuffers()) {
+                digest.update(buffer);
+            }
+        }
+        byte[] hash = HASH.get();
+        digest.doFinal(hash, 0);
+        Sha256.hash(hash, 0, hash.length, hash, 0);
+        return ((hash[0] & 0xff) << 24) | ((hash[1] & 0xff) << 16) | ((hash[2] & 0xff) << 8) | (hash[3] & 0xff);
+    }
+
+    /**
+     * 功能描述: 写入报文头
+     *
+     * @param out     目标
+     * @param command 命令
+     * @param payload 负载
+     * @author LM.X
+     * @date 2026/10/17 01:00
+     */
+    public static void writeHeader(ByteBuf out, Command command, ByteBuf payload) {
+        out.writeInt(MAGIC);
+        out.writeShort(command.getCode());
+        out.writeInt(payload.readableBytes());
+        out.writeInt(checksum(payload));
+    }
+}
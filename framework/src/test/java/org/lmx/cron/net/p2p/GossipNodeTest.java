@@ -0,0 +1,321 @@
+package org.lmx.cron.net.p2p;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.After;
+import org.junit.Test;
+import org.lmx.cron.net.netty.ServerConfig;
+import org.lmx.cron.net.protocol.Command;
+import org.lmx.cron.net.protocol.Protocol;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 功能描述：GossipNode 在回环地址上的传播、GETDATA 改向与未请求数据的丢弃
+ * <pre>
+ *     传播用若干真实节点；改向与丢弃用原始套接字模拟的对端，收发顺序完全由测试控制。
+ *  对端在同一条连接上的消息按顺序处理，模拟对端发送 PING 并收到 PONG，即说明此前发出的消息都已处理完。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 06:20
+ **/
+public class GossipNodeTest {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final List<GossipNode> nodes = new ArrayList<>();
+    private final List<FakePeer> fakes = new ArrayList<>();
+    private final List<ServerSocket> servers = new ArrayList<>();
+
+    @After
+    public void tearDown() throws IOException {
+        for (GossipNode node : nodes) {
+            node.stop();
+        }
+        for (FakePeer fake : fakes) {
+            fake.close();
+        }
+        for (ServerSocket server : servers) {
+            server.close();
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void everyTransactionReachesEveryNodeOnce() throws Exception {
+        int nodeCount = 4;
+        int txCount = 100;
+        List<Map<InvItem, AtomicInteger>> deliveries = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            Map<InvItem, AtomicInteger> delivered = new ConcurrentHashMap<>();
+            GossipNode node = startNode(new GossipConfig());
+            node.setListener((item, payload, from) -> {
+                delivered.computeIfAbsent(item, key -> new AtomicInteger()).incrementAndGet();
+                return true;
+            });
+            deliveries.add(delivered);
+        }
+        // 环 0-1-2-3-0 再加一条对角线 0-2，每个交易都有多条路径到达同一节点
+        int[][] links = {{1, 0}, {2, 1}, {3, 2}, {0, 3}, {2, 0}};
+        for (int[] link : links) {
+            nodes.get(link[0]).connect(new InetSocketAddress("127.0.0.1", nodes.get(link[1]).getPort()));
+        }
+        int[] degree = {3, 2, 3, 2};
+        for (int i = 0; i < nodeCount; i++) {
+            GossipNode node = nodes.get(i);
+            int expected = degree[i];
+            waitUntil(() -> node.getPeers().size() == expected);
+        }
+
+        Random random = new Random(20261017);
+        Map<InvItem, Integer> origins = new ConcurrentHashMap<>();
+        for (int i = 0; i < txCount; i++) {
+            byte[] tx = new byte[100 + random.nextInt(200)];
+            random.nextBytes(tx);
+            int origin = random.nextInt(nodeCount);
+            origins.put(nodes.get(origin).broadcast(InvType.TX, tx), origin);
+        }
+        waitUntil(() -> {
+            int total = 0;
+            for (Map<InvItem, AtomicInteger> delivered : deliveries) {
+                total += delivered.size();
+            }
+            return total == (nodeCount - 1) * txCount;
+        });
+        // 再等一段时间，让可能迟到的重复数据到达
+        Thread.sleep(300);
+
+        for (Map.Entry<InvItem, Integer> entry : origins.entrySet()) {
+            for (int i = 0; i < nodeCount; i++) {
+                AtomicInteger count = deliveries.get(i).get(entry.getKey());
+                if (i == entry.getValue()) {
+                    assertNull("广播者不应收到自己的交易", count);
+                } else {
+                    assertNotNull("节点 " + i + " 没有收到交易", count);
+                    assertEquals("节点 " + i + " 重复收到交易", 1, count.get());
+                }
+            }
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void getDataFailsOverOnNotFound() throws Exception {
+        failover(false);
+    }
+
+    @Test(timeout = 60_000)
+    public void getDataFailsOverOnDisconnect() throws Exception {
+        failover(true);
+    }
+
+    @Test(timeout = 60_000)
+    public void unsolicitedTransactionsAreDropped() throws Exception {
+        List<Peer> senders = new CopyOnWriteArrayList<>();
+        GossipNode node = startNode(new GossipConfig());
+        node.setListener((item, payload, from) -> {
+            senders.add(from);
+            return true;
+        });
+        FakePeer first = connectFake(node);
+        FakePeer second = connectFake(node);
+        byte[] tx = {1, 2, 3, 4};
+        InvItem item = InvItem.of(InvType.TX, tx);
+
+        // 从没有通告过的交易
+        first.send(Command.TX, tx);
+        first.sync();
+        assertTrue(senders.isEmpty());
+        assertNull(node.getData(item));
+
+        // 通告并被请求的是 first，second 抢先发来的数据同样不接受
+        first.send(Command.INV, inv(item));
+        assertArrayEquals(inv(item), first.expect(Command.GETDATA));
+        second.send(Command.TX, tx);
+        second.sync();
+        assertTrue(senders.isEmpty());
+
+        first.send(Command.TX, tx);
+        first.sync();
+        assertEquals(1, senders.size());
+        assertArrayEquals(tx, node.getData(item));
+    }
+
+    /**
+     * 功能描述: 两个模拟对端先后通告同一笔交易，第一个回复 NOTFOUND 或断开后，节点应改向第二个请求
+     */
+    private void failover(boolean disconnect) throws Exception {
+        List<Peer> senders = new CopyOnWriteArrayList<>();
+        // 超时足够长，改向只能由 NOTFOUND 或断开触发
+        GossipNode node = startNode(new GossipConfig().setGetDataTimeoutMillis(60_000));
+        node.setListener((item, payload, from) -> {
+            senders.add(from);
+            return true;
+        });
+        FakePeer first = connectFake(node);
+        FakePeer second = connectFake(node);
+        byte[] tx = "failover".getBytes("UTF-8");
+        InvItem item = InvItem.of(InvType.TX, tx);
+
+        first.send(Command.INV, inv(item));
+        assertArrayEquals(inv(item), first.expect(Command.GETDATA));
+        // 第二个通告者只被记为备选，不会立即请求
+        second.send(Command.INV, inv(item));
+        second.sync();
+
+        if (disconnect) {
+            first.close();
+        } else {
+            first.send(Command.NOTFOUND, inv(item));
+        }
+        assertArrayEquals(inv(item), second.expect(Command.GETDATA));
+        second.send(Command.TX, tx);
+        second.sync();
+
+        assertEquals(1, senders.size());
+        assertEquals(second.localPort(), ((InetSocketAddress) senders.get(0).getRemoteAddress()).getPort());
+    }
+
+    private GossipNode startNode(GossipConfig config) throws InterruptedException {
+        GossipNode node = new GossipNode(config
+                .setInboundTrickleMillis(20)
+                .setOutboundTrickleMillis(10)
+                .setServer(new ServerConfig().setPort(0).setWorkerThreads(1)));
+        node.start();
+        nodes.add(node);
+        return node;
+    }
+
+    /**
+     * 功能描述: 让节点主动连接一个模拟对端，等连接登记完成后返回
+     */
+    private FakePeer connectFake(GossipNode node) throws Exception {
+        int before = node.getPeers().size();
+        // 监听套接字保留到测试结束，断开后节点的重连只会停在未接受的队列里
+        ServerSocket server = new ServerSocket(0);
+        servers.add(server);
+        node.connect(new InetSocketAddress("127.0.0.1", server.getLocalPort()));
+        server.setSoTimeout((int) TIMEOUT_MILLIS);
+        FakePeer fake = new FakePeer(server.accept());
+        fakes.add(fake);
+        waitUntil(() -> node.getPeers().size() == before + 1);
+        return fake;
+    }
+
+    private static byte[] inv(InvItem item) {
+        byte[] encoded = new byte[InvItem.ENCODED_LENGTH];
+        encoded[0] = (byte) item.getType().getCode();
+        System.arraycopy(item.getHash(), 0, encoded, 1, item.getHash().length);
+        return encoded;
+    }
+
+    private static void waitUntil(Condition condition) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.test()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("等待超时");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean test() throws Exception;
+    }
+
+    /**
+     * 功能描述：用阻塞套接字收发报文的模拟对端，读线程把收到的报文放进队列
+     */
+    private static final class FakePeer {
+        private final Socket socket;
+        private final OutputStream out;
+        private final BlockingQueue<Object[]> received = new LinkedBlockingQueue<>();
+
+        FakePeer(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        in.readInt();
+                        Command command = Command.valueOf(in.readUnsignedShort());
+                        byte[] payload = new byte[in.readInt()];
+                        in.readInt();
+                        in.readFully(payload);
+                        received.add(new Object[]{command, payload});
+                    }
+                } catch (IOException e) {
+                    // 连接关闭
+                }
+            }, "fake-peer-" + socket.getLocalPort());
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        int localPort() {
+            return socket.getLocalPort();
+        }
+
+        synchronized void send(Command command, byte[] payload) throws IOException {
+            ByteBuf header = Unpooled.buffer(Protocol.HEADER_LENGTH);
+            Protocol.writeHeader(header, command, Unpooled.wrappedBuffer(payload));
+            out.write(header.array(), header.arrayOffset(), Protocol.HEADER_LENGTH);
+            out.write(payload);
+            out.flush();
+        }
+
+        /**
+         * 功能描述: 等待指定命令的报文，期间收到的其他报文（例如通告）忽略
+         */
+        byte[] expect(Command command) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (true) {
+                Object[] message = received.poll(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    throw new AssertionError("没有收到 " + command);
+                }
+                if (message[0] == command) {
+                    return (byte[]) message[1];
+                }
+            }
+        }
+
+        /**
+         * 功能描述: 发送 PING 并等待 PONG，此前发出的消息都已被节点处理
+         */
+        void sync() throws IOException, InterruptedException {
+            byte[] nonce = Arrays.copyOf(Long.toString(System.nanoTime()).getBytes("UTF-8"), 16);
+            send(Command.PING, nonce);
+            while (!Arrays.equals(nonce, expect(Command.PONG))) {
+                // 之前的 PONG
+            }
+        }
+
+        void close() throws IOException {
+            socket.close();
+        }
+    }
+}
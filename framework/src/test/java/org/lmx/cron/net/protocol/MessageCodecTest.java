@@ -0,0 +1,214 @@
+package org.lmx.cron.net.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 功能描述：MessageEncoder / MessageDecoder 的往返与错误报文处理
+ * <pre>
+ *     解码器之后接一个与 PeerHandler 一样在异常时关闭连接的处理器，并记录收到的异常。
+ * </pre>
+ *
+ * @program: block-chain-j
+ * @author: LM.X
+ * @create: 2026-10-17 07:20
+ **/
+public class MessageCodecTest {
+    private static final ByteBufAllocator ALLOC = ByteBufAllocator.DEFAULT;
+
+    @Test
+    public void roundTrip() {
+        byte[] text = "你好，block-chain-j".getBytes(StandardCharsets.UTF_8);
+        Message decoded = roundTrip(new Message(Command.MESSAGE, Unpooled.wrappedBuffer(text)));
+        try {
+            assertEquals(Command.MESSAGE, decoded.command());
+            assertArrayEquals(text, bytes(decoded.content()));
+        } finally {
+            decoded.release();
+        }
+
+        Message empty = roundTrip(new Message(Command.PING, Unpooled.EMPTY_BUFFER));
+        try {
+            assertEquals(Command.PING, empty.command());
+            assertEquals(0, empty.content().readableBytes());
+        } finally {
+            empty.release();
+        }
+    }
+
+    @Test
+    public void compositeRoundTrip() {
+        Random random = new Random(7);
+        byte[] header = new byte[80];
+        byte[] tx1 = new byte[250];
+        byte[] tx2 = new byte[1];
+        random.nextBytes(header);
+        random.nextBytes(tx1);
+        random.nextBytes(tx2);
+        ByteBuf[] parts = {ALLOC.directBuffer().writeBytes(header), ALLOC.heapBuffer().writeBytes(tx1),
+                ALLOC.directBuffer().writeBytes(tx2)};
+        Message decoded = roundTrip(Message.composite(ALLOC, Command.BLOCK, parts));
+        try {
+            assertEquals(Command.BLOCK, decoded.command());
+            byte[] expected = new byte[header.length + tx1.length + tx2.length];
+            System.arraycopy(header, 0, expected, 0, header.length);
+            System.arraycopy(tx1, 0, expected, header.length, tx1.length);
+            System.arraycopy(tx2, 0, expected, header.length + tx1.length, tx2.length);
+            assertArrayEquals(expected, bytes(decoded.content()));
+        } finally {
+            decoded.release();
+        }
+        // 编码器多持有的一次已随写出的帧释放
+        for (ByteBuf part : parts) {
+            assertEquals(0, part.refCnt());
+        }
+    }
+
+    @Test
+    public void framesSplitAcrossReadsAreReassembled() {
+        ByteBuf wire = Unpooled.buffer();
+        for (int i = 0; i < 3; i++) {
+            wire.writeBytes(frame(Command.TX, new byte[]{(byte) i, 1, 2, 3}));
+        }
+        Decoded decoded = new Decoded();
+        EmbeddedChannel channel = decoded.channel(Protocol.MAX_PAYLOAD_LENGTH);
+        while (wire.isReadable()) {
+            channel.writeInbound(wire.readRetainedSlice(1));
+        }
+        wire.release();
+        assertTrue(channel.isOpen());
+        for (int i = 0; i < 3; i++) {
+            Message message = channel.readInbound();
+            try {
+                assertArrayEquals(new byte[]{(byte) i, 1, 2, 3}, bytes(message.content()));
+            } finally {
+                message.release();
+            }
+        }
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void badMagicClosesChannel() {
+        // 只到了魔数也立即拒绝，不等整帧
+        Decoded decoded = expectClosed(Protocol.MAX_PAYLOAD_LENGTH, Unpooled.buffer(4).writeInt(Protocol.MAGIC ^ 1));
+        assertTrue(decoded.cause instanceof CorruptedFrameException);
+    }
+
+    @Test
+    public void badChecksumClosesChannel() {
+        ByteBuf frame = frame(Command.TX, new byte[]{1, 2, 3});
+        frame.setByte(frame.writerIndex() - 1, 4);
+        Decoded decoded = expectClosed(Protocol.MAX_PAYLOAD_LENGTH, frame);
+        assertTrue(decoded.cause instanceof CorruptedFrameException);
+        assertTrue(decoded.cause.getMessage().startsWith("校验和错误"));
+    }
+
+    @Test
+    public void overLengthFrameClosesChannel() {
+        Decoded decoded = expectClosed(16, frame(Command.TX, new byte[17]));
+        assertTrue(decoded.cause instanceof TooLongFrameException);
+    }
+
+    @Test
+    public void unknownCommandClosesChannel() {
+        ByteBuf frame = frame(Command.TX, new byte[]{1});
+        frame.setShort(4, 999);
+        Decoded decoded = expectClosed(Protocol.MAX_PAYLOAD_LENGTH, frame);
+        assertTrue(decoded.cause instanceof CorruptedFrameException);
+        assertTrue(decoded.cause.getMessage().startsWith("未知命令"));
+    }
+
+    @Test
+    public void oversizePayloadIsReleased() {
+        ByteBuf payload = Unpooled.wrappedBuffer(new byte[Protocol.MAX_PAYLOAD_LENGTH + 1]);
+        try {
+            new Message(Command.BLOCK, payload);
+            throw new AssertionError("超长负载应被拒绝");
+        } catch (IllegalArgumentException expected) {
+            // 预期
+        }
+        assertEquals(0, payload.refCnt());
+    }
+
+    /**
+     * 功能描述: 经编码器写出、再经解码器读入，返回解码得到的唯一一条消息
+     */
+    private static Message roundTrip(Message message) {
+        EmbeddedChannel encoder = new EmbeddedChannel(MessageEncoder.INSTANCE);
+        assertTrue(encoder.writeOutbound(message));
+        ByteBuf wire = encoder.readOutbound();
+        assertTrue(wire instanceof CompositeByteBuf);
+        assertNull(encoder.readOutbound());
+        assertFalse(encoder.finish());
+
+        Decoded decoded = new Decoded();
+        EmbeddedChannel channel = decoded.channel(Protocol.MAX_PAYLOAD_LENGTH);
+        assertTrue(channel.writeInbound(wire));
+        Message result = channel.readInbound();
+        assertNull(channel.readInbound());
+        assertNull(decoded.cause);
+        assertFalse(channel.finish());
+        return result;
+    }
+
+    private static Decoded expectClosed(int maxPayloadLength, ByteBuf input) {
+        Decoded decoded = new Decoded();
+        EmbeddedChannel channel = decoded.channel(maxPayloadLength);
+        channel.writeInbound(input);
+        assertFalse(channel.isOpen());
+        assertNull(channel.readInbound());
+        assertEquals(0, input.refCnt());
+        return decoded;
+    }
+
+    private static ByteBuf frame(Command command, byte[] payload) {
+        ByteBuf content = Unpooled.wrappedBuffer(payload);
+        ByteBuf frame = Unpooled.buffer(Protocol.HEADER_LENGTH + payload.length);
+        Protocol.writeHeader(frame, command, content);
+        return frame.writeBytes(content);
+    }
+
+    private static byte[] bytes(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        return bytes;
+    }
+
+    /**
+     * 功能描述：解码器 + 异常时关闭连接的处理器
+     */
+    private static final class Decoded {
+        private Throwable cause;
+
+        EmbeddedChannel channel(int maxPayloadLength) {
+            return new EmbeddedChannel(new MessageDecoder(maxPayloadLength), new ChannelInboundHandlerAdapter() {
+                @Override
+                public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                    if (Decoded.this.cause == null) {
+                        Decoded.this.cause = cause;
+                    }
+                    ctx.close();
+                }
+            });
+        }
+    }
+}